@@ -0,0 +1,117 @@
+package com.github.ansell.rdf4j.schemagenerator.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullWriter;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.ansell.rdf4j.schemagenerator.GenerationException;
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.ConstantNamer;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTerm;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTermIndex;
+
+/**
+ * Benchmarks for the phases of schema generation after the schema has been
+ * parsed: finding the terms, naming the constants, rendering the class and
+ * creating the resource bundles.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaGenerationBenchmark {
+
+    private static final IRI[] COMMENT_PROPERTIES = RDF4JSchemaGeneratorCore
+            .getCommentProperties();
+    private static final IRI[] LABEL_PROPERTIES = RDF4JSchemaGeneratorCore.getLabelProperties();
+
+    @Param({ "LDP", "OA", "GNA", "SCHEMA_ORG" })
+    public SchemaInput schema;
+
+    private RDF4JSchemaGeneratorCore generator;
+
+    private Model model;
+
+    private SchemaTermIndex index;
+
+    @Setup
+    public void setUp() throws IOException, GenerationException {
+        final Path tempDir = Files.createTempDirectory("schema-generator-benchmarks");
+        try {
+            final Path input = schema.copyTo(tempDir);
+            generator = new RDF4JSchemaGeneratorCore(input.toString(), schema.getFormat());
+            try (final InputStream in = Files.newInputStream(input)) {
+                model = Rio.parse(in, "", schema.getFormat());
+            }
+        } finally {
+            FileUtils.deleteDirectory(tempDir.toFile());
+        }
+        if (schema.getPrefix() != null) {
+            generator.setPrefix(schema.getPrefix());
+        }
+        generator.setName(schema.name());
+        generator.setPreferredLanguage("en");
+        generator.setStringPropertySuffix("_STRING");
+        generator.setLocalNameStringPropertySuffix("_LOCALNAME");
+        index = SchemaTermIndex.build(model, generator.getPrefix(), LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+    }
+
+    @Benchmark
+    public SchemaTermIndex indexTerms() {
+        return SchemaTermIndex.build(model, generator.getPrefix(), LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+    }
+
+    @Benchmark
+    public void nameConstants(Blackhole blackhole) {
+        final ConstantNamer namer = new ConstantNamer(null, null, "_STRING");
+        for (final SchemaTerm term : index.getTerms()) {
+            blackhole.consume(namer.getName(term.getKey()));
+        }
+    }
+
+    @Benchmark
+    public void generate() throws IOException, GenerationException {
+        generator.setDirectEmitter(false);
+        generator.generate("Benchmark", new PrintWriter(new NullWriter()));
+    }
+
+    @Benchmark
+    public void generateDirect() throws IOException, GenerationException {
+        generator.setDirectEmitter(true);
+        generator.generate("Benchmark", new PrintWriter(new NullWriter()));
+    }
+
+    @Benchmark
+    public Map<String, Properties> generateResourceBundle() throws GenerationException {
+        return generator.generateResourceBundle("Benchmark");
+    }
+}
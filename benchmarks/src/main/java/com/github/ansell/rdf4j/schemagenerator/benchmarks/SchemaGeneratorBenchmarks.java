@@ -0,0 +1,26 @@
+package com.github.ansell.rdf4j.schemagenerator.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the schema generator benchmarks with the GC profiler enabled, so that
+ * allocation rates are reported alongside the timings. Any of the standard JMH
+ * command line options can be given to choose the benchmarks and settings, for
+ * example:
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SchemaGenerationBenchmark.generate -p schema=SCHEMA_ORG
+ * </pre>
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.ansell.rdf4j.schemagenerator.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * The schemas that are benchmarked, which are the same schemas that are used
+ * by the core tests.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public enum SchemaInput {
+
+    LDP("ldp.ttl", null),
+
+    OA("oa.ttl", null),
+
+    GNA("gna.rdf", "http://rs.gbif.org/terms/1.0/"),
+
+    SCHEMA_ORG("schema.rdf", "http://schema.org/");
+
+    private final String resource;
+    private final String prefix;
+
+    SchemaInput(String resource, String prefix) {
+        this.resource = resource;
+        this.prefix = prefix;
+    }
+
+    /**
+     * @return The prefix for the schema, or null if it is found from the
+     *         {@code owl:Ontology} in the schema.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public RDFFormat getFormat() {
+        return Rio.getParserFormatForFileName(resource).orElse(RDFFormat.TURTLE);
+    }
+
+    /**
+     * Copy the schema to a file in the given directory, as the generator reads
+     * schemas from files.
+     */
+    public Path copyTo(Path directory) throws IOException {
+        final Path result = directory.resolve(resource);
+        try (final InputStream input = SchemaInput.class.getResourceAsStream("/" + resource)) {
+            Files.copy(input, result, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.ansell.rdf4j.schemagenerator.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Benchmarks for creating an {@link RDF4JSchemaGeneratorCore}, which parses
+ * the schema into memory.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaParseBenchmark {
+
+    @Param({ "LDP", "OA", "GNA", "SCHEMA_ORG" })
+    public SchemaInput schema;
+
+    private Path tempDir;
+
+    private Path input;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("schema-generator-benchmarks");
+        input = schema.copyTo(tempDir);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    @Benchmark
+    public RDF4JSchemaGeneratorCore parse() throws IOException {
+        return new RDF4JSchemaGeneratorCore(input.toString(), schema.getFormat());
+    }
+
+    @Benchmark
+    public RDF4JSchemaGeneratorCore parseStreaming() throws IOException {
+        return new RDF4JSchemaGeneratorCore(input.toString(), schema.getFormat(),
+                schema.getPrefix());
+    }
+}
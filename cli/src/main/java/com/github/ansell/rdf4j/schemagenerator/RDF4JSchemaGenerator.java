@@ -9,11 +9,15 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Optional;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -23,7 +27,6 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.PosixParser;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ResponseHandler;
@@ -37,8 +40,6 @@ import org.eclipse.rdf4j.rio.RDFParserRegistry;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
 
-import com.google.common.base.CaseFormat;
-
 /**
  * The Command Line Interface for the RDF4J Schema Generator.
  *
@@ -49,18 +50,39 @@ import com.google.common.base.CaseFormat;
 public class RDF4JSchemaGenerator {
 
     public static void main(String[] args) {
-        Path tempFile = null;
+        final int status = run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Run the generator with the given command line arguments.
+     *
+     * @param args
+     *            The command line arguments.
+     * @return The exit status, which is 0 if every schema was generated, and 1
+     *         otherwise.
+     */
+    static int run(String[] args) {
         try {
             final CommandLineParser parser = new PosixParser();
             final CommandLine cli = parser.parse(getCliOpts(), args);
 
             if (cli.hasOption('h')) {
                 printHelp();
-                return;
+                return 0;
             }
 
-            // two args must be left over: <input-inputFile> <output-inputFile>
             final String[] cliArgs = cli.getArgs();
+            if (cli.hasOption('m')) {
+                if (cliArgs.length > 0) {
+                    throw new ParseException("input-file and output-file cannot be used with manifest");
+                }
+                return runManifest(Paths.get(cli.getOptionValue('m')), cli) > 0 ? 1 : 0;
+            }
+
+            // two args must be left over: <input-inputFile> <output-inputFile>
             final String input, output;
             switch (cliArgs.length) {
             case 0:
@@ -77,117 +99,8 @@ public class RDF4JSchemaGenerator {
                 throw new ParseException("too many arguments");
             }
 
-            Optional<RDFFormat> format = Rio
-                    .getParserFormatForMIMEType(cli.getOptionValue('f', null));
-
-            final RDF4JSchemaGeneratorCore builder;
-            if (input.startsWith("http://")) {
-                final URL url = new URL(input);
-
-                if (!format.isPresent()) {
-                    // try to guess format if they didn't specify it
-                    format = Rio.getParserFormatForFileName(url.getFile());
-                }
-
-                tempFile = Files.createTempFile("schema-generator", "."
-                        + (format.isPresent() ? format.get().getDefaultFileExtension() : "cache"));
-
-                try {
-                    fetchSchema(url, tempFile);
-                } catch (final URISyntaxException e) {
-                    throw new ParseException("Invalid input URL: " + e.getMessage());
-                }
-
-                // Default to Turtle if we didn't guess the format or have it
-                // specified
-                builder = new RDF4JSchemaGeneratorCore(tempFile.toString(),
-                        format.orElse(RDFFormat.TURTLE));
-            } else {
-                // Default to Turtle if we didn't have the format specified
-                builder = new RDF4JSchemaGeneratorCore(input, format.orElse(RDFFormat.TURTLE));
-            }
-            if (cli.hasOption('p')) {
-                builder.setPackageName(cli.getOptionValue('p'));
-            }
-            if (cli.hasOption('n')) {
-                builder.setName(cli.getOptionValue('n'));
-            }
-            if (cli.hasOption('u')) {
-                builder.setPrefix(cli.getOptionValue('u'));
-            }
-            if (cli.hasOption('l')) {
-                builder.setPreferredLanguage(cli.getOptionValue('l'));
-            }
-            if (cli.hasOption('S')) {
-                builder.setStringPropertySuffix(cli.getOptionValue('S'));
-            } else {
-                builder.setStringPropertySuffix(null);
-            }
-            if (cli.hasOption('P')) {
-                builder.setStringPropertyPrefix(cli.getOptionValue('P'));
-            } else {
-                builder.setStringPropertyPrefix(null);
-            }
-            if (cli.hasOption('c')) {
-                try {
-                    final CaseFormat caseFormat = CaseFormat.valueOf(cli.getOptionValue('c'));
-                    if (caseFormat == null) {
-                        throw new ParseException("Did not recognise constantCase: Must be one of "
-                                + Arrays.asList(CaseFormat.values()));
-                    }
-                    builder.setConstantCase(caseFormat);
-                } catch (final IllegalArgumentException e) {
-                    throw new ParseException("Did not recognise constantCase: Must be one of "
-                            + Arrays.asList(CaseFormat.values()));
-                }
-            }
-            if (cli.hasOption('C')) {
-                try {
-                    final CaseFormat caseFormat = CaseFormat.valueOf(cli.getOptionValue('C'));
-                    if (caseFormat == null) {
-                        throw new ParseException("Did not recognise constantCase: Must be one of "
-                                + Arrays.asList(CaseFormat.values()));
-                    }
-                    builder.setStringConstantCase(caseFormat);
-                } catch (final IllegalArgumentException e) {
-                    throw new ParseException("Did not recognise constantCase: Must be one of "
-                            + Arrays.asList(CaseFormat.values()));
-                }
-            }
-            if (cli.hasOption('s')) {
-                try {
-                    builder.setIndent(StringUtils.repeat(' ',
-                            Integer.parseInt(cli.getOptionValue('s', "4"))));
-                } catch (final NumberFormatException e) {
-                    throw new ParseException("indent must be numeric");
-                }
-            } else {
-                builder.setIndent("\t");
-            }
-
-            if (output != null) {
-                System.err.printf("Starting generation%n");
-                final Path outFile = Paths.get(output);
-                if (outFile.getParent() != null) {
-                    if (!Files.exists(outFile.getParent())) {
-                        Files.createDirectories(outFile.getParent());
-                    } else if (!Files.isDirectory(outFile.getParent())) {
-                        throw new IOException(
-                                String.format("%s is not a directory", outFile.getParent()));
-                    }
-                }
-                builder.generate(outFile);
-                if (cli.hasOption('b')) {
-                    System.err.printf("Generate ResourceBundles%n");
-                    builder.generateResourceBundle(
-                            outFile.getFileName().toString().replaceAll("\\.[^.]+$", ""),
-                            outFile.toAbsolutePath().getParent());
-                }
-                System.err.printf("Generation finished, result available in '%s'%n", output);
-            } else {
-                builder.generate(System.out);
-            }
-
+            SchemaGenerationJob.fromCommandLine(cli, input, output).run();
+            return 0;
         } catch (final UnsupportedRDFormatException e) {
             System.err.printf("%s%nTry setting the format explicitly%n", e.getMessage());
         } catch (final ParseException e) {
@@ -200,15 +113,64 @@ public class RDF4JSchemaGenerator {
             System.err.println("Error during file-access: " + e.getMessage());
         } catch (final GenerationException e) {
             System.err.println(e.getMessage());
-        } finally {
-            if (tempFile != null) {
+        }
+        return 1;
+    }
+
+    /**
+     * Generate the schemas in a manifest.
+     *
+     * @return The number of schemas that could not be generated.
+     */
+    private static int runManifest(Path manifest, CommandLine cli)
+            throws IOException, ParseException {
+        final List<SchemaGenerationJob> jobs = SchemaGenerationJob.fromManifest(manifest, cli);
+        if (jobs.isEmpty()) {
+            throw new ParseException("No schemas found in manifest: " + manifest);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (cli.hasOption('j')) {
+            try {
+                threads = Integer.parseInt(cli.getOptionValue('j'));
+            } catch (final NumberFormatException e) {
+                throw new ParseException("jobs must be numeric");
+            }
+            if (threads < 1) {
+                throw new ParseException("jobs must be at least 1");
+            }
+        }
+
+        // All of the jobs share the parser configuration and the compiled
+        // templates, which are cached for the life of the JVM
+        final ExecutorService executor = Executors
+                .newFixedThreadPool(Math.min(threads, jobs.size()));
+        try {
+            final List<Future<Void>> results = new ArrayList<>(jobs.size());
+            for (final SchemaGenerationJob nextJob : jobs) {
+                results.add(executor.submit(() -> {
+                    nextJob.run();
+                    return null;
+                }));
+            }
+            int failures = 0;
+            for (int i = 0; i < jobs.size(); i++) {
                 try {
-                    Files.deleteIfExists(tempFile);
-                } catch (final IOException e) {
-                    System.err.println(
-                            "Error while deleting temp-file " + tempFile + ": " + e.getMessage());
+                    results.get(i).get();
+                } catch (final ExecutionException e) {
+                    failures++;
+                    System.err.printf("Could not generate %s: %s%n", jobs.get(i).getId(),
+                            e.getCause().getMessage());
                 }
             }
+            System.err.printf("Generated %d of %d schemas%n", jobs.size() - failures,
+                    jobs.size());
+            return failures;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while generating schemas");
+            return jobs.size();
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -225,6 +187,8 @@ public class RDF4JSchemaGenerator {
         }
         hf.printWrapped(w, 80, 12,
                 "usage: RDF4JSchemaGenerator [options...] <input-file> [<output-file>]");
+        hf.printWrapped(w, 80, 12,
+                "       RDF4JSchemaGenerator [options...] --manifest <manifest-file>");
         hf.printWrapped(w, 80, 42,
                 "  <input-file>                            the input file to read from");
         hf.printWrapped(w, 80, 42,
@@ -317,6 +281,95 @@ public class RDF4JSchemaGenerator {
         OptionBuilder.withArgName("prefix");
         o.addOption(OptionBuilder.create('P'));
 
+        OptionBuilder.withLongOpt("streaming");
+        OptionBuilder.withDescription(
+                "only keep the statements needed for the schema while reading the input file");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("snapshots");
+        OptionBuilder.withDescription(
+                "directory for snapshots of parsed input files, so unchanged input files are not parsed again");
+        OptionBuilder.hasArgs(1);
+        OptionBuilder.withArgName("snapshot-dir");
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("constantGroupSize");
+        OptionBuilder.withDescription(
+                "generate constants into nested classes named after the start of the term names, warning about nested classes with more than this many terms");
+        OptionBuilder.hasArgs(1);
+        OptionBuilder.withArgName("size");
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("constantGroupKeyLength");
+        OptionBuilder.withDescription(
+                "number of characters from the start of the term names that name the nested classes, default 1");
+        OptionBuilder.hasArgs(1);
+        OptionBuilder.withArgName("length");
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("lazyIris");
+        OptionBuilder.withDescription(
+                "generate a method for each IRI constant that creates the IRI when it is first used");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("compactIris");
+        OptionBuilder.withDescription(
+                "generate an IRI implementation for the class that keeps the namespace and local name separately");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("lookupMethods");
+        OptionBuilder.withDescription(
+                "generate fromIRI, fromString and fromLocalName methods that find the IRI constant for a term");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("termOrdinals");
+        OptionBuilder.withDescription(
+                "generate an ordinal for each term, with TermSet and TermMap classes that are indexed by the ordinals");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("compiledBundles");
+        OptionBuilder.withDescription(
+                "generate the language bundles as a compiled Labels class instead of properties files");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("direct");
+        OptionBuilder.withDescription(
+                "write the class directly instead of using the FreeMarker template, which is faster for large schemas");
+        OptionBuilder.hasArg(false);
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create());
+
+        OptionBuilder.withLongOpt("manifest");
+        OptionBuilder.withDescription(
+                "properties file listing the schemas to generate, using schema.<id>.<option> keys");
+        OptionBuilder.hasArgs(1);
+        OptionBuilder.withArgName("manifest-file");
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create('m'));
+
+        OptionBuilder.withLongOpt("jobs");
+        OptionBuilder.withDescription(
+                "number of schemas from the manifest to generate at the same time (number of processors if absent)");
+        OptionBuilder.hasArgs(1);
+        OptionBuilder.withArgName("jobs");
+        OptionBuilder.isRequired(false);
+        o.addOption(OptionBuilder.create('j'));
+
         OptionBuilder.withLongOpt("help");
         OptionBuilder.withDescription("print this help");
         OptionBuilder.isRequired(false);
@@ -326,7 +379,7 @@ public class RDF4JSchemaGenerator {
         return o;
     }
 
-    private static File fetchSchema(URL url, final Path tempFile)
+    static File fetchSchema(URL url, final Path tempFile)
             throws URISyntaxException, IOException {
         System.err.printf("Fetching remote schema <%s>%n", url);
         final Properties buildProperties = getBuildProperties();
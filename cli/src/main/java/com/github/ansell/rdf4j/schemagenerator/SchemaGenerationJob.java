@@ -0,0 +1,345 @@
+package com.github.ansell.rdf4j.schemagenerator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import com.google.common.base.CaseFormat;
+
+/**
+ * The settings for generating a single schema from the command line, either
+ * from the command line options or from an entry in a manifest file.
+ * <p>
+ * Manifest files are Java properties files, with the settings for each schema
+ * using the same names as the long command line options, prefixed by
+ * {@code schema.<id>.}, along with the {@code input} and {@code output} for the
+ * schema. For example:
+ *
+ * <pre>
+ * schema.ldp.input=ldp.ttl
+ * schema.ldp.output=src/main/java/com/example/LDP.java
+ * schema.ldp.uri=http://www.w3.org/ns/ldp#
+ * schema.ldp.package=com.example
+ * </pre>
+ *
+ * Options that are not set for a schema in the manifest are taken from the
+ * command line, and relative paths are resolved against the directory
+ * containing the manifest.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+final class SchemaGenerationJob {
+
+    private static final String MANIFEST_PREFIX = "schema.";
+
+    private final String id;
+    private final String input;
+    private final String output;
+    private final Optional<RDFFormat> format;
+    private final String packageName;
+    private final String name;
+    private final String prefix;
+    private final String language;
+    private final String stringPropertyPrefix;
+    private final String stringPropertySuffix;
+    private final CaseFormat constantCase;
+    private final CaseFormat stringConstantCase;
+    private final String indent;
+    private final boolean languageBundles;
+    private final boolean streaming;
+    private final String snapshots;
+    private final boolean direct;
+    private final boolean lazyIris;
+    private final boolean compactIris;
+    private final boolean lookupMethods;
+    private final boolean termOrdinals;
+    private final boolean compiledBundles;
+    private final int constantGroupSize;
+    private final int constantGroupKeyLength;
+
+    private SchemaGenerationJob(String id, String input, String output,
+            Function<String, String> options) throws ParseException {
+        this.id = id;
+        this.input = input;
+        this.output = output;
+        this.format = Rio.getParserFormatForMIMEType(options.apply("format"));
+        this.packageName = options.apply("package");
+        this.name = options.apply("name");
+        this.prefix = options.apply("uri");
+        this.language = options.apply("language");
+        this.stringPropertyPrefix = options.apply("stringConstantPrefix");
+        this.stringPropertySuffix = options.apply("stringConstantSuffix");
+        this.constantCase = getCaseFormat(options.apply("constantCase"));
+        this.stringConstantCase = getCaseFormat(options.apply("stringConstantCase"));
+        final String spaces = options.apply("spaces");
+        if (isSet(spaces)) {
+            try {
+                this.indent = StringUtils.repeat(' ',
+                        Integer.parseInt(StringUtils.defaultIfEmpty(spaces, "4")));
+            } catch (final NumberFormatException e) {
+                throw new ParseException("indent must be numeric");
+            }
+        } else {
+            this.indent = "\t";
+        }
+        this.languageBundles = isSet(options.apply("languageBundles"));
+        this.streaming = isSet(options.apply("streaming"));
+        this.snapshots = options.apply("snapshots");
+        this.direct = isSet(options.apply("direct"));
+        this.lazyIris = isSet(options.apply("lazyIris"));
+        this.compactIris = isSet(options.apply("compactIris"));
+        this.lookupMethods = isSet(options.apply("lookupMethods"));
+        this.termOrdinals = isSet(options.apply("termOrdinals"));
+        this.compiledBundles = isSet(options.apply("compiledBundles"));
+        final String groupSize = options.apply("constantGroupSize");
+        if (StringUtils.isNotBlank(groupSize)) {
+            try {
+                this.constantGroupSize = Integer.parseInt(groupSize);
+            } catch (final NumberFormatException e) {
+                throw new ParseException("constantGroupSize must be numeric");
+            }
+        } else {
+            this.constantGroupSize = 0;
+        }
+        final String groupKeyLength = options.apply("constantGroupKeyLength");
+        if (StringUtils.isNotBlank(groupKeyLength)) {
+            try {
+                this.constantGroupKeyLength = Integer.parseInt(groupKeyLength);
+            } catch (final NumberFormatException e) {
+                throw new ParseException("constantGroupKeyLength must be numeric");
+            }
+            if (this.constantGroupKeyLength <= 0) {
+                throw new ParseException("constantGroupKeyLength must be positive");
+            }
+        } else {
+            this.constantGroupKeyLength = 1;
+        }
+    }
+
+    /**
+     * Create a job from the options and arguments on the command line.
+     */
+    static SchemaGenerationJob fromCommandLine(CommandLine cli, String input, String output)
+            throws ParseException {
+        return new SchemaGenerationJob(null, input, output, getOptions(cli));
+    }
+
+    /**
+     * Create a job for each of the schemas in the given manifest, in order of
+     * their ids, using the command line options as defaults.
+     */
+    static List<SchemaGenerationJob> fromManifest(Path manifest, CommandLine cli)
+            throws IOException, ParseException {
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        final Set<String> ids = new TreeSet<>();
+        for (final String key : properties.stringPropertyNames()) {
+            if (key.startsWith(MANIFEST_PREFIX)) {
+                final int idEnd = key.indexOf('.', MANIFEST_PREFIX.length());
+                if (idEnd > MANIFEST_PREFIX.length()) {
+                    ids.add(key.substring(MANIFEST_PREFIX.length(), idEnd));
+                }
+            }
+        }
+
+        final Path baseDirectory = manifest.toAbsolutePath().getParent();
+        final Function<String, String> defaults = getOptions(cli);
+        final List<SchemaGenerationJob> result = new ArrayList<>(ids.size());
+        for (final String nextId : ids) {
+            final String keyPrefix = MANIFEST_PREFIX + nextId + ".";
+            final Function<String, String> options = option -> {
+                final String value = properties.getProperty(keyPrefix + option);
+                return value != null ? value.trim() : defaults.apply(option);
+            };
+            final String nextInput = options.apply("input");
+            if (StringUtils.isBlank(nextInput)) {
+                throw new ParseException(String.format("Missing %sinput", keyPrefix));
+            }
+            final String nextOutput = options.apply("output");
+            if (StringUtils.isBlank(nextOutput)) {
+                throw new ParseException(String.format("Missing %soutput", keyPrefix));
+            }
+            result.add(new SchemaGenerationJob(nextId, resolve(baseDirectory, nextInput),
+                    resolve(baseDirectory, nextOutput), options));
+        }
+        return result;
+    }
+
+    /**
+     * @return The id of the schema in the manifest, or null if the job was
+     *         created from the command line.
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Generate the schema, and the resource bundles if they were requested.
+     */
+    void run() throws IOException, GenerationException, ParseException {
+        Path tempFile = null;
+        try {
+            Optional<RDFFormat> nextFormat = format;
+            final RDF4JSchemaGeneratorCore builder;
+            if (input.startsWith("http://")) {
+                final URL url = new URL(input);
+
+                if (!nextFormat.isPresent()) {
+                    // try to guess format if they didn't specify it
+                    nextFormat = Compression.getParserFormatForFileName(url.getFile());
+                }
+
+                tempFile = Files.createTempFile("schema-generator",
+                        "." + (nextFormat.isPresent() ? nextFormat.get().getDefaultFileExtension()
+                                : "cache"));
+
+                try {
+                    RDF4JSchemaGenerator.fetchSchema(url, tempFile);
+                } catch (final URISyntaxException e) {
+                    throw new ParseException("Invalid input URL: " + e.getMessage());
+                }
+
+                // Default to Turtle if we didn't guess the format or have it
+                // specified
+                builder = createGenerator(tempFile.toString(),
+                        nextFormat.orElse(RDFFormat.TURTLE));
+            } else {
+                if (!nextFormat.isPresent()) {
+                    nextFormat = Compression.getParserFormatForFileName(input);
+                }
+                // Default to Turtle if we didn't guess the format or have it
+                // specified
+                builder = createGenerator(input, nextFormat.orElse(RDFFormat.TURTLE));
+            }
+            if (packageName != null) {
+                builder.setPackageName(packageName);
+            }
+            if (name != null) {
+                builder.setName(name);
+            }
+            if (prefix != null) {
+                builder.setPrefix(prefix);
+            }
+            if (language != null) {
+                builder.setPreferredLanguage(language);
+            }
+            builder.setStringPropertySuffix(stringPropertySuffix);
+            builder.setStringPropertyPrefix(stringPropertyPrefix);
+            if (constantCase != null) {
+                builder.setConstantCase(constantCase);
+            }
+            if (stringConstantCase != null) {
+                builder.setStringConstantCase(stringConstantCase);
+            }
+            builder.setIndent(indent);
+            builder.setDirectEmitter(direct);
+            builder.setConstantGroupSize(constantGroupSize);
+            builder.setConstantGroupKeyLength(constantGroupKeyLength);
+            builder.setLazyIris(lazyIris);
+            builder.setCompactIris(compactIris);
+            builder.setLookupMethods(lookupMethods);
+            builder.setTermOrdinals(termOrdinals);
+
+            if (output != null) {
+                System.err.printf("Starting generation%s%n", id != null ? " of " + id : "");
+                final Path outFile = Paths.get(output);
+                if (outFile.getParent() != null) {
+                    if (!Files.exists(outFile.getParent())) {
+                        Files.createDirectories(outFile.getParent());
+                    } else if (!Files.isDirectory(outFile.getParent())) {
+                        throw new IOException(
+                                String.format("%s is not a directory", outFile.getParent()));
+                    }
+                }
+                builder.generate(outFile);
+                if (languageBundles) {
+                    final String baseName = outFile.getFileName().toString()
+                            .replaceAll("\\.[^.]+$", "");
+                    if (compiledBundles) {
+                        System.err.printf("Generate compiled ResourceBundles%n");
+                        builder.generateCompiledBundle(baseName,
+                                outFile.toAbsolutePath().getParent());
+                    } else {
+                        System.err.printf("Generate ResourceBundles%n");
+                        builder.generateResourceBundle(baseName,
+                                outFile.toAbsolutePath().getParent());
+                    }
+                }
+                System.err.printf("Generation finished, result available in '%s'%n", output);
+            } else {
+                builder.generate(System.out);
+            }
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException e) {
+                    System.err.println(
+                            "Error while deleting temp-file " + tempFile + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private RDF4JSchemaGeneratorCore createGenerator(String inputFile, RDFFormat inputFormat)
+            throws IOException {
+        if (streaming) {
+            return new RDF4JSchemaGeneratorCore(inputFile, inputFormat, prefix);
+        } else if (StringUtils.isNotBlank(snapshots)) {
+            return RDF4JSchemaGeneratorCore.fromSnapshot(inputFile, inputFormat,
+                    Paths.get(snapshots));
+        } else {
+            return new RDF4JSchemaGeneratorCore(inputFile, inputFormat);
+        }
+    }
+
+    private static Function<String, String> getOptions(CommandLine cli) {
+        return option -> cli.hasOption(option)
+                ? StringUtils.defaultString(cli.getOptionValue(option)) : null;
+    }
+
+    private static boolean isSet(String flag) {
+        return flag != null && !"false".equalsIgnoreCase(flag);
+    }
+
+    private static CaseFormat getCaseFormat(String value) throws ParseException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return CaseFormat.valueOf(value);
+        } catch (final IllegalArgumentException e) {
+            throw new ParseException("Did not recognise constantCase: Must be one of "
+                    + Arrays.asList(CaseFormat.values()));
+        }
+    }
+
+    private static String resolve(Path baseDirectory, String path) {
+        if (path.startsWith("http://") || baseDirectory == null) {
+            return path;
+        }
+        return baseDirectory.resolve(path).toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.ansell.rdf4j.schemagenerator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.cli.PosixParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the manifest and batch mode of {@link RDF4JSchemaGenerator}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class RDF4JSchemaGeneratorTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testManifestJobs() throws Exception {
+        final Path manifest = writeManifest("schemas.properties",
+                "schema.b.input=b.ttl",
+                "schema.b.output=out/B.java",
+                "schema.a.input=a.ttl",
+                "schema.a.output=out/A.java",
+                "schema.a.package=com.example.a",
+                "# Keys that are not for a schema are ignored",
+                "schema.input=ignored.ttl",
+                "other.c.input=c.ttl");
+        final CommandLine cli = new PosixParser().parse(new Options(), new String[0]);
+
+        final List<String> ids = new ArrayList<>();
+        for (final SchemaGenerationJob nextJob : SchemaGenerationJob.fromManifest(manifest,
+                cli)) {
+            ids.add(nextJob.getId());
+        }
+        assertEquals(Arrays.asList("a", "b"), ids);
+    }
+
+    @Test
+    public void testManifestMissingOutput() throws Exception {
+        final Path manifest = writeManifest("schemas.properties", "schema.a.input=a.ttl");
+        final CommandLine cli = new PosixParser().parse(new Options(), new String[0]);
+        try {
+            SchemaGenerationJob.fromManifest(manifest, cli);
+            fail("Did not find the missing output");
+        } catch (final ParseException e) {
+            assertEquals("Missing schema.a.output", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelJobs() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            writeVocabulary("v" + i + ".ttl", "http://example.com/v" + i + "#");
+            lines.add("schema.v" + i + ".input=v" + i + ".ttl");
+            lines.add("schema.v" + i + ".output=out/V" + i + ".java");
+        }
+        // Options in the manifest override those from the command line
+        lines.add("schema.v0.package=com.example.zero");
+        final Path manifest = writeManifest("schemas.properties",
+                lines.toArray(new String[lines.size()]));
+
+        assertEquals(0, RDF4JSchemaGenerator.run(new String[] { "--package", "com.example",
+                "--jobs", "3", "--manifest", manifest.toString() }));
+        // Relative paths are resolved against the directory of the manifest
+        final Path out = manifest.getParent().resolve("out");
+        for (int i = 0; i < 6; i++) {
+            final String code = read(out.resolve("V" + i + ".java"));
+            assertTrue(code.contains(i == 0 ? "package com.example.zero;"
+                    : "package com.example;"));
+            assertTrue(code.contains("http://example.com/v" + i + "#"));
+        }
+    }
+
+    @Test
+    public void testPartialFailure() throws Exception {
+        writeVocabulary("good.ttl", "http://example.com/good#");
+        final Path manifest = writeManifest("schemas.properties",
+                "schema.good.input=good.ttl",
+                "schema.good.output=out/Good.java",
+                "schema.missing.input=missing.ttl",
+                "schema.missing.output=out/Missing.java");
+
+        assertEquals(1, RDF4JSchemaGenerator.run(new String[] { "--package", "com.example",
+                "--jobs", "2", "--manifest", manifest.toString() }));
+        final Path out = manifest.getParent().resolve("out");
+        assertTrue(Files.exists(out.resolve("Good.java")));
+        assertFalse(Files.exists(out.resolve("Missing.java")));
+    }
+
+    private Path writeManifest(String fileName, String... lines) throws Exception {
+        final Path result = tempDir.getRoot().toPath().resolve(fileName);
+        Files.write(result, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return result;
+    }
+
+    private void writeVocabulary(String fileName, String prefix) throws Exception {
+        Files.write(tempDir.getRoot().toPath().resolve(fileName), Arrays.asList(
+                "@prefix owl: <http://www.w3.org/2002/07/owl#> .",
+                "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .",
+                "<" + prefix + "> a owl:Ontology .",
+                "<" + prefix + "Thing> a owl:Class ; rdfs:label \"Thing\"@en .",
+                "<" + prefix + "part> a owl:ObjectProperty ; rdfs:label \"part\"@en ."),
+                StandardCharsets.UTF_8);
+    }
+
+    private static String read(Path file) throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.ansell.rdf4j.schemagenerator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+
+/**
+ * A {@link ValueFactory} that returns the constants from generated schema
+ * classes, instead of creating a new IRI, when it is asked to create an IRI
+ * for a term in one of the schemas. Parsing data with this factory means that
+ * each vocabulary term is only kept in memory once, and the IRIs in the data
+ * can be compared with the constants using {@code ==}.
+ * <p>
+ * The IRIs of all of the schemas are kept in a single hash table, so finding
+ * a term does not allocate, however many schemas there are. Everything other
+ * than IRIs for terms in the schemas is created by the wrapped factory.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class CanonicalisingValueFactory implements ValueFactory {
+
+    private final ValueFactory delegate;
+    private final Map<String, IRI> terms = new HashMap<>();
+    private final Map<String, Map<String, IRI>> namespaces = new HashMap<>();
+
+    /**
+     * @param delegate
+     *            The factory to create the values that are not in the
+     *            schemas.
+     * @param schemaClasses
+     *            The generated schema classes. The IRI constants are read from
+     *            each class and its nested classes. Classes that create their
+     *            IRIs lazily have all of their IRIs created here.
+     */
+    public CanonicalisingValueFactory(ValueFactory delegate, Class<?>... schemaClasses) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+        for (final Class<?> nextClass : schemaClasses) {
+            addConstants(nextClass);
+        }
+    }
+
+    /**
+     * Create a factory for the classes of the given schemas, such as those
+     * from {@link SchemaRegistry#getAll()}.
+     *
+     * @param delegate
+     *            The factory to create the values that are not in the
+     *            schemas.
+     * @param schemas
+     *            The schemas.
+     * @return The factory.
+     */
+    public static CanonicalisingValueFactory forSchemas(ValueFactory delegate,
+            Iterable<? extends Schema> schemas) {
+        final List<Class<?>> schemaClasses = new ArrayList<>();
+        for (final Schema nextSchema : schemas) {
+            schemaClasses.add(nextSchema.getClass());
+        }
+        return new CanonicalisingValueFactory(delegate,
+                schemaClasses.toArray(new Class<?>[schemaClasses.size()]));
+    }
+
+    private void addConstants(Class<?> schemaClass) {
+        try {
+            for (final Field nextField : schemaClass.getFields()) {
+                if (nextField.getType() == IRI.class
+                        && Modifier.isStatic(nextField.getModifiers())) {
+                    addTerm((IRI) nextField.get(null));
+                }
+            }
+            // The accessors for lazy IRIs
+            for (final Method nextMethod : schemaClass.getMethods()) {
+                if (nextMethod.getReturnType() == IRI.class
+                        && nextMethod.getParameterCount() == 0
+                        && Modifier.isStatic(nextMethod.getModifiers())) {
+                    addTerm((IRI) nextMethod.invoke(null));
+                }
+            }
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException(
+                    "Could not read the IRI constants from " + schemaClass.getName(), e);
+        }
+        // The nested classes for very large schemas
+        for (final Class<?> nextClass : schemaClass.getClasses()) {
+            addConstants(nextClass);
+        }
+    }
+
+    private void addTerm(IRI term) {
+        if (term != null && terms.putIfAbsent(term.stringValue(), term) == null) {
+            namespaces.computeIfAbsent(term.getNamespace(), n -> new HashMap<>())
+                    .put(term.getLocalName(), term);
+        }
+    }
+
+    /**
+     *
+     * @return The number of distinct IRIs from the schemas.
+     */
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     *
+     * @return The IRIs from the schemas, by their string values.
+     */
+    public Map<String, IRI> getTerms() {
+        return Collections.unmodifiableMap(terms);
+    }
+
+    @Override
+    public IRI createIRI(String iri) {
+        final IRI result = terms.get(iri);
+        return result != null ? result : delegate.createIRI(iri);
+    }
+
+    @Override
+    public IRI createIRI(String namespace, String localName) {
+        final Map<String, IRI> localNames = namespaces.get(namespace);
+        if (localNames != null) {
+            final IRI result = localNames.get(localName);
+            if (result != null) {
+                return result;
+            }
+        }
+        return delegate.createIRI(namespace, localName);
+    }
+
+    @Override
+    public BNode createBNode() {
+        return delegate.createBNode();
+    }
+
+    @Override
+    public BNode createBNode(String nodeID) {
+        return delegate.createBNode(nodeID);
+    }
+
+    @Override
+    public Literal createLiteral(String label) {
+        return delegate.createLiteral(label);
+    }
+
+    @Override
+    public Literal createLiteral(String label, String language) {
+        return delegate.createLiteral(label, language);
+    }
+
+    @Override
+    public Literal createLiteral(String label, IRI datatype) {
+        return delegate.createLiteral(label, datatype);
+    }
+
+    @Override
+    public Literal createLiteral(boolean value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(byte value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(short value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(int value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(long value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(float value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(double value) {
+        return delegate.createLiteral(value);
+    }
+
+    @Override
+    public Literal createLiteral(BigDecimal bigDecimal) {
+        return delegate.createLiteral(bigDecimal);
+    }
+
+    @Override
+    public Literal createLiteral(BigInteger bigInteger) {
+        return delegate.createLiteral(bigInteger);
+    }
+
+    @Override
+    public Literal createLiteral(XMLGregorianCalendar calendar) {
+        return delegate.createLiteral(calendar);
+    }
+
+    @Override
+    public Literal createLiteral(Date date) {
+        return delegate.createLiteral(date);
+    }
+
+    @Override
+    public Statement createStatement(Resource subject, IRI predicate, Value object) {
+        return delegate.createStatement(subject, predicate, object);
+    }
+
+    @Override
+    public Statement createStatement(Resource subject, IRI predicate, Value object,
+            Resource context) {
+        return delegate.createStatement(subject, predicate, object, context);
+    }
+}
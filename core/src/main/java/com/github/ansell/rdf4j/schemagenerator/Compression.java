@@ -0,0 +1,162 @@
+package com.github.ansell.rdf4j.schemagenerator;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * Reads schemas that are compressed using gzip, bzip2 or xz, decompressing
+ * them as they are parsed instead of writing them to disk first.
+ * <p>
+ * Compression is detected using the first bytes of the input, so compressed
+ * files are read correctly whatever they are named. The file name is only used
+ * to find the RDF format, after removing extensions such as {@code .gz}.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class Compression {
+
+    private static final List<String> EXTENSIONS = Arrays.asList(".gz", ".gzip", ".bz2",
+            ".xz");
+
+    private static final byte[] GZIP_MAGIC = { (byte) 0x1f, (byte) 0x8b };
+    private static final byte[] BZIP2_MAGIC = { 'B', 'Z', 'h' };
+    private static final byte[] XZ_MAGIC = { (byte) 0xfd, '7', 'z', 'X', 'Z', 0 };
+
+    private static final int MAGIC_LENGTH = XZ_MAGIC.length;
+
+    private Compression() {
+    }
+
+    /**
+     * Remove a compression extension from a file name or URL, for example
+     * {@code schema.ttl.gz} becomes {@code schema.ttl}.
+     *
+     * @param fileName
+     *            The file name or URL.
+     * @return The file name without its compression extension, or the file
+     *         name if it did not have one.
+     */
+    public static String removeExtension(String fileName) {
+        final String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        for (final String nextExtension : EXTENSIONS) {
+            if (lowerCase.endsWith(nextExtension)) {
+                return fileName.substring(0, fileName.length() - nextExtension.length());
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Find the RDF format for a file name or URL, ignoring any compression
+     * extension.
+     *
+     * @param fileName
+     *            The file name or URL.
+     * @return The format, if it could be found.
+     */
+    public static Optional<RDFFormat> getParserFormatForFileName(String fileName) {
+        return Rio.getParserFormatForFileName(removeExtension(fileName));
+    }
+
+    /**
+     * Open a file, decompressing it if it is compressed.
+     *
+     * @param file
+     *            The file to open.
+     * @return A stream of the decompressed content of the file.
+     * @throws IOException
+     *             If the file could not be opened.
+     */
+    public static InputStream open(Path file) throws IOException {
+        final InputStream input = Files.newInputStream(file);
+        try {
+            return decompress(input);
+        } catch (final IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether a file is compressed.
+     *
+     * @param file
+     *            The file to check.
+     * @return True if the file is compressed using gzip, bzip2 or xz, and
+     *         false otherwise.
+     * @throws IOException
+     *             If the file could not be read.
+     */
+    public static boolean isCompressed(Path file) throws IOException {
+        try (final InputStream input = Files.newInputStream(file)) {
+            final byte[] magic = new byte[MAGIC_LENGTH];
+            final int length = readMagic(input, magic);
+            return startsWith(magic, length, GZIP_MAGIC) || startsWith(magic, length, BZIP2_MAGIC)
+                    || startsWith(magic, length, XZ_MAGIC);
+        }
+    }
+
+    /**
+     * Decompress a stream if it is compressed.
+     *
+     * @param input
+     *            The stream, which is closed when the result is closed.
+     * @return A stream of the decompressed content, or a stream of the
+     *         original content if it was not compressed.
+     * @throws IOException
+     *             If the stream could not be read.
+     */
+    public static InputStream decompress(InputStream input) throws IOException {
+        final InputStream buffered = input.markSupported() ? input
+                : new BufferedInputStream(input, 65536);
+        final byte[] magic = new byte[MAGIC_LENGTH];
+        buffered.mark(MAGIC_LENGTH);
+        final int length = readMagic(buffered, magic);
+        buffered.reset();
+
+        if (startsWith(magic, length, GZIP_MAGIC)) {
+            return new GZIPInputStream(buffered, 65536);
+        } else if (startsWith(magic, length, BZIP2_MAGIC)) {
+            return new BZip2CompressorInputStream(buffered, true);
+        } else if (startsWith(magic, length, XZ_MAGIC)) {
+            return new XZCompressorInputStream(buffered, true);
+        } else {
+            return buffered;
+        }
+    }
+
+    private static int readMagic(InputStream input, byte[] magic) throws IOException {
+        int length = 0;
+        int read;
+        while (length < magic.length
+                && (read = input.read(magic, length, magic.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -12,19 +12,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.WordUtils;
@@ -34,6 +36,7 @@ import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.DC;
 import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
@@ -43,23 +46,36 @@ import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.model.vocabulary.SKOS;
 import org.eclipse.rdf4j.rio.ParserConfig;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.ParseErrorLogger;
 import org.eclipse.rdf4j.rio.helpers.XMLParserSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.ansell.rdf4j.schemagenerator.internal.ConstantGroup;
+import com.github.ansell.rdf4j.schemagenerator.internal.ConstantNamer;
+import com.github.ansell.rdf4j.schemagenerator.internal.JavaSourceEmitter;
+import com.github.ansell.rdf4j.schemagenerator.internal.LabelTable;
+import com.github.ansell.rdf4j.schemagenerator.internal.LookupSwitch;
+import com.github.ansell.rdf4j.schemagenerator.internal.OntologyDetector;
+import com.github.ansell.rdf4j.schemagenerator.internal.ParallelLineParser;
 import com.github.ansell.rdf4j.schemagenerator.internal.SchemaRecordImpl;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaRecordJavadoc;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaRecordTemplateModel;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaStatementFilter;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTemplates;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTerm;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTermIndex;
+import com.github.ansell.rdf4j.schemagenerator.internal.TermSnapshot;
 import com.google.common.base.CaseFormat;
-import com.google.common.collect.Sets;
 
-import freemarker.ext.beans.BeansWrapper;
-import freemarker.ext.beans.BeansWrapperBuilder;
-import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
 
 /**
  * The core implementation of the Schema Generation.
@@ -76,13 +92,56 @@ public class RDF4JSchemaGeneratorCore {
             SKOS.DEFINITION, DC.DESCRIPTION };
     private static final IRI[] LABEL_PROPERTIES = new IRI[] { RDFS.LABEL, DCTERMS.TITLE, DC.TITLE,
             SKOS.PREF_LABEL, SKOS.ALT_LABEL };
+
+    /**
+     * @return A copy of the predicates that are used to find the label of a
+     *         term, in order of preference.
+     */
+    public static IRI[] getLabelProperties() {
+        return LABEL_PROPERTIES.clone();
+    }
+
+    /**
+     * @return A copy of the predicates that are used to find the comment for a
+     *         term, in order of preference.
+     */
+    public static IRI[] getCommentProperties() {
+        return COMMENT_PROPERTIES.clone();
+    }
+
+    /**
+     * The parser settings are only read while parsing, so a single instance is
+     * shared by all of the generators in the JVM.
+     */
+    private static final ParserConfig PARSER_CONFIG = new ParserConfig()
+            .set(XMLParserSettings.DISALLOW_DOCTYPE_DECL, false);
+    private static final int PARSER_THREADS = Runtime.getRuntime().availableProcessors();
+    /**
+     * The suffix added to the name of a schema class to name the class
+     * created by {@link #generateCompiledBundle(String, Path)}.
+     */
+    public static final String COMPILED_BUNDLE_SUFFIX = "Labels";
+    /**
+     * The classpath location of the template used by
+     * {@link #generateCompiledBundle(String, Path)}.
+     */
+    public static final String COMPILED_BUNDLE_TEMPLATE = "/com/github/ansell/rdf4j/schemagenerator/javaCompiledBundleRDF4J.ftl";
     private String templatePath = "/com/github/ansell/rdf4j/schemagenerator/javaStaticClassRDF4J.ftl";
+    private boolean directEmitter = false;
+    private int constantGroupSize = 0;
+    private int constantGroupKeyLength = 1;
+    private boolean lazyIris = false;
+    private boolean compactIris = false;
+    private boolean lookupMethods = false;
+    private boolean termOrdinals = false;
     private String name = null;
     private String prefix = null;
     private String packageName = null;
     private String indent = "\t";
     private String language = null;
     private final Model model;
+    private SchemaTermIndex termIndex;
+    private Map<String, SchemaTermIndex> termIndexes = Collections.emptyMap();
     private CaseFormat caseFormat;
     private CaseFormat stringCaseFormat;
     private CaseFormat localNameStringCaseFormat;
@@ -91,18 +150,13 @@ public class RDF4JSchemaGeneratorCore {
     private String localNameStringPropertyPrefix;
     private String localNameStringPropertySuffix;
     private String metaInfServicesInterface;
-    private final Set<String> createdFields = new HashSet<>();
-    private static Set<String> reservedWords = Sets.newHashSet("abstract", "assert", "boolean",
-            "break", "byte", "case", "catch", "char", "class", "const", "default", "do", "double",
-            "else", "enum", "extends", "false", "final", "finally", "float", "for", "goto", "if",
-            "implements", "import", "instanceof", "int", "interface", "long", "native", "new",
-            "null", "package", "private", "protected", "public", "return", "short", "static",
-            "strictfp", "super", "switch", "synchronized", "this", "throw", "throws", "transient",
-            "true", "try", "var", "void", "volatile", "while", "continue", "PREFIX", "NAMESPACE");
+    private ConstantNamer stringNamer;
+    private ConstantNamer localNameStringNamer;
+    private ConstantNamer iriNamer;
 
     /**
      * Create a new RDF4JSchemaGeneratorCore, reading the schema definition from
-     * the provided file
+     * the provided file, which may be compressed using gzip, bzip2 or xz
      *
      * @param filename
      *            the input file to read the schema from
@@ -121,26 +175,250 @@ public class RDF4JSchemaGeneratorCore {
 
     public RDF4JSchemaGeneratorCore(final String filename, final RDFFormat format)
             throws IOException, RDFParseException {
+        final Path file = getInputFile(filename);
+        final RDFFormat rdfFormat = getInputFormat(filename, format);
+
+        model = parseModel(file, rdfFormat);
+
+        // import
+        detectPrefix();
+    }
+
+    /**
+     * Create a new RDF4JSchemaGeneratorCore, streaming the schema definition
+     * from the provided file and only keeping the statements that are needed
+     * to generate the schema for the given prefix. The memory used depends on
+     * the size of the vocabulary instead of the size of the file, so this can
+     * be used with large ontology dumps that include instance data.
+     * <p>
+     * If the prefix is {@code null}, the file is scanned for the first
+     * {@code owl:Ontology} to use as the prefix before it is loaded. If that
+     * fails, the full file is loaded as it would be by
+     * {@link #RDF4JSchemaGeneratorCore(String, RDFFormat)}.
+     * <p>
+     * As statements for other namespaces are discarded, calling
+     * {@link #setPrefix(String)} with a different namespace after using this
+     * constructor will not find any terms.
+     *
+     * @param filename
+     *            the input file to read the schema from
+     * @param format
+     *            the format of the schema file, may be {@code null}
+     * @param prefix
+     *            the prefix for the schema, may be {@code null}
+     * @throws java.io.IOException
+     *             if the file could not be read
+     * @throws RDFParseException
+     *             if the format of the schema could not be detected or is
+     *             unknown.
+     */
+    public RDF4JSchemaGeneratorCore(final String filename, final RDFFormat format,
+            final String prefix) throws IOException, RDFParseException {
+        final Path file = getInputFile(filename);
+        final RDFFormat rdfFormat = getInputFormat(filename, format);
+
+        String filterPrefix = prefix;
+        if (StringUtils.isBlank(filterPrefix)) {
+            final OntologyDetector detector = new OntologyDetector();
+            try {
+                parse(file, rdfFormat, detector);
+            } catch (final RuntimeException e) {
+                // Parsers wrap handler exceptions in different ways, so check
+                // whether parsing was stopped because the ontology was found
+                if (detector.getOntology() == null) {
+                    throw e;
+                }
+            }
+            if (detector.getOntology() != null) {
+                filterPrefix = detector.getOntology().stringValue();
+            }
+        }
+
+        if (filterPrefix != null) {
+            log.trace("Streaming input file: {} with prefix: {}", file, filterPrefix);
+            model = new LinkedHashModel();
+            final String chunkPrefix = filterPrefix;
+            parseFiltered(file, rdfFormat, target -> new SchemaStatementFilter(chunkPrefix,
+                    LABEL_PROPERTIES, COMMENT_PROPERTIES, target), model);
+        } else {
+            log.warn("No prefix given and no owl:Ontology found, loading the full input file: {}",
+                    file);
+            model = parseModel(file, rdfFormat);
+        }
+
+        detectPrefix();
+        if (StringUtils.isNotBlank(prefix)) {
+            setPrefix(prefix);
+        }
+    }
+
+    /**
+     * Create a new RDF4JSchemaGeneratorCore, reading the schema definition from
+     * a snapshot in the given directory if the provided file was read before,
+     * and otherwise reading the file and writing a snapshot for later runs.
+     * <p>
+     * Snapshots only contain the statements that are needed to generate
+     * schemas, for any prefix, and are named using a hash of the content of
+     * the file, so changing any of the settings other than the file does not
+     * require the file to be parsed again. Older snapshots for the same file
+     * are deleted when a new snapshot is written.
+     *
+     * @param filename
+     *            the input file to read the schema from
+     * @param format
+     *            the format of the schema file, may be {@code null}
+     * @param snapshotDirectory
+     *            the directory to read and write snapshots in
+     * @return A new RDF4JSchemaGeneratorCore for the schema.
+     * @throws java.io.IOException
+     *             if the file could not be read
+     * @throws RDFParseException
+     *             if the format of the schema could not be detected or is
+     *             unknown.
+     */
+    public static RDF4JSchemaGeneratorCore fromSnapshot(final String filename,
+            final RDFFormat format, final Path snapshotDirectory)
+            throws IOException, RDFParseException {
+        return fromSnapshot(filename, format, snapshotDirectory, null);
+    }
+
+    /**
+     * Create a new RDF4JSchemaGeneratorCore in the same way as
+     * {@link #fromSnapshot(String, RDFFormat, Path)}, for callers which have
+     * already hashed the content of the file.
+     *
+     * @param filename
+     *            the input file to read the schema from
+     * @param format
+     *            the format of the schema file, may be {@code null}
+     * @param snapshotDirectory
+     *            the directory to read and write snapshots in
+     * @param contentHash
+     *            the hexadecimal SHA-256 hash of the content of the file, or
+     *            {@code null} to hash the file here
+     * @return A new RDF4JSchemaGeneratorCore for the schema.
+     * @throws java.io.IOException
+     *             if the file could not be read
+     * @throws RDFParseException
+     *             if the format of the schema could not be detected or is
+     *             unknown.
+     */
+    public static RDF4JSchemaGeneratorCore fromSnapshot(final String filename,
+            final RDFFormat format, final Path snapshotDirectory, final String contentHash)
+            throws IOException, RDFParseException {
+        final Path file = getInputFile(filename);
+        final RDFFormat rdfFormat = getInputFormat(filename, format);
+        final Path snapshot = snapshotDirectory.resolve(TermSnapshot.getFileName(file,
+                contentHash != null ? contentHash : TermSnapshot.hashContent(file), rdfFormat,
+                LABEL_PROPERTIES, COMMENT_PROPERTIES));
+
+        Model snapshotModel = null;
+        if (Files.exists(snapshot)) {
+            try {
+                log.trace("Loading snapshot: {} for input file: {}", snapshot, file);
+                snapshotModel = TermSnapshot.read(snapshot);
+            } catch (final IOException e) {
+                log.warn("Could not read snapshot, parsing the input file instead: {}",
+                        snapshot, e);
+            }
+        }
+        if (snapshotModel == null) {
+            snapshotModel = new LinkedHashModel();
+            parseFiltered(file, rdfFormat, target -> TermSnapshot.filter(LABEL_PROPERTIES,
+                    COMMENT_PROPERTIES, target), snapshotModel);
+            try {
+                TermSnapshot.write(snapshotModel, snapshot);
+            } catch (final IOException e) {
+                log.warn("Could not write snapshot: {}", snapshot, e);
+            }
+        }
+        return new RDF4JSchemaGeneratorCore(snapshotModel);
+    }
+
+    private RDF4JSchemaGeneratorCore(final Model model) {
+        this.model = model;
+        detectPrefix();
+    }
+
+    private static Path getInputFile(final String filename) throws FileNotFoundException {
         final Path file = Paths.get(filename);
         if (!Files.exists(file)) {
             throw new FileNotFoundException(filename);
         }
+        return file;
+    }
 
-        final RDFFormat rdfFormat = Optional.ofNullable(format).orElseGet(() -> {
-            final RDFFormat result = Rio.getParserFormatForFileName(filename).orElse(null);
+    private static RDFFormat getInputFormat(final String filename, final RDFFormat format) {
+        return Optional.ofNullable(format).orElseGet(() -> {
+            final RDFFormat result = Compression.getParserFormatForFileName(filename)
+                    .orElse(null);
             log.trace("detected input format from filename {}: {}", filename, result);
             return result;
         });
+    }
 
-        try (final InputStream inputStream = Files.newInputStream(file)) {
+    /**
+     * Parse the whole of a file. Only the filtered parsers use more than one
+     * thread, as the chunks for a whole model would add to the memory needed
+     * for the model itself.
+     */
+    private static Model parseModel(final Path file, final RDFFormat format)
+            throws IOException, RDFParseException {
+        try (final InputStream inputStream = Compression.open(file)) {
             log.trace("Loading input file: {}", file);
-            final ParserConfig settings = new ParserConfig()
-                    .set(XMLParserSettings.DISALLOW_DOCTYPE_DECL, false);
-            model = Rio.parse(inputStream, "", rdfFormat, settings,
+            return Rio.parse(inputStream, "", format, PARSER_CONFIG,
                     SimpleValueFactory.getInstance(), new ParseErrorLogger());
         }
+    }
 
-        // import
+    /**
+     * Parse a file, only keeping the statements that are accepted by the
+     * filters from the given factory.
+     */
+    private static void parseFiltered(final Path file, final RDFFormat format,
+            final Function<Model, RDFHandler> filters, final Model target)
+            throws IOException, RDFParseException {
+        if (isParallel(file, format)) {
+            // Each chunk keeps a superset of the statements, which are
+            // filtered again in order so the result is the same as a single
+            // filter would keep
+            ParallelLineParser.parse(file, format, PARSER_THREADS, getChunkSize(file), filters,
+                    filters.apply(target));
+        } else {
+            parse(file, format, filters.apply(target));
+        }
+    }
+
+    /**
+     * Large line based files are parsed on more than one thread, unless they
+     * are compressed, as compressed files cannot be split.
+     */
+    private static boolean isParallel(final Path file, final RDFFormat format)
+            throws IOException {
+        return PARSER_THREADS > 1 && ParallelLineParser.isSupported(format)
+                && Files.size(file) >= 2 * ParallelLineParser.MIN_CHUNK_SIZE
+                && !Compression.isCompressed(file);
+    }
+
+    private static long getChunkSize(final Path file) throws IOException {
+        // Use a few chunks for each thread so that threads which finish early
+        // can help with the rest
+        return Math.max(ParallelLineParser.MIN_CHUNK_SIZE,
+                Files.size(file) / (PARSER_THREADS * 4));
+    }
+
+    private static void parse(final Path file, final RDFFormat format, final RDFHandler handler)
+            throws IOException, RDFParseException, RDFHandlerException {
+        try (final InputStream inputStream = Compression.open(file)) {
+            final RDFParser parser = Rio.createParser(format, SimpleValueFactory.getInstance());
+            parser.setParserConfig(PARSER_CONFIG);
+            parser.setParseErrorListener(new ParseErrorLogger());
+            parser.setRDFHandler(handler);
+            parser.parse(inputStream, "");
+        }
+    }
+
+    private void detectPrefix() {
         final Set<Resource> owlOntologies = model.filter(null, RDF.TYPE, OWL.ONTOLOGY).subjects();
         if (!owlOntologies.isEmpty()) {
             setPrefix(owlOntologies.iterator().next().stringValue());
@@ -178,32 +456,18 @@ public class RDF4JSchemaGeneratorCore {
             log.debug("prefix: {}", prefix);
         }
 
-        final Pattern pattern = Pattern.compile(Pattern.quote(getPrefix()) + "(.+)");
-        final ConcurrentMap<String, IRI> splitUris = new ConcurrentHashMap<>();
-        for (final Resource nextSubject : model.subjects()) {
-            if (nextSubject instanceof IRI) {
-                final Matcher matcher = pattern.matcher(nextSubject.stringValue());
-                if (matcher.find()) {
-                    final String k = matcher.group(1);
-                    final IRI putIfAbsent = splitUris.putIfAbsent(k, (IRI) nextSubject);
-                    if (putIfAbsent != null) {
-                        log.warn("Conflicting keys found: uri={} key={} existing={}",
-                                nextSubject.stringValue(), k, putIfAbsent);
-                    }
-                }
-            }
-        }
-
-        final IRI pfx = SimpleValueFactory.getInstance().createIRI(prefix);
-        final Literal oTitle = getFirstExistingObjectLiteral(model, pfx, getPreferredLanguage(),
-                LABEL_PROPERTIES);
-        final Literal oDescr = getFirstExistingObjectLiteral(model, pfx, getPreferredLanguage(),
-                COMMENT_PROPERTIES);
-        final Set<Value> oSeeAlso = model.filter(pfx, RDFS.SEEALSO, null).objects();
+        final SchemaTermIndex index = getTermIndex();
+        final SchemaTerm prefixTerm = index.getPrefixTerm();
+        final Literal oTitle = prefixTerm != null ? prefixTerm.getLabel(getPreferredLanguage())
+                : null;
+        final Literal oDescr = prefixTerm != null ? prefixTerm.getComment(getPreferredLanguage())
+                : null;
+        final Set<Value> oSeeAlso = index.getSeeAlso();
 
-        final List<String> keys = new ArrayList<>(splitUris.keySet());
-        Collections.sort(keys, String.CASE_INSENSITIVE_ORDER);
+        final List<SchemaTerm> terms = index.getTerms();
 
+        // Field names only need to be unique within each generated class
+        final Set<String> createdFields = new HashSet<>();
         final List<SchemaRecord> stringConstants = new ArrayList<>();
 
         // string constant values
@@ -211,19 +475,12 @@ public class RDF4JSchemaGeneratorCore {
                 || (StringUtils.isNotBlank(stringPropertySuffix))) {
             // add the possibility to add a string property with the namespace
             // for usage in
-            for (final String key : keys) {
-                final IRI nextIRI = splitUris.get(key);
-                final Literal comment = getFirstExistingObjectLiteral(model, nextIRI,
-                        getPreferredLanguage(), COMMENT_PROPERTIES);
-                final Literal label = getFirstExistingObjectLiteral(model, nextIRI,
-                        getPreferredLanguage(), LABEL_PROPERTIES);
-
-                final String nextKey = cleanKey(String.format("%s%s%s",
-                        StringUtils.defaultString(getStringPropertyPrefix()),
-                        doCaseFormatting(key, getStringConstantCase()),
-                        StringUtils.defaultString(getStringPropertySuffix())));
-                checkField(className, nextKey);
-                stringConstants.add(new SchemaRecordImpl(nextIRI, nextKey, key, label, comment));
+            stringNamer = getNamer(stringNamer, getStringPropertyPrefix(),
+                    getStringConstantCase(), getStringPropertySuffix());
+            for (final SchemaTerm term : terms) {
+                final String nextKey = stringNamer.getName(term.getKey());
+                checkField(className, nextKey, createdFields);
+                stringConstants.add(new SchemaRecordImpl(term, nextKey, getPreferredLanguage()));
             }
         }
 
@@ -235,75 +492,155 @@ public class RDF4JSchemaGeneratorCore {
                 || (StringUtils.isNotBlank(localNameStringPropertySuffix))) {
             // add the possibility to add a string property with the namespace
             // for usage in
-            for (final String key : keys) {
-                final IRI nextIRI = splitUris.get(key);
-                final Literal comment = getFirstExistingObjectLiteral(model, nextIRI,
-                        getPreferredLanguage(), COMMENT_PROPERTIES);
-                final Literal label = getFirstExistingObjectLiteral(model, nextIRI,
-                        getPreferredLanguage(), LABEL_PROPERTIES);
+            localNameStringNamer = getNamer(localNameStringNamer,
+                    getLocalNameStringPropertyPrefix(), getLocalNameStringConstantCase(),
+                    getLocalNameStringPropertySuffix());
+            for (final SchemaTerm term : terms) {
                 final String localNameKey;
                 try {
-                    localNameKey = nextIRI.getLocalName();
+                    localNameKey = term.getIRI().getLocalName();
                 } catch (final Exception e) {
-                    log.error("Could not get localName for: {}", key);
+                    log.error("Could not get localName for: {}", term.getKey());
                     continue;
                 }
 
-                final String nextKey = cleanKey(String.format("%s%s%s",
-                        StringUtils.defaultString(getLocalNameStringPropertyPrefix()),
-                        doCaseFormatting(localNameKey, getLocalNameStringConstantCase()),
-                        StringUtils.defaultString(getLocalNameStringPropertySuffix())));
-                checkField(className, nextKey);
+                final String nextKey = localNameStringNamer.getName(localNameKey);
+                checkField(className, nextKey, createdFields);
                 localNameStringConstants
-                        .add(new SchemaRecordImpl(nextIRI, nextKey, key, label, comment));
+                        .add(new SchemaRecordImpl(term, nextKey, getPreferredLanguage()));
             }
         }
 
         final List<SchemaRecord> iriConstants = new ArrayList<>();
 
         // and now the resources
-        for (final String key : keys) {
-            final IRI nextIRI = splitUris.get(key);
-            final Literal comment = getFirstExistingObjectLiteral(model, nextIRI,
-                    getPreferredLanguage(), COMMENT_PROPERTIES);
-            final Literal label = getFirstExistingObjectLiteral(model, nextIRI,
-                    getPreferredLanguage(), LABEL_PROPERTIES);
+        final ConstantNamer namer = getIriNamer();
+        for (final SchemaTerm term : terms) {
+            final String nextKey = namer.getName(term.getKey());
+            checkField(className, nextKey, createdFields);
+            iriConstants.add(new SchemaRecordImpl(term, nextKey, getPreferredLanguage()));
+        }
+
+        final LookupSwitch ordinalLookup;
+        if (isTermOrdinals()) {
+            checkField(className, "TERM_COUNT", createdFields);
+            // The ordinals follow the sorted order of the terms, so they only
+            // change when terms are added or removed
+            final Map<String, String> ordinalCases = new LinkedHashMap<>();
+            for (int i = 0; i < iriConstants.size(); i++) {
+                ordinalCases.put(iriConstants.get(i).getIRI().stringValue(), Integer.toString(i));
+            }
+            ordinalLookup = LookupSwitch.build(ordinalCases);
+        } else {
+            ordinalLookup = null;
+        }
 
-            final String nextKey = cleanKey(doCaseFormatting(key, getConstantCase()));
-            checkField(className, nextKey);
-            iriConstants.add(new SchemaRecordImpl(nextIRI, nextKey, key, label, comment));
+        final List<String> seeAlsoUrls = new ArrayList<>(oSeeAlso.size());
+        for (final Value nextSeeAlso : oSeeAlso) {
+            seeAlsoUrls.add(nextSeeAlso.toString());
+        }
+
+        final List<ConstantGroup> constantGroups = getConstantGroups(className, terms,
+                stringConstants, localNameStringConstants, iriConstants);
+        final LookupSwitch iriLookup;
+        final LookupSwitch localNameLookup;
+        if (isLookupMethods()) {
+            final Map<String, String> iriCases = new LinkedHashMap<>();
+            final Map<String, String> localNameCases = new LinkedHashMap<>();
+            if (constantGroups != null) {
+                for (final ConstantGroup nextGroup : constantGroups) {
+                    addLookupCases(nextGroup.getName() + ".", nextGroup.getIriConstants(),
+                            iriCases, localNameCases);
+                }
+            } else {
+                addLookupCases("", iriConstants, iriCases, localNameCases);
+            }
+            iriLookup = LookupSwitch.build(iriCases);
+            localNameLookup = LookupSwitch.build(localNameCases);
+        } else {
+            iriLookup = null;
+            localNameLookup = null;
+        }
+
+        if (isDirectEmitter()) {
+            try {
+                final JavaSourceEmitter emitter = new JavaSourceEmitter(className, prefix, name,
+                        getIndent()).setPackageName(packageName)
+                                .setTitle(oTitle != null ? oTitle.toString() : null)
+                                .setDescription(oDescr != null ? oDescr.stringValue() : null)
+                                .setSeeAlsoUrls(seeAlsoUrls).setLazyIris(isLazyIris())
+                                .setCompactIris(isCompactIris())
+                                .setLookups(iriLookup, localNameLookup)
+                                .setOrdinals(ordinalLookup, iriConstants.size())
+                                .setMetaInfServicesInterface(getMetaInfServicesInterface());
+                if (constantGroups != null) {
+                    emitter.setConstantGroups(constantGroups);
+                } else {
+                    emitter.setStringConstants(stringConstants)
+                            .setLocalNameStringConstants(localNameStringConstants)
+                            .setIriConstants(iriConstants);
+                }
+                emitter.emit(out);
+            } finally {
+                out.flush();
+            }
+            return;
         }
 
         try {
             // Generate using Freemarker
-            final Configuration cfg = new Configuration(Configuration.VERSION_2_3_25);
-
-            cfg.setClassForTemplateLoading(RDF4JSchemaGeneratorCore.class, "/");
-            cfg.setDefaultEncoding("UTF-8");
+            final Template template = SchemaTemplates.getTemplate(getTemplatePath());
 
-            final Template template = cfg.getTemplate(getTemplatePath());
+            // Javadoc comments are the same for every constant created for a
+            // term, so they are only rendered once
+            final Map<IRI, String> javadocs = new HashMap<>();
 
             final Map<String, Object> templateData = new HashMap<>();
             templateData.put("indent", getIndent());
             templateData.put("packageName", packageName);
-            templateData.put("title", oTitle);
+            templateData.put("title", oTitle != null ? oTitle.toString() : null);
+            // The original objects are kept for custom templates, and the
+            // strings used by the default template are precomputed
             templateData.put("description", oDescr);
+            templateData.put("descriptionString", oDescr != null ? oDescr.stringValue() : null);
             templateData.put("seeAlsoUrls", oSeeAlso);
+            templateData.put("seeAlsoUrlStrings", seeAlsoUrls);
             templateData.put("className", className);
             templateData.put("prefix", prefix);
             templateData.put("name", name);
-            templateData.put("stringConstants", stringConstants);
-            templateData.put("localNameStringConstants", localNameStringConstants);
-            templateData.put("iriConstants", iriConstants);
-
-            final BeansWrapperBuilder builder = new BeansWrapperBuilder(
-                    Configuration.VERSION_2_3_25);
-            final BeansWrapper wrapper = builder.build();
-            final TemplateHashModel staticModels = wrapper.getStaticModels();
-            templateData.put("StringUtils",
-                    staticModels.get("org.apache.commons.lang3.StringUtils"));
-            templateData.put("WordUtils",
-                    staticModels.get("org.apache.commons.lang3.text.WordUtils"));
+            templateData.put("lazyIris", isLazyIris());
+            templateData.put("compactIris", isCompactIris());
+            templateData.put("iriLookup", iriLookup);
+            templateData.put("localNameLookup", localNameLookup);
+            templateData.put("ordinalLookup", ordinalLookup);
+            templateData.put("termCount", iriConstants.size());
+            templateData.put("metaInfServicesInterface", getMetaInfServicesInterface());
+            if (constantGroups != null) {
+                // Constants in the holder classes are indented one more level
+                final String groupIndent = getIndent(2);
+                final List<Map<String, Object>> groups = new ArrayList<>(constantGroups.size());
+                for (final ConstantGroup nextGroup : constantGroups) {
+                    final Map<String, Object> group = new HashMap<>();
+                    group.put("name", nextGroup.getName());
+                    group.put("stringConstants", toTemplateModels(
+                            nextGroup.getStringConstants(), javadocs, groupIndent));
+                    group.put("localNameStringConstants", toTemplateModels(
+                            nextGroup.getLocalNameStringConstants(), javadocs, groupIndent));
+                    group.put("iriConstants",
+                            toTemplateModels(nextGroup.getIriConstants(), javadocs, groupIndent));
+                    groups.add(group);
+                }
+                templateData.put("constantGroups", groups);
+            } else {
+                templateData.put("stringConstants",
+                        toTemplateModels(stringConstants, javadocs, getIndent()));
+                templateData.put("localNameStringConstants",
+                        toTemplateModels(localNameStringConstants, javadocs, getIndent()));
+                templateData.put("iriConstants",
+                        toTemplateModels(iriConstants, javadocs, getIndent()));
+            }
+            templateData.put("StringUtils", SchemaTemplates.getStringUtils());
+            templateData.put("WordUtils", SchemaTemplates.getWordUtils());
 
             template.process(templateData, out);
         } catch (final TemplateException e) {
@@ -313,7 +650,92 @@ public class RDF4JSchemaGeneratorCore {
         }
     }
 
-    private void checkField(String className, String fieldName) throws GenerationException {
+    private static List<TemplateModel> toTemplateModels(List<SchemaRecord> records,
+            Map<IRI, String> javadocs, String javadocIndent) {
+        if (records == null) {
+            return null;
+        }
+        final List<TemplateModel> result = new ArrayList<>(records.size());
+        for (final SchemaRecord record : records) {
+            final String javadoc = javadocs.computeIfAbsent(record.getIRI(),
+                    iri -> SchemaRecordJavadoc.render(record, javadocIndent));
+            result.add(new SchemaRecordTemplateModel(record, javadoc));
+        }
+        return result;
+    }
+
+    private void addLookupCases(String group, List<SchemaRecord> iris,
+            Map<String, String> iriCases, Map<String, String> localNameCases) {
+        for (final SchemaRecord nextRecord : iris) {
+            final String constant = group + nextRecord.getFormattedRecordKey()
+                    + (isLazyIris() ? "()" : "");
+            iriCases.put(nextRecord.getIRI().stringValue(), constant);
+            localNameCases.put(nextRecord.getRawRecordKey(), constant);
+        }
+    }
+
+    /**
+     * Split the constants into groups for nested holder classes, if a constant
+     * group size is set.
+     *
+     * @return The groups, in order of their names, or null if the constants
+     *         are all generated in the class itself.
+     */
+    private List<ConstantGroup> getConstantGroups(String className, List<SchemaTerm> terms,
+            List<SchemaRecord> stringConstants, List<SchemaRecord> localNameStringConstants,
+            List<SchemaRecord> iriConstants) {
+        if (getConstantGroupSize() <= 0 || terms.isEmpty()) {
+            return null;
+        }
+        final Map<String, List<SchemaTerm>> groupTerms = ConstantGroup.groupTerms(terms,
+                getConstantGroupKeyLength(),
+                Arrays.asList(className, "NAMESPACE", "NAMESPACE_IRI", "PREFIX"));
+        for (final Entry<String, List<SchemaTerm>> nextGroup : groupTerms.entrySet()) {
+            if (nextGroup.getValue().size() > getConstantGroupSize()) {
+                log.warn("Constant group {}.{} has {} terms, more than the constant group size {}:"
+                        + " consider a longer constant group key length", className,
+                        nextGroup.getKey(), nextGroup.getValue().size(), getConstantGroupSize());
+            }
+        }
+        final List<String> names = new ArrayList<>(groupTerms.keySet());
+        final Map<IRI, Integer> groupIndexes = new HashMap<>();
+        int nextIndex = 0;
+        for (final List<SchemaTerm> nextTerms : groupTerms.values()) {
+            for (final SchemaTerm nextTerm : nextTerms) {
+                groupIndexes.put(nextTerm.getIRI(), nextIndex);
+            }
+            nextIndex++;
+        }
+        final List<List<SchemaRecord>> strings = splitRecords(stringConstants, groupIndexes,
+                names.size());
+        final List<List<SchemaRecord>> localNameStrings = splitRecords(localNameStringConstants,
+                groupIndexes, names.size());
+        final List<List<SchemaRecord>> iris = splitRecords(iriConstants, groupIndexes,
+                names.size());
+        final List<ConstantGroup> result = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            result.add(new ConstantGroup(names.get(i),
+                    strings.get(i).isEmpty() ? null : strings.get(i),
+                    localNameStrings.get(i).isEmpty() ? null : localNameStrings.get(i),
+                    iris.get(i)));
+        }
+        return result;
+    }
+
+    private static List<List<SchemaRecord>> splitRecords(List<SchemaRecord> records,
+            Map<IRI, Integer> groupIndexes, int groups) {
+        final List<List<SchemaRecord>> result = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (final SchemaRecord nextRecord : records) {
+            result.get(groupIndexes.get(nextRecord.getIRI())).add(nextRecord);
+        }
+        return result;
+    }
+
+    private void checkField(String className, String fieldName, Set<String> createdFields)
+            throws GenerationException {
         log.debug("checkField: {} {}", className, fieldName);
         if (!createdFields.add(fieldName)) {
             throw new GenerationException(
@@ -321,6 +743,101 @@ public class RDF4JSchemaGeneratorCore {
         }
     }
 
+    /**
+     * Generate a class containing the same labels and comments as the
+     * resource bundles from {@link #generateResourceBundle(String)}, with
+     * {@code label(IRI, Locale)} and {@code comment(IRI, Locale)} methods. The
+     * texts are found using {@code switch} statements on the term ordinals, so
+     * no properties files are parsed, and the texts for each language are in
+     * a nested class that is only loaded when it is used.
+     *
+     * @param className
+     *            The name of the schema class.
+     * @param outputDir
+     *            The directory to write the class to, which is named using
+     *            {@link #COMPILED_BUNDLE_SUFFIX}.
+     * @throws GenerationException
+     *             If the class could not be generated.
+     * @throws IOException
+     *             If the class could not be written.
+     */
+    public void generateCompiledBundle(String className, Path outputDir)
+            throws GenerationException, IOException {
+        final Path output = outputDir.resolve(className + COMPILED_BUNDLE_SUFFIX + ".java");
+        try (PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            generateCompiledBundle(className, out);
+        }
+    }
+
+    /**
+     * Generate the class from {@link #generateCompiledBundle(String, Path)}.
+     *
+     * @param className
+     *            The name of the schema class.
+     * @param out
+     *            The writer to write the class to.
+     * @throws GenerationException
+     *             If the class could not be generated.
+     * @throws IOException
+     *             If the class could not be written.
+     */
+    public void generateCompiledBundle(String className, PrintWriter out)
+            throws GenerationException, IOException {
+        final Map<String, Properties> bundles = generateResourceBundle(className);
+        final List<SchemaTerm> terms = getTermIndex().getTerms();
+        final ConstantNamer namer = getIriNamer();
+        final Map<String, Integer> ordinals = new HashMap<>();
+        final Map<String, String> ordinalCases = new LinkedHashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            ordinals.put(namer.getName(terms.get(i).getKey()), i);
+            ordinalCases.put(terms.get(i).getIRI().stringValue(), Integer.toString(i));
+        }
+
+        final LabelTable defaultTable = new LabelTable("Default", "", terms.size());
+        // Language tags are matched without case, in the same way as Locale
+        final Map<String, LabelTable> languageTables = new TreeMap<>();
+        for (final Entry<String, Properties> nextBundle : bundles.entrySet()) {
+            final LabelTable table;
+            if (nextBundle.getKey().equals(className)) {
+                table = defaultTable;
+            } else {
+                final String language = nextBundle.getKey().substring(className.length() + 1)
+                        .toLowerCase(Locale.ROOT);
+                table = languageTables.computeIfAbsent(language,
+                        l -> new LabelTable(LabelTable.getClassName(l), l, terms.size()));
+            }
+            for (final String nextKey : nextBundle.getValue().stringPropertyNames()) {
+                final String value = nextBundle.getValue().getProperty(nextKey);
+                if (nextKey.endsWith(".label")) {
+                    table.addLabel(ordinals.get(nextKey.substring(0, nextKey.length() - 6)),
+                            value);
+                } else if (nextKey.endsWith(".comment")) {
+                    table.addComment(ordinals.get(nextKey.substring(0, nextKey.length() - 8)),
+                            value);
+                }
+            }
+        }
+
+        try {
+            final Template template = SchemaTemplates.getTemplate(COMPILED_BUNDLE_TEMPLATE);
+            final Map<String, Object> templateData = new HashMap<>();
+            templateData.put("indent", getIndent());
+            templateData.put("packageName", getPackageName());
+            templateData.put("schemaClassName", className);
+            templateData.put("className", className + COMPILED_BUNDLE_SUFFIX);
+            templateData.put("bucketSize", LookupSwitch.MAX_BUCKET_SIZE);
+            templateData.put("ordinalLookup", LookupSwitch.build(ordinalCases));
+            templateData.put("defaultTable", defaultTable);
+            templateData.put("languageTables", new ArrayList<>(languageTables.values()));
+            template.process(templateData, out);
+        } catch (final TemplateException e) {
+            throw new GenerationException(e);
+        } finally {
+            out.flush();
+        }
+    }
+
     public void generateResourceBundle(String baseName, Path bundleDir)
             throws GenerationException, IOException {
         final Map<String, Properties> bundles = generateResourceBundle(baseName);
@@ -344,54 +861,17 @@ public class RDF4JSchemaGeneratorCore {
 
     public Map<String, Properties> generateResourceBundle(String baseName)
             throws GenerationException {
-        final Pattern pattern = Pattern.compile(Pattern.quote(getPrefix()) + "(.+)");
-        final Map<String, IRI> splitUris = new HashMap<>();
-        for (final Resource nextSubject : model.subjects()) {
-            if (nextSubject instanceof IRI) {
-                final Matcher matcher = pattern.matcher(nextSubject.stringValue());
-                if (matcher.find()) {
-                    final String k = matcher.group(1);
-                    splitUris.put(k, (IRI) nextSubject);
-                }
-            }
-        }
-
-        final List<String> keys = new ArrayList<>();
-        keys.addAll(splitUris.keySet());
-        Collections.sort(keys, String.CASE_INSENSITIVE_ORDER);
-
         final Map<String, Properties> bundles = new HashMap<>();
         // Default we have for sure
         bundles.put(baseName, new Properties());
-        for (final String key : keys) {
-            final IRI resource = splitUris.get(key);
-            final String nextKey = cleanKey(doCaseFormatting(key, getConstantCase()));
-
-            for (final IRI p : LABEL_PROPERTIES) {
-                for (final Value v : model.filter(resource, p, null).objects()) {
-                    if (v instanceof Literal) {
-                        final Literal lit = (Literal) v;
-                        final Optional<String> lang = lit.getLanguage();
-                        final String nextPropertySuffix = ".label";
-
-                        final Properties bundle = getBundleForLangTag(baseName, bundles, lang);
-                        addPropertyToBundle(nextKey, lit, nextPropertySuffix, bundle);
-                    }
-                }
-            }
-
-            for (final IRI p : COMMENT_PROPERTIES) {
-                for (final Value v : model.filter(resource, p, null).objects()) {
-                    if (v instanceof Literal) {
-                        final Literal lit = (Literal) v;
-                        final Optional<String> lang = lit.getLanguage();
-                        final String nextPropertySuffix = ".comment";
-
-                        final Properties bundle = getBundleForLangTag(baseName, bundles, lang);
-                        addPropertyToBundle(nextKey, lit, nextPropertySuffix, bundle);
-                    }
-                }
-            }
+        final ConstantNamer namer = getIriNamer();
+        for (final SchemaTerm term : getTermIndex().getTerms()) {
+            final String nextKey = namer.getName(term.getKey());
+
+            term.forEachLabel(lit -> addPropertyToBundle(nextKey, lit, ".label",
+                    getBundleForLangTag(baseName, bundles, lit.getLanguage())));
+            term.forEachComment(lit -> addPropertyToBundle(nextKey, lit, ".comment",
+                    getBundleForLangTag(baseName, bundles, lit.getLanguage())));
         }
 
         if (getPreferredLanguage() != null) {
@@ -436,69 +916,48 @@ public class RDF4JSchemaGeneratorCore {
         return bundle;
     }
 
-    private String getIndent(int level) {
-        return StringUtils.repeat(getIndent(), level);
-    }
-
-    private Literal getFirstExistingObjectLiteral(Model model, Resource subject, String lang,
-            IRI... predicates) {
-        for (final IRI predicate : predicates) {
-            final Literal literal = getOptionalObjectLiteral(model, subject, predicate, lang);
-            if (literal != null) {
-                return literal;
-            }
+    /**
+     * Get the index of the terms under the current prefix, building it with a
+     * single pass over the model if the prefix has changed since it was last
+     * built.
+     *
+     * @return The index of terms for the current prefix.
+     * @throws GenerationException
+     *             If the prefix was not set and could not be detected.
+     */
+    private SchemaTermIndex getTermIndex() throws GenerationException {
+        if (StringUtils.isBlank(getPrefix())) {
+            throw new GenerationException("could not detect prefix, please set explicitly");
         }
-        return null;
-    }
-
-    private Literal getOptionalObjectLiteral(Model model, Resource subject, IRI predicate,
-            String lang) {
-        final Set<Value> objects = model.filter(subject, predicate, null).objects();
-
-        Literal result = null;
-
-        for (final Value nextValue : objects) {
-            if (nextValue instanceof Literal) {
-                final Literal literal = (Literal) nextValue;
-                final Optional<String> nextLang = literal.getLanguage();
-                if (result == null
-                        || (lang != null && nextLang.isPresent() && lang.equals(nextLang.get()))) {
-                    result = literal;
-                }
-            }
+        if (termIndex == null || !termIndex.getPrefix().equals(getPrefix())) {
+            termIndex = termIndexes.get(getPrefix());
         }
-        return result;
+        if (termIndex == null) {
+            termIndex = SchemaTermIndex.build(model, getPrefix(), LABEL_PROPERTIES,
+                    COMMENT_PROPERTIES);
+        }
+        return termIndex;
     }
 
-    private String cleanKey(String s) {
-        s = s.replaceAll("#", "");
-        s = s.replaceAll("\\.", "_");
-        s = s.replaceAll("-", "_");
-        s = s.replaceAll("/", "_");
-
-        if (reservedWords.contains(s)) {
-            s = "_" + s;
-        }
+    private String getIndent(int level) {
+        return StringUtils.repeat(getIndent(), level);
+    }
 
-        return s;
+    private ConstantNamer getIriNamer() {
+        iriNamer = getNamer(iriNamer, null, getConstantCase(), null);
+        return iriNamer;
     }
 
-    private String doCaseFormatting(String key, CaseFormat targetFormat) {
-        if (targetFormat == null) {
-            return key;
-        } else {
-            CaseFormat originalFormat = CaseFormat.LOWER_CAMEL;
-            if (Character.isUpperCase(key.charAt(0)) && key.contains("_")) {
-                originalFormat = CaseFormat.UPPER_UNDERSCORE;
-            } else if (Character.isUpperCase(key.charAt(0))) {
-                originalFormat = CaseFormat.UPPER_CAMEL;
-            } else if (key.contains("_")) {
-                originalFormat = CaseFormat.LOWER_UNDERSCORE;
-            } else if (key.contains("-")) {
-                originalFormat = CaseFormat.LOWER_HYPHEN;
-            }
-            return originalFormat.to(targetFormat, key);
+    /**
+     * Reuse the given namer if it matches the current settings, so that names
+     * are only created once for each key.
+     */
+    private static ConstantNamer getNamer(ConstantNamer namer, String prefix,
+            CaseFormat caseFormat, String suffix) {
+        if (namer != null && namer.isConfiguredFor(prefix, caseFormat, suffix)) {
+            return namer;
         }
+        return new ConstantNamer(prefix, caseFormat, suffix);
     }
 
     public String getName() {
@@ -525,6 +984,30 @@ public class RDF4JSchemaGeneratorCore {
         this.prefix = prefix;
     }
 
+    /**
+     * Index the terms for several namespaces in the model using a single pass,
+     * so that a schema can then be generated for each of them by calling
+     * {@link #setPrefix(String)}, {@link #setName(String)} and
+     * {@link #generate(Path)} in turn, without scanning the model again.
+     * <p>
+     * Each term is assigned to the longest of the prefixes that its IRI starts
+     * with, so the schema for a namespace does not repeat the terms of a
+     * namespace nested inside it. Prefixes that are not in this collection are
+     * indexed separately as before.
+     * <p>
+     * The generator must have been created with a constructor that keeps the
+     * whole model, as the streaming constructors only keep the statements
+     * under a single prefix.
+     *
+     * @param prefixes
+     *            The namespace prefixes to generate schemas for.
+     */
+    public void setPrefixes(Collection<String> prefixes) {
+        this.termIndexes = SchemaTermIndex.buildAll(model, prefixes, LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+        this.termIndex = null;
+    }
+
     public void setIndent(String indent) {
         this.indent = indent;
     }
@@ -605,6 +1088,133 @@ public class RDF4JSchemaGeneratorCore {
         this.templatePath = templatePath;
     }
 
+    public int getConstantGroupSize() {
+        return constantGroupSize;
+    }
+
+    /**
+     * Generate the constants into nested holder classes, for example
+     * {@code SCHEMA.P.PERSON} instead of {@code SCHEMA.PERSON}. This avoids
+     * the limits on the size of a single class for very large schemas, and
+     * only creates the IRIs in a holder class when one of them is used.
+     * <p>
+     * Terms are grouped by the first {@link #setConstantGroupKeyLength(int)}
+     * characters of their keys, so the holder class for a term does not
+     * change as the schema grows or shrinks. The size of a holder class is not
+     * limited, and a warning is logged for each holder class with more terms
+     * than the given size. A holder class with more than a few thousand terms
+     * may not compile, so set a longer key length for schemas with many terms
+     * that start the same way.
+     *
+     * @param constantGroupSize
+     *            The number of terms in a holder class that is warned about,
+     *            or 0 to generate every constant in the class itself.
+     */
+    public void setConstantGroupSize(int constantGroupSize) {
+        this.constantGroupSize = constantGroupSize;
+    }
+
+    public int getConstantGroupKeyLength() {
+        return constantGroupKeyLength;
+    }
+
+    /**
+     * @param constantGroupKeyLength
+     *            The number of characters from the start of each key that
+     *            name its holder class when {@link #setConstantGroupSize(int)}
+     *            is set. Defaults to 1.
+     */
+    public void setConstantGroupKeyLength(int constantGroupKeyLength) {
+        this.constantGroupKeyLength = constantGroupKeyLength;
+    }
+
+    public boolean isLazyIris() {
+        return lazyIris;
+    }
+
+    /**
+     * Generate a static method for each IRI constant, for example
+     * {@code FOAF.PERSON()}, which creates the IRI the first time it is
+     * called, instead of a field that is created when the class is
+     * initialised. The string constants and {@code NAMESPACE_IRI} are not
+     * changed.
+     *
+     * @param lazyIris
+     *            True to create each IRI when it is first used.
+     */
+    public void setLazyIris(boolean lazyIris) {
+        this.lazyIris = lazyIris;
+    }
+
+    public boolean isCompactIris() {
+        return compactIris;
+    }
+
+    /**
+     * Create the IRI constants using an {@link IRI} implementation that is
+     * generated inside the class, which keeps the namespace and local name
+     * separately, computes its hash code once, and checks for the same object
+     * first in {@code equals}. It is equal to, and has the same hash code as,
+     * any other {@link IRI} with the same string value.
+     *
+     * @param compactIris
+     *            True to generate an {@link IRI} implementation for the class.
+     */
+    public void setCompactIris(boolean compactIris) {
+        this.compactIris = compactIris;
+    }
+
+    public boolean isLookupMethods() {
+        return lookupMethods;
+    }
+
+    /**
+     * Generate {@code fromIRI(IRI)}, {@code fromString(String)} and
+     * {@code fromLocalName(String)} methods, which find the IRI constant for
+     * a term using {@code switch} statements on the strings that are created
+     * when the class is generated, so they do not build any maps when the
+     * class is loaded.
+     *
+     * @param lookupMethods
+     *            True to generate methods that find the constant for a term.
+     */
+    public void setLookupMethods(boolean lookupMethods) {
+        this.lookupMethods = lookupMethods;
+    }
+
+    public boolean isTermOrdinals() {
+        return termOrdinals;
+    }
+
+    /**
+     * Give each IRI constant an ordinal, which is its position in the sorted
+     * order of the terms, and generate {@code ordinal(IRI)} methods, along
+     * with {@code TermSet} and {@code TermMap<V>} classes that store terms
+     * and values in arrays indexed by the ordinals.
+     *
+     * @param termOrdinals
+     *            True to generate term ordinals and the classes that use them.
+     */
+    public void setTermOrdinals(boolean termOrdinals) {
+        this.termOrdinals = termOrdinals;
+    }
+
+    public boolean isDirectEmitter() {
+        return directEmitter;
+    }
+
+    /**
+     * Write the class directly, without a FreeMarker template, using the same
+     * layout as the default template. This is much faster for very large
+     * schemas. The template path is ignored while this is set.
+     *
+     * @param directEmitter
+     *            True to write the class without using a template.
+     */
+    public void setDirectEmitter(boolean directEmitter) {
+        this.directEmitter = directEmitter;
+    }
+
     public String getMetaInfServicesInterface() {
         return metaInfServicesInterface;
     }
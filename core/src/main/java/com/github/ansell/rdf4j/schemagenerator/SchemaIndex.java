@@ -0,0 +1,334 @@
+package com.github.ansell.rdf4j.schemagenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+
+import org.eclipse.rdf4j.model.IRI;
+
+import com.github.ansell.rdf4j.schemagenerator.internal.PrefixTrie;
+
+/**
+ * A registry of schemas that is read from the index resources written by the
+ * maven plugin next to its META-INF/services files. The index maps the
+ * namespace and prefix of each schema to the name of its class, so a schema
+ * class is only loaded, and its IRIs created, when it is first requested.
+ * <p>
+ * Unlike {@link SchemaRegistry}, which loads every schema class when it is
+ * created, creating this registry only reads the index resources. The
+ * registry can be shared by any number of threads, and lookups do not lock
+ * once a schema has been loaded.
+ *
+ * @param <T>
+ *            The type of the schemas, which is the interface that the
+ *            schemas were generated to implement.
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaIndex<T extends Schema> {
+
+    /**
+     * The folder for the index resources. The index for a service interface
+     * is in a resource named after the interface, in the same way as
+     * META-INF/services.
+     */
+    public static final String RESOURCE_FOLDER = "META-INF/schema-index/";
+
+    /**
+     * The namespace, prefix and class name of a schema in an index.
+     */
+    public static final class Entry {
+
+        private final String namespace;
+        private final String prefix;
+        private final String className;
+
+        /**
+         * @param namespace
+         *            The namespace of the schema.
+         * @param prefix
+         *            The prefix of the schema.
+         * @param className
+         *            The fully qualified name of the schema class.
+         */
+        public Entry(String namespace, String prefix, String className) {
+            this.namespace = Objects.requireNonNull(namespace, "Namespace cannot be null");
+            this.prefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+            this.className = Objects.requireNonNull(className, "Class name cannot be null");
+        }
+
+        /**
+         *
+         * @return The namespace of the schema.
+         */
+        public String getNamespace() {
+            return namespace;
+        }
+
+        /**
+         *
+         * @return The prefix of the schema.
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+
+        /**
+         *
+         * @return The fully qualified name of the schema class.
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry other = (Entry) obj;
+            return namespace.equals(other.namespace) && prefix.equals(other.prefix)
+                    && className.equals(other.className);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namespace, prefix, className);
+        }
+
+        @Override
+        public String toString() {
+            return namespace + '\t' + prefix + '\t' + className;
+        }
+    }
+
+    /**
+     * An entry in the registry, and the schema once it has been loaded.
+     */
+    private final class Holder {
+
+        private final Entry entry;
+        private volatile T schema;
+
+        Holder(Entry entry) {
+            this.entry = entry;
+        }
+
+        T get() {
+            T result = schema;
+            if (result == null) {
+                synchronized (this) {
+                    result = schema;
+                    if (result == null) {
+                        result = load(entry);
+                        schema = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private final Class<T> serviceClass;
+    private final ClassLoader classLoader;
+    private final Map<String, Holder> namespaces = new LinkedHashMap<>();
+    private final Map<String, Holder> prefixes = new LinkedHashMap<>();
+    private final PrefixTrie<Holder> resolver = new PrefixTrie<>();
+
+    private SchemaIndex(Class<T> serviceClass, ClassLoader classLoader, List<Entry> entries) {
+        this.serviceClass = serviceClass;
+        this.classLoader = classLoader;
+        for (final Entry nextEntry : entries) {
+            // The first entry for a namespace or prefix wins, in the same way
+            // as the first class on the classpath
+            final Holder holder = new Holder(nextEntry);
+            if (namespaces.putIfAbsent(nextEntry.getNamespace(), holder) == null) {
+                resolver.put(nextEntry.getNamespace(), holder);
+            }
+            prefixes.putIfAbsent(nextEntry.getPrefix(), holder);
+        }
+    }
+
+    /**
+     * Read the index resources for a service interface, using the context
+     * class loader of the current thread.
+     *
+     * @param serviceClass
+     *            The interface that the schemas implement.
+     * @return The registry.
+     * @throws UncheckedIOException
+     *             If an index resource could not be read.
+     */
+    public static <T extends Schema> SchemaIndex<T> load(Class<T> serviceClass) {
+        return load(serviceClass, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Read the index resources for a service interface.
+     *
+     * @param serviceClass
+     *            The interface that the schemas implement.
+     * @param classLoader
+     *            The class loader to find the index resources and the schema
+     *            classes with.
+     * @return The registry.
+     * @throws UncheckedIOException
+     *             If an index resource could not be read.
+     */
+    public static <T extends Schema> SchemaIndex<T> load(Class<T> serviceClass,
+            ClassLoader classLoader) {
+        final List<Entry> entries = new ArrayList<>();
+        try {
+            final Enumeration<URL> resources = classLoader
+                    .getResources(RESOURCE_FOLDER + serviceClass.getName());
+            while (resources.hasMoreElements()) {
+                try (final InputStream in = resources.nextElement().openStream()) {
+                    entries.addAll(read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read the schema index for "
+                    + serviceClass.getName(), e);
+        }
+        return new SchemaIndex<>(serviceClass, classLoader, entries);
+    }
+
+    /**
+     * Read the entries in an index resource, which has a line for each
+     * schema with its namespace, prefix and class name separated by tabs.
+     * Empty lines and lines starting with {@code #} are ignored.
+     *
+     * @param reader
+     *            The reader for the index.
+     * @return The entries, in the order they were read.
+     * @throws IOException
+     *             If the index could not be read, or a line is not valid.
+     */
+    public static List<Entry> read(Reader reader) throws IOException {
+        final List<Entry> result = new ArrayList<>();
+        final BufferedReader lines = new BufferedReader(reader);
+        String nextLine;
+        while ((nextLine = lines.readLine()) != null) {
+            if (nextLine.trim().isEmpty() || nextLine.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = nextLine.split("\t", -1);
+            if (fields.length != 3) {
+                throw new IOException("Invalid schema index line: " + nextLine);
+            }
+            result.add(new Entry(fields[0], fields[1], fields[2].trim()));
+        }
+        return result;
+    }
+
+    /**
+     * Write the entries for an index resource, in the format that is read by
+     * {@link #read(Reader)}.
+     *
+     * @param entries
+     *            The entries to write.
+     * @param writer
+     *            The writer for the index.
+     * @throws IOException
+     *             If the index could not be written.
+     */
+    public static void write(List<Entry> entries, Writer writer) throws IOException {
+        for (final Entry nextEntry : entries) {
+            writer.write(nextEntry.toString());
+            writer.write('\n');
+        }
+    }
+
+    /**
+     *
+     * @return The entries in this registry, without loading any schemas.
+     */
+    public List<Entry> getEntries() {
+        final List<Entry> result = new ArrayList<>(namespaces.size());
+        for (final Holder nextHolder : namespaces.values()) {
+            result.add(nextHolder.entry);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Find a schema using its namespace, loading it if it has not been loaded.
+     *
+     * @param namespace
+     *            The namespace of the schema.
+     * @return The schema, or an empty optional if there is no schema for the
+     *         namespace.
+     */
+    public Optional<T> get(IRI namespace) {
+        return get(namespaces.get(namespace.stringValue()));
+    }
+
+    /**
+     * Find a schema using its prefix, loading it if it has not been loaded.
+     *
+     * @param prefix
+     *            The prefix of the schema.
+     * @return The schema, or an empty optional if there is no schema for the
+     *         prefix.
+     */
+    public Optional<T> getByPrefix(String prefix) {
+        return get(prefixes.get(prefix));
+    }
+
+    /**
+     * Find the schema for a term, using the longest namespace that the IRI of
+     * the term starts with, and load it if it has not been loaded.
+     *
+     * @param term
+     *            The IRI of the term.
+     * @return The schema, or an empty optional if no namespace matches the
+     *         term.
+     */
+    public Optional<T> resolve(IRI term) {
+        return resolve(term.stringValue());
+    }
+
+    /**
+     * Find the schema for a term, using the longest namespace that the IRI of
+     * the term starts with, and load it if it has not been loaded.
+     *
+     * @param term
+     *            The IRI of the term, as a string.
+     * @return The schema, or an empty optional if no namespace matches the
+     *         term.
+     */
+    public Optional<T> resolve(String term) {
+        return get(resolver.getLongestPrefixValue(term));
+    }
+
+    private Optional<T> get(Holder holder) {
+        return holder != null ? Optional.of(holder.get()) : Optional.empty();
+    }
+
+    private T load(Entry entry) {
+        try {
+            final Class<?> schemaClass = Class.forName(entry.getClassName(), true, classLoader);
+            return serviceClass.cast(schemaClass.getConstructor().newInstance());
+        } catch (final ReflectiveOperationException | ClassCastException e) {
+            throw new ServiceConfigurationError(serviceClass.getName() + ": Schema "
+                    + entry.getClassName() + " could not be loaded", e);
+        }
+    }
+}
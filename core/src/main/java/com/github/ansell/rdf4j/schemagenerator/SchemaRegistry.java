@@ -1,15 +1,22 @@
 package com.github.ansell.rdf4j.schemagenerator;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Function;
 
 import org.eclipse.rdf4j.model.IRI;
 
 import com.github.ansell.abstractserviceloader.AbstractServiceLoader;
 import com.github.ansell.jdefaultdict.JDefaultDict;
+import com.github.ansell.rdf4j.schemagenerator.internal.PrefixTrie;
 
 /**
  * A META-INF/services based service registry for Schema's.
+ * <p>
+ * As well as finding schemas using their exact IRI, the registry can find the
+ * schema for any term using {@link #resolve(IRI)}, which matches the longest
+ * schema IRI that the term starts with.
  *
  * @author Peter Ansell p_ansell@yahoo.com
  */
@@ -17,6 +24,17 @@ public abstract class SchemaRegistry<T extends Schema> extends AbstractServiceLo
 
     private static final long serialVersionUID = -5649091002854294326L;
 
+    /**
+     * The schemas for each schema IRI, which is never modified after it is
+     * built, so it can be read by any number of threads without locking. It
+     * is cleared whenever the schemas change, and built again on the next
+     * call to {@link #resolve(String)}.
+     * <p>
+     * This field must not have an initialiser, as the constructor of
+     * {@link AbstractServiceLoader} adds schemas before it would run.
+     */
+    private transient volatile PrefixTrie<Collection<T>> resolver;
+
     public SchemaRegistry(Class<T> serviceClass, Function<T, IRI> keyLambda) {
         super(serviceClass, keyLambda);
     }
@@ -31,4 +49,76 @@ public abstract class SchemaRegistry<T extends Schema> extends AbstractServiceLo
         super(serviceClass, classLoader, keyLambda, services);
     }
 
+    @Override
+    public synchronized void add(T service) {
+        super.add(service);
+        resolver = null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        resolver = null;
+    }
+
+    @Override
+    public synchronized void remove(T service) {
+        super.remove(service);
+        resolver = null;
+    }
+
+    @Override
+    public synchronized void removeByKey(IRI key) {
+        super.removeByKey(key);
+        resolver = null;
+    }
+
+    /**
+     * Find the schemas for a term, using the longest schema IRI that the IRI
+     * of the term starts with.
+     *
+     * @param term
+     *            The IRI of the term.
+     * @return The schemas with the longest IRI that matches the term, or an
+     *         empty collection if no schemas match.
+     */
+    public Collection<T> resolve(IRI term) {
+        return resolve(term.stringValue());
+    }
+
+    /**
+     * Find the schemas for a term, using the longest schema IRI that the IRI
+     * of the term starts with. Lookups do not lock, and take time in
+     * proportion to the length of the IRI, however many schemas there are.
+     *
+     * @param term
+     *            The IRI of the term, as a string.
+     * @return The schemas with the longest IRI that matches the term, or an
+     *         empty collection if no schemas match.
+     */
+    public Collection<T> resolve(String term) {
+        PrefixTrie<Collection<T>> nextResolver = resolver;
+        if (nextResolver == null) {
+            nextResolver = buildResolver();
+        }
+        final Collection<T> result = nextResolver.getLongestPrefixValue(term);
+        return result != null ? result : Collections.emptyList();
+    }
+
+    private synchronized PrefixTrie<Collection<T>> buildResolver() {
+        // Another thread may have built it while this one was waiting
+        PrefixTrie<Collection<T>> result = resolver;
+        if (result == null) {
+            result = new PrefixTrie<>();
+            for (final IRI nextKey : getKeys()) {
+                final Collection<T> nextSchemas = get(nextKey);
+                if (!nextSchemas.isEmpty()) {
+                    result.put(nextKey.stringValue(),
+                            Collections.unmodifiableList(new ArrayList<>(nextSchemas)));
+                }
+            }
+            resolver = result;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,149 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import com.github.ansell.rdf4j.schemagenerator.SchemaRecord;
+
+/**
+ * A group of the constants in a schema class, which are generated into a
+ * nested holder class, so that very large schemas do not exceed the limits on
+ * the size of a single class, and so that the IRIs in a group are only created
+ * when one of them is used.
+ * <p>
+ * Terms are grouped using a fixed number of characters from the start of
+ * their key, so the holder class for a term does not depend on the other
+ * terms in the schema, or on how many of them there are.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class ConstantGroup {
+
+    private final String name;
+    private final List<SchemaRecord> stringConstants;
+    private final List<SchemaRecord> localNameStringConstants;
+    private final List<SchemaRecord> iriConstants;
+
+    /**
+     * @param name
+     *            The name of the holder class.
+     * @param stringConstants
+     *            The string constants in the group, or null if there are none.
+     * @param localNameStringConstants
+     *            The local name string constants in the group, or null if there
+     *            are none.
+     * @param iriConstants
+     *            The IRI constants in the group.
+     */
+    public ConstantGroup(String name, List<SchemaRecord> stringConstants,
+            List<SchemaRecord> localNameStringConstants, List<SchemaRecord> iriConstants) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.stringConstants = stringConstants;
+        this.localNameStringConstants = localNameStringConstants;
+        this.iriConstants = Objects.requireNonNull(iriConstants, "IRI constants cannot be null");
+    }
+
+    /**
+     * Split terms into groups using the given number of characters from the
+     * start of their keys. The size of each group is not limited, so a schema
+     * with many terms that start the same way needs a longer key length to
+     * keep each group within the limits on the size of a class.
+     *
+     * @param terms
+     *            The terms to split.
+     * @param keyLength
+     *            The number of characters from the start of each key that are
+     *            used for the name of its group.
+     * @param reservedNames
+     *            Names that cannot be used for a group, such as the names of
+     *            the other members of the class.
+     * @return The terms in each group, in order of the group names.
+     */
+    public static Map<String, List<SchemaTerm>> groupTerms(List<SchemaTerm> terms,
+            int keyLength, Collection<String> reservedNames) {
+        if (keyLength <= 0) {
+            throw new IllegalArgumentException("Key length must be positive: " + keyLength);
+        }
+        final Map<String, List<SchemaTerm>> result = new TreeMap<>();
+        for (final SchemaTerm nextTerm : terms) {
+            result.computeIfAbsent(getGroupName(nextTerm.getKey(), keyLength),
+                    k -> new ArrayList<>()).add(nextTerm);
+        }
+
+        final Map<String, List<SchemaTerm>> renamed = new TreeMap<>();
+        for (final Entry<String, List<SchemaTerm>> nextGroup : result.entrySet()) {
+            String nextName = nextGroup.getKey();
+            // Only add underscores to a name that is reserved, so that the
+            // other names do not depend on the reserved names
+            while (reservedNames.contains(nextName) || renamed.containsKey(nextName)
+                    || (!nextName.equals(nextGroup.getKey())
+                            && result.containsKey(nextName))) {
+                nextName = nextName + "_";
+            }
+            renamed.put(nextName, nextGroup.getValue());
+        }
+        return renamed;
+    }
+
+    /**
+     * Create a valid Java class name from the start of a key, using upper case
+     * letters and digits, and underscores for any other characters.
+     */
+    private static String getGroupName(String key, int length) {
+        final int end = Math.min(length, key.length());
+        final StringBuilder result = new StringBuilder(end + 1);
+        for (int i = 0; i < end; i++) {
+            final char nextChar = Character.toUpperCase(key.charAt(i));
+            if (nextChar >= 'A' && nextChar <= 'Z' || nextChar >= '0' && nextChar <= '9') {
+                result.append(nextChar);
+            } else {
+                result.append('_');
+            }
+        }
+        if (result.length() == 0 || result.charAt(0) < 'A' || result.charAt(0) > 'Z') {
+            result.insert(0, '_');
+        }
+        if (result.length() == 1 && result.charAt(0) == '_') {
+            result.append('_');
+        }
+        return result.toString();
+    }
+
+    /**
+     *
+     * @return The name of the holder class.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     *
+     * @return The string constants in the group, or null if there are none.
+     */
+    public List<SchemaRecord> getStringConstants() {
+        return stringConstants;
+    }
+
+    /**
+     *
+     * @return The local name string constants in the group, or null if there
+     *         are none.
+     */
+    public List<SchemaRecord> getLocalNameStringConstants() {
+        return localNameStringConstants;
+    }
+
+    /**
+     *
+     * @return The IRI constants in the group.
+     */
+    public List<SchemaRecord> getIriConstants() {
+        return iriConstants;
+    }
+}
@@ -0,0 +1,280 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.base.CaseFormat;
+
+/**
+ * Creates Java field names for schema terms, using a single pass over each key
+ * to apply the case format, prefix and suffix for a kind of constant and to
+ * replace characters that are not valid in Java identifiers.
+ * <p>
+ * The case conversion gives the same results as
+ * {@link CaseFormat#to(CaseFormat, String)}, with the source format guessed
+ * from the key. Names are remembered for each key, so each key is only
+ * converted once for each namer.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class ConstantNamer {
+
+    private static final Set<String> RESERVED_WORDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("abstract", "assert", "boolean", "break", "byte", "case", "catch",
+                    "char", "class", "const", "default", "do", "double", "else", "enum",
+                    "extends", "false", "final", "finally", "float", "for", "goto", "if",
+                    "implements", "import", "instanceof", "int", "interface", "long", "native",
+                    "new", "null", "package", "private", "protected", "public", "return",
+                    "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+                    "throw", "throws", "transient", "true", "try", "var", "void", "volatile",
+                    "while", "continue", "PREFIX", "NAMESPACE")));
+
+    private final String prefix;
+    private final CaseFormat caseFormat;
+    private final String suffix;
+    private final Map<String, String> names = new HashMap<>();
+    private final StringBuilder buffer = new StringBuilder(64);
+
+    /**
+     * @param prefix
+     *            The prefix for each name, or null to not add a prefix.
+     * @param caseFormat
+     *            The case format for each key, or null to leave the case of
+     *            keys unchanged.
+     * @param suffix
+     *            The suffix for each name, or null to not add a suffix.
+     */
+    public ConstantNamer(String prefix, CaseFormat caseFormat, String suffix) {
+        this.prefix = prefix != null ? prefix : "";
+        this.caseFormat = caseFormat;
+        this.suffix = suffix != null ? suffix : "";
+    }
+
+    /**
+     * Check whether this namer creates names using the given settings, so that
+     * it can be reused instead of creating a new namer.
+     *
+     * @param prefix
+     *            The prefix for each name, or null to not add a prefix.
+     * @param caseFormat
+     *            The case format for each key, or null to leave the case of
+     *            keys unchanged.
+     * @param suffix
+     *            The suffix for each name, or null to not add a suffix.
+     * @return True if this namer uses the same settings, and false otherwise.
+     */
+    public boolean isConfiguredFor(String prefix, CaseFormat caseFormat, String suffix) {
+        return this.prefix.equals(prefix != null ? prefix : "") && this.caseFormat == caseFormat
+                && this.suffix.equals(suffix != null ? suffix : "");
+    }
+
+    /**
+     * Get the Java field name for the given key.
+     *
+     * @param key
+     *            The key for a term, such as its local name.
+     * @return A valid Java identifier for the key.
+     */
+    public String getName(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        return names.computeIfAbsent(key, this::createName);
+    }
+
+    private String createName(String key) {
+        buffer.setLength(0);
+        appendClean(prefix, 0, prefix.length());
+        appendFormatted(key);
+        appendClean(suffix, 0, suffix.length());
+
+        if (buffer.length() == 0 || !Character.isJavaIdentifierStart(buffer.charAt(0))) {
+            buffer.insert(0, '_');
+        }
+        final String result = buffer.toString();
+        if (RESERVED_WORDS.contains(result)) {
+            return "_" + result;
+        }
+        return result;
+    }
+
+    private void appendFormatted(String key) {
+        if (caseFormat == null || key.isEmpty()) {
+            appendClean(key, 0, key.length());
+            return;
+        }
+
+        final CaseFormat sourceFormat = getSourceFormat(key);
+        if (sourceFormat == caseFormat) {
+            appendClean(key, 0, key.length());
+            return;
+        }
+
+        // These conversions do not change the case of each word in CaseFormat
+        // so they are handled separately from the general conversion
+        if (sourceFormat == CaseFormat.LOWER_HYPHEN) {
+            if (caseFormat == CaseFormat.LOWER_UNDERSCORE) {
+                appendReplaced(key, '-', '_', false, false);
+                return;
+            } else if (caseFormat == CaseFormat.UPPER_UNDERSCORE) {
+                appendReplaced(key, '-', '_', false, true);
+                return;
+            }
+        } else if (sourceFormat == CaseFormat.LOWER_UNDERSCORE) {
+            if (caseFormat == CaseFormat.LOWER_HYPHEN) {
+                appendReplaced(key, '_', '-', false, false);
+                return;
+            } else if (caseFormat == CaseFormat.UPPER_UNDERSCORE) {
+                appendReplaced(key, '_', '_', false, true);
+                return;
+            }
+        } else if (sourceFormat == CaseFormat.UPPER_UNDERSCORE) {
+            if (caseFormat == CaseFormat.LOWER_HYPHEN) {
+                appendReplaced(key, '_', '-', true, false);
+                return;
+            } else if (caseFormat == CaseFormat.LOWER_UNDERSCORE) {
+                appendReplaced(key, '_', '_', true, false);
+                return;
+            }
+        }
+
+        final boolean camelSource = sourceFormat == CaseFormat.LOWER_CAMEL
+                || sourceFormat == CaseFormat.UPPER_CAMEL;
+        final char sourceSeparator = sourceFormat == CaseFormat.LOWER_HYPHEN ? '-' : '_';
+        final int sourceSeparatorLength = camelSource ? 0 : 1;
+        final int start = buffer.length();
+        int wordStart = 0;
+        for (int i = 0; i < key.length(); i++) {
+            final char nextChar = key.charAt(i);
+            final boolean boundary = camelSource ? nextChar >= 'A' && nextChar <= 'Z'
+                    : nextChar == sourceSeparator;
+            if (!boundary) {
+                continue;
+            }
+            if (wordStart == 0) {
+                // A boundary at the start of a camel case key does not end a
+                // word, so the first word is started again
+                buffer.setLength(start);
+                appendWord(key, 0, i, true);
+            } else {
+                appendWord(key, wordStart, i, false);
+            }
+            appendSeparator();
+            wordStart = i + sourceSeparatorLength;
+        }
+        if (wordStart == 0) {
+            buffer.setLength(start);
+            appendWord(key, 0, key.length(), true);
+        } else {
+            appendWord(key, wordStart, key.length(), false);
+        }
+    }
+
+    private void appendWord(String key, int start, int end, boolean firstWord) {
+        if (start == end) {
+            return;
+        }
+        switch (caseFormat) {
+        case LOWER_CAMEL:
+        case UPPER_CAMEL:
+            if (firstWord && caseFormat == CaseFormat.LOWER_CAMEL) {
+                appendLowerCase(key, start, end);
+            } else {
+                append(toUpperCase(key.charAt(start)));
+                appendLowerCase(key, start + 1, end);
+            }
+            break;
+        case UPPER_UNDERSCORE:
+            for (int i = start; i < end; i++) {
+                append(toUpperCase(key.charAt(i)));
+            }
+            break;
+        default:
+            appendLowerCase(key, start, end);
+            break;
+        }
+    }
+
+    private void appendSeparator() {
+        switch (caseFormat) {
+        case LOWER_HYPHEN:
+            append('-');
+            break;
+        case LOWER_UNDERSCORE:
+        case UPPER_UNDERSCORE:
+            append('_');
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void appendReplaced(String key, char from, char to, boolean lowerCase,
+            boolean upperCase) {
+        for (int i = 0; i < key.length(); i++) {
+            char nextChar = key.charAt(i);
+            if (nextChar == from) {
+                nextChar = to;
+            }
+            if (lowerCase) {
+                nextChar = toLowerCase(nextChar);
+            } else if (upperCase) {
+                nextChar = toUpperCase(nextChar);
+            }
+            append(nextChar);
+        }
+    }
+
+    private void appendLowerCase(String key, int start, int end) {
+        for (int i = start; i < end; i++) {
+            append(toLowerCase(key.charAt(i)));
+        }
+    }
+
+    private void appendClean(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            append(value.charAt(i));
+        }
+    }
+
+    /**
+     * Append a character to the name, removing {@code #} and replacing
+     * characters that cannot be part of a Java identifier with {@code _}.
+     */
+    private void append(char nextChar) {
+        if (nextChar == '#') {
+            return;
+        }
+        if (Character.isJavaIdentifierPart(nextChar) || Character.isSurrogate(nextChar)) {
+            buffer.append(nextChar);
+        } else {
+            buffer.append('_');
+        }
+    }
+
+    private static CaseFormat getSourceFormat(String key) {
+        if (Character.isUpperCase(key.charAt(0)) && key.indexOf('_') >= 0) {
+            return CaseFormat.UPPER_UNDERSCORE;
+        } else if (Character.isUpperCase(key.charAt(0))) {
+            return CaseFormat.UPPER_CAMEL;
+        } else if (key.indexOf('_') >= 0) {
+            return CaseFormat.LOWER_UNDERSCORE;
+        } else if (key.indexOf('-') >= 0) {
+            return CaseFormat.LOWER_HYPHEN;
+        }
+        return CaseFormat.LOWER_CAMEL;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c ^ 0x20) : c;
+    }
+
+    private static char toUpperCase(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c ^ 0x20) : c;
+    }
+}
@@ -0,0 +1,820 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.rdf4j.model.IRI;
+
+import com.github.ansell.rdf4j.schemagenerator.SchemaRecord;
+
+import freemarker.template.utility.StringUtil;
+
+/**
+ * Writes a schema class directly to a {@link Writer}, with the same layout
+ * and escaping as the default {@code javaStaticClassRDF4J.ftl} template, but
+ * without interpreting a template.
+ * <p>
+ * Each value is escaped once, and the Javadoc comment for each term is
+ * rendered once and reused for each of the constants that are created for the
+ * term. Each kind of constant that is not set is left out, in the same way as
+ * the template.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class JavaSourceEmitter {
+
+    /**
+     * The methods and classes that use the term ordinals, with a tab at the
+     * start of each line for each level of indentation.
+     */
+    private static final String[] TERM_ORDINAL_CLASSES = {
+            "\tprivate static int checkedOrdinal(IRI iri) {",
+            "\t\tfinal int result = ordinal(iri);",
+            "\t\tif (result < 0) {",
+            "\t\t\tthrow new IllegalArgumentException("
+                    + "\"Not a term in \" + NAMESPACE + \": \" + iri);",
+            "\t\t}",
+            "\t\treturn result;",
+            "\t}",
+            "",
+            "\t/**",
+            "\t * A set of the terms in this schema, using a bit for the ordinal of each",
+            "\t * term. This class is not thread-safe.",
+            "\t */",
+            "\tpublic static final class TermSet {",
+            "",
+            "\t\tprivate final long[] bits = new long[(TERM_COUNT + 63) >>> 6];",
+            "",
+            "\t\t/**",
+            "\t\t * Create a set containing the given terms.",
+            "\t\t *",
+            "\t\t * @param iris",
+            "\t\t *            The terms, which must all be in this schema.",
+            "\t\t * @return A new set.",
+            "\t\t */",
+            "\t\tpublic static TermSet of(IRI... iris) {",
+            "\t\t\tfinal TermSet result = new TermSet();",
+            "\t\t\tfor (final IRI iri : iris) {",
+            "\t\t\t\tresult.add(iri);",
+            "\t\t\t}",
+            "\t\t\treturn result;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            A term in this schema.",
+            "\t\t * @return True if the term was not already in the set.",
+            "\t\t * @throws IllegalArgumentException",
+            "\t\t *             If the IRI is not a term in this schema.",
+            "\t\t */",
+            "\t\tpublic boolean add(IRI iri) {",
+            "\t\t\tfinal int ordinal = checkedOrdinal(iri);",
+            "\t\t\tfinal long word = bits[ordinal >>> 6];",
+            "\t\t\tbits[ordinal >>> 6] = word | (1L << ordinal);",
+            "\t\t\treturn (word & (1L << ordinal)) == 0;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            An IRI.",
+            "\t\t * @return True if the IRI was in the set.",
+            "\t\t */",
+            "\t\tpublic boolean remove(IRI iri) {",
+            "\t\t\tfinal int ordinal = ordinal(iri);",
+            "\t\t\tif (ordinal < 0) {",
+            "\t\t\t\treturn false;",
+            "\t\t\t}",
+            "\t\t\tfinal long word = bits[ordinal >>> 6];",
+            "\t\t\tbits[ordinal >>> 6] = word & ~(1L << ordinal);",
+            "\t\t\treturn (word & (1L << ordinal)) != 0;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            An IRI.",
+            "\t\t * @return True if the IRI is in the set.",
+            "\t\t */",
+            "\t\tpublic boolean contains(IRI iri) {",
+            "\t\t\tfinal int ordinal = ordinal(iri);",
+            "\t\t\treturn ordinal >= 0 && (bits[ordinal >>> 6] & (1L << ordinal)) != 0;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @return The number of terms in the set.",
+            "\t\t */",
+            "\t\tpublic int size() {",
+            "\t\t\tint result = 0;",
+            "\t\t\tfor (final long word : bits) {",
+            "\t\t\t\tresult += Long.bitCount(word);",
+            "\t\t\t}",
+            "\t\t\treturn result;",
+            "\t\t}",
+            "\t}",
+            "",
+            "\t/**",
+            "\t * A map from the terms in this schema to values, using an array indexed by",
+            "\t * the ordinal of each term. Null values cannot be stored. This class is not",
+            "\t * thread-safe.",
+            "\t *",
+            "\t * @param <V>",
+            "\t *            The type of the values.",
+            "\t */",
+            "\tpublic static final class TermMap<V> {",
+            "",
+            "\t\tprivate final Object[] values = new Object[TERM_COUNT];",
+            "\t\tprivate int size;",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            An IRI.",
+            "\t\t * @return The value for the IRI, or null if there is none.",
+            "\t\t */",
+            "\t\t@SuppressWarnings(\"unchecked\")",
+            "\t\tpublic V get(IRI iri) {",
+            "\t\t\tfinal int ordinal = ordinal(iri);",
+            "\t\t\treturn ordinal < 0 ? null : (V) values[ordinal];",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            A term in this schema.",
+            "\t\t * @param value",
+            "\t\t *            The value for the term, which cannot be null.",
+            "\t\t * @return The previous value for the term, or null if there was none.",
+            "\t\t * @throws IllegalArgumentException",
+            "\t\t *             If the IRI is not a term in this schema.",
+            "\t\t */",
+            "\t\t@SuppressWarnings(\"unchecked\")",
+            "\t\tpublic V put(IRI iri, V value) {",
+            "\t\t\tif (value == null) {",
+            "\t\t\t\tthrow new NullPointerException(\"Value cannot be null\");",
+            "\t\t\t}",
+            "\t\t\tfinal int ordinal = checkedOrdinal(iri);",
+            "\t\t\tfinal V previous = (V) values[ordinal];",
+            "\t\t\tvalues[ordinal] = value;",
+            "\t\t\tif (previous == null) {",
+            "\t\t\t\tsize++;",
+            "\t\t\t}",
+            "\t\t\treturn previous;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            An IRI.",
+            "\t\t * @return The value that was removed, or null if there was none.",
+            "\t\t */",
+            "\t\t@SuppressWarnings(\"unchecked\")",
+            "\t\tpublic V remove(IRI iri) {",
+            "\t\t\tfinal int ordinal = ordinal(iri);",
+            "\t\t\tif (ordinal < 0) {",
+            "\t\t\t\treturn null;",
+            "\t\t\t}",
+            "\t\t\tfinal V previous = (V) values[ordinal];",
+            "\t\t\tvalues[ordinal] = null;",
+            "\t\t\tif (previous != null) {",
+            "\t\t\t\tsize--;",
+            "\t\t\t}",
+            "\t\t\treturn previous;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @param iri",
+            "\t\t *            An IRI.",
+            "\t\t * @return True if there is a value for the IRI.",
+            "\t\t */",
+            "\t\tpublic boolean containsKey(IRI iri) {",
+            "\t\t\treturn get(iri) != null;",
+            "\t\t}",
+            "",
+            "\t\t/**",
+            "\t\t * @return The number of terms with values.",
+            "\t\t */",
+            "\t\tpublic int size() {",
+            "\t\t\treturn size;",
+            "\t\t}",
+            "\t}" };
+
+    private final String className;
+    private final String prefix;
+    private final String name;
+    private final String indent;
+    private final String indent2;
+    private String packageName;
+    private String title;
+    private String description;
+    private String metaInfServicesInterface;
+    private List<String> seeAlsoUrls = Collections.emptyList();
+    private List<SchemaRecord> stringConstants;
+    private List<SchemaRecord> localNameStringConstants;
+    private List<SchemaRecord> iriConstants;
+    private List<ConstantGroup> constantGroups;
+    private boolean lazyIris;
+    private boolean compactIris;
+    private LookupSwitch iriLookup;
+    private LookupSwitch localNameLookup;
+    private LookupSwitch ordinalLookup;
+    private int termCount;
+
+    /**
+     * @param className
+     *            The simple name of the class.
+     * @param prefix
+     *            The namespace IRI for the schema.
+     * @param name
+     *            The prefix name for the schema.
+     * @param indent
+     *            The indentation for each level.
+     */
+    public JavaSourceEmitter(String className, String prefix, String name, String indent) {
+        this.className = Objects.requireNonNull(className, "Class name cannot be null");
+        this.prefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.indent = Objects.requireNonNull(indent, "Indent cannot be null");
+        this.indent2 = indent + indent;
+    }
+
+    public JavaSourceEmitter setPackageName(String packageName) {
+        this.packageName = packageName;
+        return this;
+    }
+
+    /**
+     * @param title
+     *            The title for the class comment, which is not escaped, in the
+     *            same way as the template.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setTitle(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public JavaSourceEmitter setDescription(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public JavaSourceEmitter setMetaInfServicesInterface(String metaInfServicesInterface) {
+        this.metaInfServicesInterface = metaInfServicesInterface;
+        return this;
+    }
+
+    public JavaSourceEmitter setSeeAlsoUrls(List<String> seeAlsoUrls) {
+        this.seeAlsoUrls = seeAlsoUrls;
+        return this;
+    }
+
+    public JavaSourceEmitter setStringConstants(List<SchemaRecord> stringConstants) {
+        this.stringConstants = stringConstants;
+        return this;
+    }
+
+    public JavaSourceEmitter setLocalNameStringConstants(
+            List<SchemaRecord> localNameStringConstants) {
+        this.localNameStringConstants = localNameStringConstants;
+        return this;
+    }
+
+    public JavaSourceEmitter setIriConstants(List<SchemaRecord> iriConstants) {
+        this.iriConstants = iriConstants;
+        return this;
+    }
+
+    /**
+     * @param constantGroups
+     *            The groups of constants to write into nested holder classes,
+     *            or null to write all of the constants into the class itself.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setConstantGroups(List<ConstantGroup> constantGroups) {
+        this.constantGroups = constantGroups;
+        return this;
+    }
+
+    /**
+     * @param lazyIris
+     *            True to create each IRI when its method is first called,
+     *            instead of creating every IRI when the class is initialised.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setLazyIris(boolean lazyIris) {
+        this.lazyIris = lazyIris;
+        return this;
+    }
+
+    /**
+     * @param compactIris
+     *            True to create the IRIs using a nested {@link IRI}
+     *            implementation that keeps the namespace and local name
+     *            separately.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setCompactIris(boolean compactIris) {
+        this.compactIris = compactIris;
+        return this;
+    }
+
+    /**
+     * @param iriLookup
+     *            The cases for the {@code fromString} method, or null to leave
+     *            out the lookup methods.
+     * @param localNameLookup
+     *            The cases for the {@code fromLocalName} method, or null to
+     *            leave out the lookup methods.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setLookups(LookupSwitch iriLookup, LookupSwitch localNameLookup) {
+        this.iriLookup = iriLookup;
+        this.localNameLookup = localNameLookup;
+        return this;
+    }
+
+    /**
+     * @param ordinalLookup
+     *            The cases for the {@code ordinal} method, or null to leave out
+     *            the term ordinals.
+     * @param termCount
+     *            The number of terms.
+     * @return This emitter.
+     */
+    public JavaSourceEmitter setOrdinals(LookupSwitch ordinalLookup, int termCount) {
+        this.ordinalLookup = ordinalLookup;
+        this.termCount = termCount;
+        return this;
+    }
+
+    /**
+     * Write the class.
+     *
+     * @param out
+     *            The writer to write the class to, which is not flushed or
+     *            closed.
+     * @throws IOException
+     *             If the class could not be written.
+     */
+    public void emit(Writer out) throws IOException {
+        final Map<IRI, String> javadocs = new HashMap<>();
+        final String htmlPrefix = StringUtil.HTMLEnc(prefix);
+        final String javaClassName = StringUtil.javaStringEnc(className);
+
+        out.write("/*\n * Auto-generated by RDF4JSchemaGenerator\n */\n");
+        if (packageName != null) {
+            out.write("package ");
+            out.write(packageName);
+            out.write(";\n\n");
+        }
+        if (lazyIris) {
+            out.write("import java.util.concurrent.atomic.AtomicReferenceArray;\n\n");
+        }
+        out.write("import org.eclipse.rdf4j.model.IRI;\n");
+        out.write("import org.eclipse.rdf4j.model.ValueFactory;\n");
+        out.write("import org.eclipse.rdf4j.model.impl.SimpleValueFactory;\n\n");
+
+        out.write("/**\n * ");
+        out.write(title != null ? title : "No title found");
+        out.write('\n');
+        if (description != null) {
+            out.write(" * ");
+            out.write(StringUtil.HTMLEnc(description));
+            out.write('\n');
+        }
+        out.write(" *\n * Namespace ");
+        out.write(StringUtil.HTMLEnc(name));
+        out.write("\n * Prefix: {@code <");
+        out.write(htmlPrefix);
+        out.write(">}\n *\n");
+        for (final String nextSeeAlso : seeAlsoUrls) {
+            final String htmlSeeAlso = StringUtil.HTMLEnc(nextSeeAlso);
+            out.write(" * @see <a href=\"");
+            out.write(htmlSeeAlso);
+            out.write("\">");
+            out.write(htmlSeeAlso);
+            out.write("</a>\n");
+        }
+        out.write(" */\npublic class ");
+        out.write(javaClassName);
+        out.write(' ');
+        if (metaInfServicesInterface != null) {
+            out.write("implements ");
+            out.write(StringUtil.javaStringEnc(metaInfServicesInterface));
+            out.write(' ');
+        }
+        out.write("{\n\n");
+
+        writeComment(out, indent, "{@code <" + htmlPrefix + ">}");
+        writeLine(out, indent, "public static final String NAMESPACE = \""
+                + StringUtil.javaStringEnc(prefix) + "\"; ");
+        out.write('\n');
+        writeComment(out, indent, "{@code <" + htmlPrefix + ">}");
+        writeLine(out, indent, "public static final IRI NAMESPACE_IRI;");
+        out.write('\n');
+        writeComment(out, indent, "{@code <" + StringUtil.HTMLEnc(name) + ">}");
+        writeLine(out, indent, "public static final String PREFIX = \""
+                + StringUtil.javaStringEnc(name) + "\"; ");
+        out.write('\n');
+        if (ordinalLookup != null) {
+            writeComment(out, indent,
+                    "The number of terms in this schema, and the number of term ordinals.");
+            writeLine(out, indent, "public static final int TERM_COUNT = " + termCount + ";");
+            out.write('\n');
+        }
+
+        writeConstants(out, indent, stringConstants, localNameStringConstants, iriConstants,
+                javadocs);
+
+        writeComment(out, indent, "Static initializer");
+        writeLine(out, indent, "static {");
+        writeLine(out, indent2, "ValueFactory vf = SimpleValueFactory.getInstance();");
+        out.write('\n');
+        writeLine(out, indent2, "NAMESPACE_IRI = vf.createIRI(NAMESPACE);");
+        out.write('\n');
+        if (iriConstants != null && !lazyIris) {
+            writeBanner(out, indent2, "IRI Constant creation");
+            writeCreation(out, indent2, iriConstants);
+        }
+        writeLine(out, indent, "}");
+        out.write('\n');
+
+        if (metaInfServicesInterface != null) {
+            writeLine(out, indent, "@Override");
+            writeLine(out, indent, "public IRI getIRI() {");
+            writeLine(out, indent2, "return NAMESPACE_IRI;");
+            writeLine(out, indent, "}");
+        }
+        writeLine(out, indent, "public " + javaClassName + "() {");
+        writeLine(out, indent2,
+                "// To enable service discovery to succeed, even though this is a static class");
+        writeLine(out, indent, "}");
+        if (iriLookup != null) {
+            out.write('\n');
+            writeLine(out, indent, "/**");
+            writeLine(out, indent, " * Find the IRI constant for an IRI.");
+            writeLine(out, indent, " *");
+            writeLine(out, indent, " * @param iri");
+            writeLine(out, indent, " *            The IRI to find.");
+            writeLine(out, indent,
+                    " * @return The IRI constant, or null if the term is not in this schema.");
+            writeLine(out, indent, " */");
+            writeLine(out, indent, "public static IRI fromIRI(IRI iri) {");
+            writeLine(out, indent2, "return fromString(iri.stringValue());");
+            writeLine(out, indent, "}");
+            writeLookupMethods(out, "fromString", "iri",
+                    "Find the IRI constant for the string value of an IRI.",
+                    "The string value of the IRI to find.", iriLookup);
+            writeLookupMethods(out, "fromLocalName", "localName",
+                    "Find the IRI constant for the name of a term after {@link #NAMESPACE}.",
+                    "The name of the term to find.",
+                    localNameLookup);
+        }
+        if (ordinalLookup != null) {
+            out.write('\n');
+            writeLine(out, indent, "/**");
+            writeLine(out, indent,
+                    " * Find the ordinal of a term, which is its position in the order of the IRI");
+            writeLine(out, indent, " * constants, from 0 to {@link #TERM_COUNT} - 1.");
+            writeLine(out, indent, " *");
+            writeLine(out, indent, " * @param iri");
+            writeLine(out, indent, " *            The IRI of the term.");
+            writeLine(out, indent,
+                    " * @return The ordinal of the term, or -1 if the term is not in this schema.");
+            writeLine(out, indent, " */");
+            writeLine(out, indent, "public static int ordinal(IRI iri) {");
+            writeLine(out, indent2, "return ordinal(iri.stringValue());");
+            writeLine(out, indent, "}");
+            writeLookupMethods(out, "ordinal", "int", "iri",
+                    "Find the ordinal of a term using the string value of its IRI.",
+                    "The string value of the IRI of the term.",
+                    "The ordinal of the term, or -1 if the term is not in this schema.", "-1",
+                    ordinalLookup);
+            out.write('\n');
+            writeBlock(out, TERM_ORDINAL_CLASSES);
+        }
+        if (compactIris) {
+            writeCompactIRIClass(out);
+        }
+
+        if (constantGroups != null) {
+            final String indent3 = indent2 + indent;
+            for (final ConstantGroup nextGroup : constantGroups) {
+                out.write('\n');
+                writeLine(out, indent, "/**");
+                writeLine(out, indent, " * Constants for the terms in the {@code "
+                        + nextGroup.getName() + "} group, which are only");
+                writeLine(out, indent, " * created when one of them is used.");
+                writeLine(out, indent, " */");
+                writeLine(out, indent, "public static final class " + nextGroup.getName() + " {");
+                out.write('\n');
+                writeConstants(out, indent2, nextGroup.getStringConstants(),
+                        nextGroup.getLocalNameStringConstants(), nextGroup.getIriConstants(),
+                        javadocs);
+                if (!lazyIris) {
+                    writeLine(out, indent2, "static {");
+                    if (!compactIris) {
+                        writeLine(out, indent3,
+                                "ValueFactory vf = SimpleValueFactory.getInstance();");
+                        out.write('\n');
+                    }
+                    writeCreation(out, indent3, nextGroup.getIriConstants());
+                    writeLine(out, indent2, "}");
+                    out.write('\n');
+                }
+                writeLine(out, indent2, "private " + nextGroup.getName() + "() {");
+                writeLine(out, indent2, "}");
+                writeLine(out, indent, "}");
+            }
+        }
+        out.write('}');
+    }
+
+    /**
+     * Write each of the kinds of constants that are not null, followed by a
+     * blank line.
+     */
+    private void writeConstants(Writer out, String level, List<SchemaRecord> strings,
+            List<SchemaRecord> localNameStrings, List<SchemaRecord> iris,
+            Map<IRI, String> javadocs) throws IOException {
+        if (strings != null) {
+            writeStringConstants(out, level, "IRI String Constants", strings, javadocs);
+            out.write('\n');
+        }
+        if (localNameStrings != null) {
+            writeStringConstants(out, level, "Local Name String Constants", localNameStrings,
+                    javadocs);
+            out.write('\n');
+        }
+        if (iris != null) {
+            writeBanner(out, level, "IRI Constants");
+            if (lazyIris) {
+                writeLazyIriMethods(out, level, iris, javadocs);
+            } else {
+                for (final SchemaRecord nextRecord : iris) {
+                    out.write('\n');
+                    writeJavadoc(out, level, nextRecord, javadocs);
+                    out.write(level);
+                    out.write("public static final IRI ");
+                    out.write(StringUtil.javaStringEnc(nextRecord.getFormattedRecordKey()));
+                    out.write(";\n");
+                }
+            }
+            out.write('\n');
+        }
+    }
+
+    private void writeLazyIriMethods(Writer out, String level, List<SchemaRecord> iris,
+            Map<IRI, String> javadocs) throws IOException {
+        final String level2 = level + indent;
+        final String level3 = level2 + indent;
+        out.write('\n');
+        writeLine(out, level, "private static final AtomicReferenceArray<IRI> LAZY_IRIS = "
+                + "new AtomicReferenceArray<>(" + iris.size() + ");");
+        for (int i = 0; i < iris.size(); i++) {
+            final SchemaRecord nextRecord = iris.get(i);
+            out.write('\n');
+            writeJavadoc(out, level, nextRecord, javadocs);
+            writeLine(out, level, "public static IRI "
+                    + StringUtil.javaStringEnc(nextRecord.getFormattedRecordKey()) + "() {");
+            writeLine(out, level2,
+                    "return lazyIRI(" + i + ", " + getCreationArguments(nextRecord) + ");");
+            writeLine(out, level, "}");
+        }
+        out.write('\n');
+        if (compactIris) {
+            writeLine(out, level,
+                    "private static IRI lazyIRI(int index, String namespace, String localName) {");
+        } else {
+            writeLine(out, level, "private static IRI lazyIRI(int index, String iri) {");
+        }
+        writeLine(out, level2, "IRI result = LAZY_IRIS.get(index);");
+        writeLine(out, level2, "if (result == null) {");
+        writeLine(out, level3,
+                "// Only the first IRI that is created is kept, so each method always");
+        writeLine(out, level3, "// returns the same object");
+        if (compactIris) {
+            writeLine(out, level3,
+                    "LAZY_IRIS.compareAndSet(index, null, new CompactIRI(namespace, localName));");
+        } else {
+            writeLine(out, level3, "LAZY_IRIS.compareAndSet(index, null, "
+                    + "SimpleValueFactory.getInstance().createIRI(iri));");
+        }
+        writeLine(out, level3, "result = LAZY_IRIS.get(index);");
+        writeLine(out, level2, "}");
+        writeLine(out, level2, "return result;");
+        writeLine(out, level, "}");
+    }
+
+    private void writeCreation(Writer out, String level, List<SchemaRecord> iris)
+            throws IOException {
+        for (final SchemaRecord nextRecord : iris) {
+            out.write(level);
+            out.write(StringUtil.javaStringEnc(nextRecord.getFormattedRecordKey()));
+            out.write(compactIris ? " = new CompactIRI(" : " = vf.createIRI(");
+            out.write(getCreationArguments(nextRecord));
+            out.write(");\n");
+        }
+    }
+
+    /**
+     * The arguments that create the IRI for a record, which are the namespace
+     * and local name for compact IRIs, using the {@code NAMESPACE} constant if
+     * the namespace is the prefix, or the whole IRI otherwise.
+     */
+    private String getCreationArguments(SchemaRecord record) {
+        final IRI iri = record.getIRI();
+        if (!compactIris) {
+            return "\"" + StringUtil.javaStringEnc(iri.stringValue()) + "\"";
+        }
+        final String namespace = iri.getNamespace().equals(prefix) ? "NAMESPACE"
+                : "\"" + StringUtil.javaStringEnc(iri.getNamespace()) + "\"";
+        return namespace + ", \"" + StringUtil.javaStringEnc(iri.getLocalName()) + "\"";
+    }
+
+    private void writeLookupMethods(Writer out, String methodName, String parameter,
+            String summary, String parameterDescription, LookupSwitch lookup)
+            throws IOException {
+        writeLookupMethods(out, methodName, "IRI", parameter, summary, parameterDescription,
+                "The IRI constant, or null if the term is not in this schema.", "null", lookup);
+    }
+
+    private void writeLookupMethods(Writer out, String methodName, String type,
+            String parameter, String summary, String parameterDescription, String returns,
+            String missing, LookupSwitch lookup) throws IOException {
+        final String indent3 = indent2 + indent;
+        final List<List<LookupSwitch.Case>> buckets = lookup.getBuckets();
+        out.write('\n');
+        writeLine(out, indent, "/**");
+        writeLine(out, indent, " * " + summary);
+        writeLine(out, indent, " *");
+        writeLine(out, indent, " * @param " + parameter);
+        writeLine(out, indent, " *            " + parameterDescription);
+        writeLine(out, indent, " * @return " + returns);
+        writeLine(out, indent, " */");
+        writeLine(out, indent,
+                "public static " + type + " " + methodName + "(String " + parameter + ") {");
+        if (buckets.size() == 1) {
+            writeLookupSwitch(out, parameter, buckets.get(0), missing);
+        } else {
+            writeLine(out, indent2, "switch (Math.floorMod(" + parameter + ".hashCode(), "
+                    + buckets.size() + ")) {");
+            for (int i = 0; i < buckets.size(); i++) {
+                writeLine(out, indent2, "case " + i + ":");
+                writeLine(out, indent3, "return " + methodName + i + "(" + parameter + ");");
+            }
+            writeLine(out, indent2, "default:");
+            writeLine(out, indent3, "return " + missing + ";");
+            writeLine(out, indent2, "}");
+        }
+        writeLine(out, indent, "}");
+        if (buckets.size() > 1) {
+            for (int i = 0; i < buckets.size(); i++) {
+                out.write('\n');
+                writeLine(out, indent, "private static " + type + " " + methodName + i
+                        + "(String " + parameter + ") {");
+                writeLookupSwitch(out, parameter, buckets.get(i), missing);
+                writeLine(out, indent, "}");
+            }
+        }
+    }
+
+    private void writeLookupSwitch(Writer out, String parameter, List<LookupSwitch.Case> cases,
+            String missing) throws IOException {
+        final String indent3 = indent2 + indent;
+        writeLine(out, indent2, "switch (" + parameter + ") {");
+        for (final LookupSwitch.Case nextCase : cases) {
+            writeLine(out, indent2,
+                    "case \"" + StringUtil.javaStringEnc(nextCase.getKey()) + "\":");
+            writeLine(out, indent3, "return " + nextCase.getConstant() + ";");
+        }
+        writeLine(out, indent2, "default:");
+        writeLine(out, indent3, "return " + missing + ";");
+        writeLine(out, indent2, "}");
+    }
+
+    private void writeCompactIRIClass(Writer out) throws IOException {
+        final String indent3 = indent2 + indent;
+        final String indent4 = indent3 + indent;
+        final String indent6 = indent4 + indent2;
+        out.write('\n');
+        writeLine(out, indent, "/**");
+        writeLine(out, indent,
+                " * An {@link IRI} in this schema, which keeps its namespace and local name");
+        writeLine(out, indent, " * separately and computes its hash code once.");
+        writeLine(out, indent, " */");
+        writeLine(out, indent, "private static final class CompactIRI implements IRI {");
+        out.write('\n');
+        writeLine(out, indent2, "private static final long serialVersionUID = 1L;");
+        out.write('\n');
+        writeLine(out, indent2, "private final String namespace;");
+        writeLine(out, indent2, "private final String localName;");
+        writeLine(out, indent2, "private final int hashCode;");
+        out.write('\n');
+        writeLine(out, indent2, "private CompactIRI(String namespace, String localName) {");
+        writeLine(out, indent3, "this.namespace = namespace;");
+        writeLine(out, indent3, "this.localName = localName;");
+        writeLine(out, indent3, "this.hashCode = stringValue().hashCode();");
+        writeLine(out, indent2, "}");
+        writeGetter(out, "String getNamespace()", "namespace");
+        writeGetter(out, "String getLocalName()", "localName");
+        writeGetter(out, "String stringValue()", "namespace.concat(localName)");
+        out.write('\n');
+        writeLine(out, indent2, "@Override");
+        writeLine(out, indent2, "public boolean equals(Object o) {");
+        writeLine(out, indent3, "if (this == o) {");
+        writeLine(out, indent4, "return true;");
+        writeLine(out, indent3, "}");
+        writeLine(out, indent3, "if (o instanceof CompactIRI) {");
+        writeLine(out, indent4, "final CompactIRI other = (CompactIRI) o;");
+        writeLine(out, indent4,
+                "return hashCode == other.hashCode && localName.equals(other.localName)");
+        writeLine(out, indent6, "&& namespace.equals(other.namespace);");
+        writeLine(out, indent3, "}");
+        writeLine(out, indent3, "if (o instanceof IRI) {");
+        writeLine(out, indent4,
+                "// Compare with other IRI implementations without joining the strings");
+        writeLine(out, indent4, "final String other = o.toString();");
+        writeLine(out, indent4,
+                "return other.length() == namespace.length() + localName.length()");
+        writeLine(out, indent6, "&& other.startsWith(namespace) && other.endsWith(localName);");
+        writeLine(out, indent3, "}");
+        writeLine(out, indent3, "return false;");
+        writeLine(out, indent2, "}");
+        writeGetter(out, "int hashCode()", "hashCode");
+        writeGetter(out, "String toString()", "stringValue()");
+        writeLine(out, indent, "}");
+    }
+
+    private void writeGetter(Writer out, String signature, String result) throws IOException {
+        out.write('\n');
+        writeLine(out, indent2, "@Override");
+        writeLine(out, indent2, "public " + signature + " {");
+        writeLine(out, indent2 + indent, "return " + result + ";");
+        writeLine(out, indent2, "}");
+    }
+
+    private void writeStringConstants(Writer out, String level, String title,
+            List<SchemaRecord> records, Map<IRI, String> javadocs) throws IOException {
+        writeBanner(out, level, title);
+        for (final SchemaRecord nextRecord : records) {
+            out.write('\n');
+            writeJavadoc(out, level, nextRecord, javadocs);
+            out.write(level);
+            out.write("public static final String ");
+            out.write(StringUtil.javaStringEnc(nextRecord.getFormattedRecordKey()));
+            out.write(" = \"");
+            out.write(StringUtil.javaStringEnc(nextRecord.getRawRecordKey()));
+            out.write("\";\n");
+        }
+    }
+
+    private static void writeJavadoc(Writer out, String level, SchemaRecord record,
+            Map<IRI, String> javadocs) throws IOException {
+        out.write(level);
+        out.write(javadocs.computeIfAbsent(record.getIRI(),
+                iri -> SchemaRecordJavadoc.render(record, level)));
+        out.write('\n');
+    }
+
+    /**
+     * Write lines of code, replacing the tabs at the start of each line with
+     * the indentation for that many levels.
+     */
+    private void writeBlock(Writer out, String[] lines) throws IOException {
+        for (final String nextLine : lines) {
+            int level = 0;
+            while (level < nextLine.length() && nextLine.charAt(level) == '\t') {
+                out.write(indent);
+                level++;
+            }
+            out.write(nextLine, level, nextLine.length() - level);
+            out.write('\n');
+        }
+    }
+
+    private static void writeBanner(Writer out, String indent, String title)
+            throws IOException {
+        final StringBuilder stars = new StringBuilder(title.length() + 2);
+        for (int i = 0; i < title.length() + 2; i++) {
+            stars.append('*');
+        }
+        writeLine(out, indent, "/" + stars);
+        writeLine(out, indent, " * " + title);
+        writeLine(out, indent, " " + stars + "/");
+    }
+
+    private static void writeComment(Writer out, String indent, String comment)
+            throws IOException {
+        writeLine(out, indent, "/**");
+        writeLine(out, indent, " * " + comment);
+        writeLine(out, indent, " */");
+    }
+
+    private static void writeLine(Writer out, String indent, String line) throws IOException {
+        out.write(indent);
+        out.write(line);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The labels and comments for the terms in a schema in a single language,
+ * indexed by the ordinal of each term, for a generated class that finds them
+ * using {@code switch} statements instead of parsing a properties file.
+ * <p>
+ * The texts are split into buckets of {@link LookupSwitch#MAX_BUCKET_SIZE}
+ * ordinals, and each bucket is generated in its own nested class, so that no
+ * generated method or class is too large to compile.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class LabelTable {
+
+    /**
+     * A text, and the ordinal of the term that it is for.
+     */
+    public static final class Text {
+
+        private final int ordinal;
+        private final String text;
+
+        Text(int ordinal, String text) {
+            this.ordinal = ordinal;
+            this.text = text;
+        }
+
+        /**
+         *
+         * @return The ordinal of the term.
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        /**
+         *
+         * @return The text for the term.
+         */
+        public String getText() {
+            return text;
+        }
+    }
+
+    private final String name;
+    private final String language;
+    private final String[] labels;
+    private final String[] comments;
+
+    /**
+     * @param name
+     *            The name of the nested class for the table.
+     * @param language
+     *            The lower case language tag, or an empty string for the
+     *            default table.
+     * @param termCount
+     *            The number of terms.
+     */
+    public LabelTable(String name, String language, int termCount) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.language = Objects.requireNonNull(language, "Language cannot be null");
+        this.labels = new String[termCount];
+        this.comments = new String[termCount];
+    }
+
+    /**
+     * Create a valid Java class name for the table for a language tag.
+     *
+     * @param language
+     *            The lower case language tag.
+     * @return The name of the class, which starts with {@code L_}.
+     */
+    public static String getClassName(String language) {
+        final StringBuilder result = new StringBuilder(language.length() + 2).append("L_");
+        for (int i = 0; i < language.length(); i++) {
+            final char nextChar = language.charAt(i);
+            result.append(nextChar >= 'a' && nextChar <= 'z' || nextChar >= '0' && nextChar <= '9'
+                    ? nextChar : '_');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Set the label for a term, unless it already has one.
+     *
+     * @param ordinal
+     *            The ordinal of the term.
+     * @param label
+     *            The label.
+     */
+    public void addLabel(int ordinal, String label) {
+        if (labels[ordinal] == null) {
+            labels[ordinal] = label;
+        }
+    }
+
+    /**
+     * Set the comment for a term, unless it already has one.
+     *
+     * @param ordinal
+     *            The ordinal of the term.
+     * @param comment
+     *            The comment.
+     */
+    public void addComment(int ordinal, String comment) {
+        if (comments[ordinal] == null) {
+            comments[ordinal] = comment;
+        }
+    }
+
+    /**
+     *
+     * @return The name of the nested class for the table.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     *
+     * @return The lower case language tag, or an empty string for the default
+     *         table.
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     *
+     * @return The labels in each bucket of ordinals.
+     */
+    public List<List<Text>> getLabelBuckets() {
+        return getBuckets(labels);
+    }
+
+    /**
+     *
+     * @return The comments in each bucket of ordinals.
+     */
+    public List<List<Text>> getCommentBuckets() {
+        return getBuckets(comments);
+    }
+
+    /**
+     * @param termCount
+     *            The number of terms.
+     * @return The number of buckets of ordinals, which is at least one.
+     */
+    public static int getBucketCount(int termCount) {
+        return Math.max(1,
+                (termCount + LookupSwitch.MAX_BUCKET_SIZE - 1) / LookupSwitch.MAX_BUCKET_SIZE);
+    }
+
+    private static List<List<Text>> getBuckets(String[] texts) {
+        final int bucketCount = getBucketCount(texts.length);
+        final List<List<Text>> result = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i] != null) {
+                result.get(i / LookupSwitch.MAX_BUCKET_SIZE).add(new Text(i, texts[i]));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
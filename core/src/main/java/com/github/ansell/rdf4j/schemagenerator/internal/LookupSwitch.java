@@ -0,0 +1,107 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The cases for a generated {@code switch} statement that finds a constant
+ * using a string. Large lookups are split into buckets using the hash codes of
+ * the strings, so the generated code can choose a bucket using
+ * {@code Math.floorMod(string.hashCode(), bucketCount)}, and no generated
+ * method is too large to compile.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class LookupSwitch {
+
+    /**
+     * The largest average number of cases in each bucket, which keeps the
+     * method for each bucket well within the limits on the size of a method.
+     */
+    public static final int MAX_BUCKET_SIZE = 1000;
+
+    /**
+     * A string, and the Java expression for the constant that it finds.
+     */
+    public static final class Case {
+
+        private final String key;
+        private final String constant;
+
+        Case(String key, String constant) {
+            this.key = key;
+            this.constant = constant;
+        }
+
+        /**
+         *
+         * @return The string for this case.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         *
+         * @return The Java expression for the constant, such as
+         *         {@code GROUP.NAME} or {@code NAME()}.
+         */
+        public String getConstant() {
+            return constant;
+        }
+    }
+
+    private final List<List<Case>> buckets;
+
+    private LookupSwitch(List<List<Case>> buckets) {
+        this.buckets = Collections.unmodifiableList(buckets);
+    }
+
+    /**
+     * Split the cases for a lookup into buckets.
+     *
+     * @param constants
+     *            The Java expression for the constant that each string finds,
+     *            such as {@code GROUP.NAME} or {@code NAME()}, in the order
+     *            that the cases are generated in each bucket.
+     * @return The lookup.
+     */
+    public static LookupSwitch build(Map<String, String> constants) {
+        final int bucketCount = Math.max(1,
+                (constants.size() + MAX_BUCKET_SIZE - 1) / MAX_BUCKET_SIZE);
+        final List<List<Case>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (final Entry<String, String> nextConstant : constants.entrySet()) {
+            buckets.get(getBucket(nextConstant.getKey(), bucketCount))
+                    .add(new Case(nextConstant.getKey(), nextConstant.getValue()));
+        }
+        return new LookupSwitch(buckets);
+    }
+
+    /**
+     *
+     * @return The cases in each bucket, in order of the bucket number. There
+     *         is always at least one bucket, and each bucket may be empty.
+     */
+    public List<List<Case>> getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Find the bucket for a string, in the same way as the generated code.
+     *
+     * @param key
+     *            The string.
+     * @param bucketCount
+     *            The number of buckets.
+     * @return The bucket for the string.
+     */
+    public static int getBucket(String key, int bucketCount) {
+        return Math.floorMod(key.hashCode(), bucketCount);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+/**
+ * An {@link org.eclipse.rdf4j.rio.RDFHandler} that finds the first
+ * {@code owl:Ontology} in a document and then stops the parser, so that the
+ * prefix for a schema can be found before deciding which statements to keep.
+ * <p>
+ * Parsers may wrap the exception that is used to stop parsing, so callers
+ * should check {@link #getOntology()} after an exception to find out whether
+ * parsing was stopped deliberately.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class OntologyDetector extends AbstractRDFHandler {
+
+    private Resource ontology;
+
+    @Override
+    public void handleStatement(Statement st) throws RDFHandlerException {
+        if (RDF.TYPE.equals(st.getPredicate()) && OWL.ONTOLOGY.equals(st.getObject())) {
+            ontology = st.getSubject();
+            throw new OntologyFoundException();
+        }
+    }
+
+    /**
+     *
+     * @return The first {@code owl:Ontology} that was found, or null if none
+     *         were found.
+     */
+    public Resource getOntology() {
+        return ontology;
+    }
+
+    private static final class OntologyFoundException extends RDFHandlerException {
+
+        private static final long serialVersionUID = 7260154390745812381L;
+
+        OntologyFoundException() {
+            super("Found owl:Ontology");
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.ParserConfig;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.ParseErrorLogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Parses line based formats, N-Triples and N-Quads, on more than one thread.
+ * <p>
+ * The file is memory mapped and split into chunks at line boundaries, and each
+ * chunk is parsed separately into its own model by a handler from a factory,
+ * which can discard statements that are not needed. The statements from each
+ * chunk are then sent to the output handler in the order of the chunks, so the
+ * output handler sees the statements in the same order as it would from a
+ * single parser, and does not need to be thread safe. Only a few chunks for
+ * each thread are parsed ahead of the output handler, so the memory used for
+ * the parsed chunks does not grow with the size of the file.
+ * <p>
+ * The chunks are parsed with {@link BasicParserSettings#PRESERVE_BNODE_IDS},
+ * so that blank nodes with the same label in different chunks are the same
+ * blank node. The blank nodes in the output have the labels from the file,
+ * rather than the labels generated by a single parser for each document, so
+ * they are equal to blank nodes with the same label from other files parsed
+ * in the same way. Callers which combine more than one file must not rely on
+ * the blank nodes from different files being distinct.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class ParallelLineParser {
+
+    /**
+     * The smallest chunk that is worth parsing on its own thread.
+     */
+    public static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+
+    private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE - 8192;
+
+    /**
+     * The number of chunks for each thread that can be parsed before they are
+     * sent to the output handler.
+     */
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private static final ParserConfig CHUNK_PARSER_CONFIG = new ParserConfig()
+            .set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+
+    private ParallelLineParser() {
+    }
+
+    /**
+     * Check whether a file can be parsed by this class.
+     *
+     * @param format
+     *            The format of the file.
+     * @return True if the format is line based, and false otherwise.
+     */
+    public static boolean isSupported(RDFFormat format) {
+        return RDFFormat.NTRIPLES.equals(format) || RDFFormat.NQUADS.equals(format);
+    }
+
+    /**
+     * Parse a file in chunks on the given number of threads.
+     *
+     * @param file
+     *            The uncompressed file to parse.
+     * @param format
+     *            The format of the file, which must be line based.
+     * @param threads
+     *            The number of threads to use.
+     * @param chunkSize
+     *            The approximate number of bytes in each chunk.
+     * @param chunkHandler
+     *            Creates a handler for each chunk, which adds the statements it
+     *            needs to keep to the given model. Handlers may be used on
+     *            different threads at the same time.
+     * @param output
+     *            The handler that the statements kept for each chunk are sent
+     *            to, in the order of the chunks. At most a few chunks for
+     *            each thread are parsed ahead of this handler.
+     * @throws IOException
+     *             If the file could not be read.
+     * @throws RDFParseException
+     *             If the file could not be parsed.
+     * @throws RDFHandlerException
+     *             If the handlers could not handle a statement.
+     */
+    public static void parse(Path file, RDFFormat format, int threads, long chunkSize,
+            Function<Model, RDFHandler> chunkHandler, RDFHandler output)
+            throws IOException, RDFParseException, RDFHandlerException {
+        if (!isSupported(format)) {
+            throw new IllegalArgumentException("Not a line based format: " + format);
+        }
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final List<Long> boundaries = findBoundaries(channel,
+                    Math.min(Math.max(1, chunkSize), MAX_CHUNK_SIZE));
+
+            final int threadCount = Math.max(1, threads);
+            final ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+                    new ThreadFactoryBuilder().setNameFormat("schema-generator-parse-%d")
+                            .setDaemon(true).build());
+            try {
+                final int chunkCount = boundaries.size() - 1;
+                final int window = threadCount * CHUNKS_PER_THREAD;
+                final Deque<Future<Model>> chunks = new ArrayDeque<>(window);
+                int submitted = 0;
+                output.startRDF();
+                for (int i = 0; i < chunkCount; i++) {
+                    // Keep a fixed number of chunks in flight, and release
+                    // each chunk as soon as it has been sent on
+                    while (submitted < chunkCount && submitted - i < window) {
+                        final long start = boundaries.get(submitted);
+                        final long end = boundaries.get(submitted + 1);
+                        chunks.add(executor.submit(
+                                () -> parseChunk(channel, start, end, format, chunkHandler)));
+                        submitted++;
+                    }
+                    final Model nextChunk = getChunk(chunks.poll());
+                    for (final Statement nextStatement : nextChunk) {
+                        output.handleStatement(nextStatement);
+                    }
+                }
+                output.endRDF();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static List<Long> findBoundaries(FileChannel channel, long chunkSize)
+            throws IOException {
+        final long size = channel.size();
+        final List<Long> result = new ArrayList<>();
+        result.add(0L);
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long nextStart = chunkSize;
+        while (nextStart < size) {
+            // Move the boundary to just after the next line ending, so that
+            // each chunk only contains complete lines
+            long boundary = size;
+            long position = nextStart - 1;
+            search: while (position < size) {
+                buffer.clear();
+                final int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        boundary = position + i + 1;
+                        break search;
+                    }
+                }
+                position += read;
+            }
+            if (boundary >= size) {
+                break;
+            }
+            result.add(boundary);
+            nextStart = boundary + chunkSize;
+        }
+        result.add(size);
+        return result;
+    }
+
+    private static Model parseChunk(FileChannel channel, long start, long end, RDFFormat format,
+            Function<Model, RDFHandler> chunkHandler) throws IOException {
+        final Model result = new LinkedHashModel();
+        if (end <= start) {
+            return result;
+        }
+        final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        final RDFParser parser = Rio.createParser(format, SimpleValueFactory.getInstance());
+        parser.setParserConfig(CHUNK_PARSER_CONFIG);
+        parser.setParseErrorListener(new ParseErrorLogger());
+        parser.setRDFHandler(chunkHandler.apply(result));
+        parser.parse(new ByteBufferInputStream(buffer), "");
+        return result;
+    }
+
+    private static Model getChunk(Future<Model> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
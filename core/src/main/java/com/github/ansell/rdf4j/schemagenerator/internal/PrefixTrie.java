@@ -0,0 +1,76 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trie of namespace prefixes, used to find the longest prefix of a string
+ * using a single walk along the string, however many prefixes there are.
+ *
+ * @param <V>
+ *            The type of the value stored for each prefix.
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class PrefixTrie<V> {
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+        private boolean isPrefix;
+        private V value;
+    }
+
+    private final Node<V> root = new Node<>();
+
+    private int size;
+
+    /**
+     * Add a prefix to the trie, replacing the value for the prefix if it was
+     * already added.
+     *
+     * @param prefix
+     *            The prefix.
+     * @param value
+     *            The value for the prefix.
+     */
+    public void put(String prefix, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node<>());
+        }
+        if (!node.isPrefix) {
+            size++;
+        }
+        node.isPrefix = true;
+        node.value = value;
+    }
+
+    /**
+     * Find the value for the longest prefix of the given string.
+     *
+     * @param string
+     *            The string to find a prefix for.
+     * @return The value for the longest prefix of the string, or null if none
+     *         of the prefixes match.
+     */
+    public V getLongestPrefixValue(String string) {
+        Node<V> node = root;
+        V result = root.value;
+        for (int i = 0; i < string.length(); i++) {
+            node = node.children.get(string.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.isPrefix) {
+                result = node.value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of prefixes in the trie.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -32,6 +32,11 @@ public class SchemaRecordImpl implements SchemaRecord {
         this.description = nextDescription;
     }
 
+    public SchemaRecordImpl(SchemaTerm term, String formattedRecordKey, String language) {
+        this(term.getIRI(), formattedRecordKey, term.getKey(), term.getLabel(language),
+                term.getComment(language));
+    }
+
     @Override
     public IRI getIRI() {
         return iri;
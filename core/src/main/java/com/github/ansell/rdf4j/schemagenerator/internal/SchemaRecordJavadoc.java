@@ -0,0 +1,81 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import org.apache.commons.text.WordUtils;
+
+import com.github.ansell.rdf4j.schemagenerator.SchemaRecord;
+
+import freemarker.template.utility.StringUtil;
+
+/**
+ * Renders the Javadoc comment for a {@link SchemaRecord}, so that it can be
+ * rendered once per term and reused for each of the constants that are
+ * generated for the term.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaRecordJavadoc {
+
+    private static final int WRAP_LENGTH = 70;
+
+    private SchemaRecordJavadoc() {
+    }
+
+    /**
+     * Render the Javadoc comment for the given record, starting with the
+     * opening {@code /**} and ending with the closing {@code *&#47;}, without
+     * indentation before the first line or a line ending after the last line.
+     *
+     * @param record
+     *            The record to render.
+     * @param indent
+     *            The indentation for each line after the first line.
+     * @return The Javadoc comment for the record.
+     */
+    public static String render(SchemaRecord record, String indent) {
+        final String iri = escape(record.getIRI().stringValue());
+        final StringBuilder result = new StringBuilder(256);
+        result.append("/**\n");
+        if (record.getLabel().isPresent()) {
+            result.append(indent).append(" * ")
+                    .append(escapeAndWrap(record.getLabel().get().stringValue(), indent))
+                    .append('\n');
+            result.append(indent).append(" * <p>\n");
+        }
+        result.append(indent).append(" * {@code ").append(iri).append("}\n");
+        if (record.getDescription().isPresent()) {
+            result.append(indent).append(" * <p>\n");
+            result.append(indent).append(" * ")
+                    .append(escapeAndWrap(record.getDescription().get().stringValue(), indent))
+                    .append('\n');
+        }
+        result.append(indent).append(" * @see <a href=\"").append(iri).append("\">")
+                .append(escape(record.getRawRecordKey())).append("</a>\n");
+        result.append(indent).append(" */");
+        return result.toString();
+    }
+
+    /**
+     * Escape the given string in the same way as the FreeMarker {@code ?html}
+     * built-in.
+     *
+     * @param rawString
+     *            The string to escape.
+     * @return The escaped string.
+     */
+    public static String escape(String rawString) {
+        return StringUtil.XHTMLEnc(rawString);
+    }
+
+    /**
+     * Escape the given string and wrap it to fit into a Javadoc comment.
+     *
+     * @param rawString
+     *            The string to escape and wrap.
+     * @param indent
+     *            The indentation for the Javadoc comment.
+     * @return The escaped and wrapped string.
+     */
+    public static String escapeAndWrap(String rawString, String indent) {
+        return WordUtils.wrap(escape(rawString), WRAP_LENGTH, "\n " + indent + " * ", false);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.Objects;
+
+import com.github.ansell.rdf4j.schemagenerator.SchemaRecord;
+
+import freemarker.template.AdapterTemplateModel;
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+/**
+ * A FreeMarker {@link TemplateHashModel} for a {@link SchemaRecord}, exposing
+ * the values used by the schema templates without reflection.
+ * <p>
+ * The keys {@code iri}, {@code namespace}, {@code localName},
+ * {@code formattedRecordKey}, {@code rawRecordKey}, {@code label},
+ * {@code description} and {@code javadoc} are available directly. Any other
+ * key, such as the method calls used by older custom templates, is delegated
+ * to a {@link freemarker.ext.beans.BeansWrapper} model for the record, which
+ * is only created when it is needed.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaRecordTemplateModel implements TemplateHashModel, AdapterTemplateModel {
+
+    private final SchemaRecord record;
+    private final SimpleScalar iri;
+    private final SimpleScalar formattedRecordKey;
+    private final SimpleScalar rawRecordKey;
+    private final SimpleScalar label;
+    private final SimpleScalar description;
+    private final SimpleScalar javadoc;
+    private TemplateHashModel beanModel;
+
+    /**
+     * @param record
+     *            The record to expose to templates.
+     * @param javadoc
+     *            The rendered Javadoc comment for the record, which may be
+     *            shared with other records for the same term.
+     */
+    public SchemaRecordTemplateModel(SchemaRecord record, String javadoc) {
+        this.record = Objects.requireNonNull(record, "Record cannot be null");
+        this.iri = new SimpleScalar(record.getIRI().stringValue());
+        this.formattedRecordKey = new SimpleScalar(record.getFormattedRecordKey());
+        this.rawRecordKey = new SimpleScalar(record.getRawRecordKey());
+        this.label = record.getLabel().map(l -> new SimpleScalar(l.stringValue())).orElse(null);
+        this.description = record.getDescription().map(l -> new SimpleScalar(l.stringValue()))
+                .orElse(null);
+        this.javadoc = new SimpleScalar(javadoc);
+    }
+
+    @Override
+    public TemplateModel get(String key) throws TemplateModelException {
+        switch (key) {
+        case "iri":
+            return iri;
+        case "namespace":
+            return new SimpleScalar(record.getIRI().getNamespace());
+        case "localName":
+            return new SimpleScalar(record.getIRI().getLocalName());
+        case "formattedRecordKey":
+            return formattedRecordKey;
+        case "rawRecordKey":
+            return rawRecordKey;
+        case "label":
+            return label;
+        case "description":
+            return description;
+        case "javadoc":
+            return javadoc;
+        default:
+            if (beanModel == null) {
+                beanModel = (TemplateHashModel) SchemaTemplates.getBeansWrapper().wrap(record);
+            }
+            return beanModel.get(key);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Object getAdaptedObject(@SuppressWarnings("rawtypes") Class hint) {
+        return record;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.Objects;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+/**
+ * An {@link org.eclipse.rdf4j.rio.RDFHandler} that only keeps the statements
+ * that are needed to generate a schema for a single prefix, so that the memory
+ * used depends on the size of the vocabulary rather than the size of the
+ * input.
+ * <p>
+ * The statements that are kept are:
+ * <ul>
+ * <li>{@code rdf:type owl:Ontology} statements for any subject</li>
+ * <li>label and comment literals for subjects under the prefix</li>
+ * <li>{@code rdfs:seeAlso} statements for the prefix itself</li>
+ * <li>the first statement seen for each other subject under the prefix, so
+ * that the subject is still known to be a term</li>
+ * </ul>
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaStatementFilter extends AbstractRDFHandler {
+
+    private final String prefix;
+    private final IRI[] labelPredicates;
+    private final IRI[] commentPredicates;
+    private final Model target;
+
+    /**
+     * @param prefix
+     *            The prefix for the schema.
+     * @param labelPredicates
+     *            The predicates that are used for labels.
+     * @param commentPredicates
+     *            The predicates that are used for comments.
+     * @param target
+     *            The model to add the relevant statements to.
+     */
+    public SchemaStatementFilter(String prefix, IRI[] labelPredicates, IRI[] commentPredicates,
+            Model target) {
+        this.prefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+        this.labelPredicates = labelPredicates;
+        this.commentPredicates = commentPredicates;
+        this.target = Objects.requireNonNull(target, "Target model cannot be null");
+    }
+
+    @Override
+    public void handleStatement(Statement st) throws RDFHandlerException {
+        if (isRelevant(st)) {
+            target.add(st);
+        }
+    }
+
+    /**
+     * Check whether the given statement is needed to generate the schema.
+     *
+     * @param st
+     *            The statement to check.
+     * @return True if the statement must be kept, and false otherwise.
+     */
+    protected boolean isRelevant(Statement st) {
+        final IRI predicate = st.getPredicate();
+        if (RDF.TYPE.equals(predicate) && OWL.ONTOLOGY.equals(st.getObject())) {
+            return true;
+        }
+
+        final Resource subject = st.getSubject();
+        if (!(subject instanceof IRI)) {
+            return false;
+        }
+        final String subjectString = subject.stringValue();
+        if (!subjectString.startsWith(prefix)) {
+            return false;
+        }
+
+        if (st.getObject() instanceof Literal
+                && (contains(labelPredicates, predicate) || contains(commentPredicates, predicate))) {
+            return true;
+        }
+        if (subjectString.length() == prefix.length() && RDFS.SEEALSO.equals(predicate)) {
+            return true;
+        }
+        return !target.contains(subject, null, null);
+    }
+
+    private static boolean contains(IRI[] predicates, IRI predicate) {
+        for (final IRI nextPredicate : predicates) {
+            if (nextPredicate.equals(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import freemarker.ext.beans.BeansWrapper;
+import freemarker.ext.beans.BeansWrapperBuilder;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+/**
+ * A process-wide cache of the FreeMarker configuration, the compiled schema
+ * templates, and the static models that are made available to templates.
+ * <p>
+ * FreeMarker {@link Configuration} and {@link Template} objects are thread
+ * safe once they are set up, so they are shared between all generators in the
+ * JVM.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaTemplates {
+
+    private static final Configuration CONFIGURATION;
+
+    private static final BeansWrapper BEANS_WRAPPER;
+
+    private static final TemplateModel STRING_UTILS;
+
+    private static final TemplateModel WORD_UTILS;
+
+    private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    static {
+        CONFIGURATION = new Configuration(Configuration.VERSION_2_3_25);
+        CONFIGURATION.setClassForTemplateLoading(SchemaTemplates.class, "/");
+        CONFIGURATION.setDefaultEncoding("UTF-8");
+
+        BEANS_WRAPPER = new BeansWrapperBuilder(Configuration.VERSION_2_3_25).build();
+        final TemplateHashModel staticModels = BEANS_WRAPPER.getStaticModels();
+        try {
+            STRING_UTILS = staticModels.get("org.apache.commons.lang3.StringUtils");
+            WORD_UTILS = staticModels.get("org.apache.commons.lang3.text.WordUtils");
+        } catch (final TemplateModelException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private SchemaTemplates() {
+    }
+
+    /**
+     * Get the compiled template for the given class path location, loading and
+     * caching it if this is the first time it has been requested.
+     *
+     * @param templatePath
+     *            The class path location of the template.
+     * @return The compiled template.
+     * @throws IOException
+     *             If the template could not be found or parsed.
+     */
+    public static Template getTemplate(String templatePath) throws IOException {
+        final Template cached = TEMPLATES.get(templatePath);
+        if (cached != null) {
+            return cached;
+        }
+        final Template template = CONFIGURATION.getTemplate(templatePath);
+        final Template existing = TEMPLATES.putIfAbsent(templatePath, template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     *
+     * @return The shared {@link BeansWrapper}, used to expose objects that do
+     *         not have a dedicated template model.
+     */
+    public static BeansWrapper getBeansWrapper() {
+        return BEANS_WRAPPER;
+    }
+
+    /**
+     *
+     * @return The static model for {@link org.apache.commons.lang3.StringUtils}.
+     */
+    public static TemplateModel getStringUtils() {
+        return STRING_UTILS;
+    }
+
+    /**
+     *
+     * @return The static model for
+     *         {@link org.apache.commons.lang3.text.WordUtils}.
+     */
+    public static TemplateModel getWordUtils() {
+        return WORD_UTILS;
+    }
+}
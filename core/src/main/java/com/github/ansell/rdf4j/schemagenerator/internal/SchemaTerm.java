@@ -0,0 +1,158 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+
+/**
+ * A single term from a schema, along with the label and comment literals that
+ * were attached to it, grouped by predicate and language.
+ * <p>
+ * One instance is shared by every {@link SchemaRecordImpl} created for the
+ * term, and by the resource bundle generation, so the source model only needs
+ * to be scanned once.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaTerm {
+
+    private final IRI iri;
+    private final String key;
+    private final LiteralGroup[] labels;
+    private final LiteralGroup[] comments;
+
+    SchemaTerm(IRI iri, String key, int labelPredicateCount, int commentPredicateCount) {
+        this.iri = Objects.requireNonNull(iri, "IRI cannot be null");
+        this.key = Objects.requireNonNull(key, "Key cannot be null for IRI: " + iri);
+        this.labels = new LiteralGroup[labelPredicateCount];
+        this.comments = new LiteralGroup[commentPredicateCount];
+    }
+
+    /**
+     *
+     * @return The IRI for this term.
+     */
+    public IRI getIRI() {
+        return iri;
+    }
+
+    /**
+     *
+     * @return The raw key for this term, which is the IRI with the schema
+     *         prefix removed.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     *
+     * @param language
+     *            The preferred language, may be null.
+     * @return The label from the first label predicate that has a literal,
+     *         preferring a literal in the given language, or null if there are
+     *         no labels.
+     */
+    public Literal getLabel(String language) {
+        return getFirst(labels, language);
+    }
+
+    /**
+     *
+     * @param language
+     *            The preferred language, may be null.
+     * @return The comment from the first comment predicate that has a literal,
+     *         preferring a literal in the given language, or null if there are
+     *         no comments.
+     */
+    public Literal getComment(String language) {
+        return getFirst(comments, language);
+    }
+
+    /**
+     * Sends the first label for each predicate and language to the given
+     * consumer, in label predicate order.
+     *
+     * @param consumer
+     *            The consumer for the labels.
+     */
+    public void forEachLabel(Consumer<Literal> consumer) {
+        forEach(labels, consumer);
+    }
+
+    /**
+     * Sends the first comment for each predicate and language to the given
+     * consumer, in comment predicate order.
+     *
+     * @param consumer
+     *            The consumer for the comments.
+     */
+    public void forEachComment(Consumer<Literal> consumer) {
+        forEach(comments, consumer);
+    }
+
+    void addLabel(int predicateIndex, Literal literal) {
+        add(labels, predicateIndex, literal);
+    }
+
+    void addComment(int predicateIndex, Literal literal) {
+        add(comments, predicateIndex, literal);
+    }
+
+    private static void add(LiteralGroup[] groups, int predicateIndex, Literal literal) {
+        LiteralGroup group = groups[predicateIndex];
+        if (group == null) {
+            group = new LiteralGroup();
+            groups[predicateIndex] = group;
+        }
+        group.add(literal);
+    }
+
+    private static Literal getFirst(LiteralGroup[] groups, String language) {
+        for (final LiteralGroup group : groups) {
+            if (group != null) {
+                return group.get(language);
+            }
+        }
+        return null;
+    }
+
+    private static void forEach(LiteralGroup[] groups, Consumer<Literal> consumer) {
+        for (final LiteralGroup group : groups) {
+            if (group != null) {
+                group.byLanguage.values().forEach(consumer);
+            }
+        }
+    }
+
+    /**
+     * The literals for a single predicate, keeping the first literal seen for
+     * each language tag, with a null key for literals without a language.
+     */
+    private static final class LiteralGroup {
+
+        private Literal first;
+        private final Map<String, Literal> byLanguage = new LinkedHashMap<>(4);
+
+        void add(Literal literal) {
+            if (first == null) {
+                first = literal;
+            }
+            byLanguage.putIfAbsent(literal.getLanguage().orElse(null), literal);
+        }
+
+        Literal get(String language) {
+            if (language != null) {
+                final Literal result = byLanguage.get(language);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+
+/**
+ * An index of the terms in a {@link Model} that are under a single prefix,
+ * built using a single pass over the statements in the model. Indexes for
+ * several prefixes can be built using a single pass with
+ * {@link #buildAll(Model, Collection, IRI[], IRI[])}.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class SchemaTermIndex {
+
+    private static final Comparator<SchemaTerm> KEY_ORDER = Comparator
+            .comparing(SchemaTerm::getKey, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SchemaTerm::getKey);
+
+    private final String prefix;
+    private final SchemaTerm prefixTerm;
+    private final Set<Value> seeAlso;
+    private final List<SchemaTerm> terms;
+
+    private SchemaTermIndex(String prefix, SchemaTerm prefixTerm, Set<Value> seeAlso,
+            List<SchemaTerm> terms) {
+        this.prefix = prefix;
+        this.prefixTerm = prefixTerm;
+        this.seeAlso = Collections.unmodifiableSet(seeAlso);
+        this.terms = Collections.unmodifiableList(terms);
+    }
+
+    /**
+     * Build an index of the terms in the given model that have IRIs starting
+     * with the given prefix.
+     *
+     * @param model
+     *            The model to index.
+     * @param prefix
+     *            The prefix for the schema.
+     * @param labelPredicates
+     *            The predicates to use for labels, in order of preference.
+     * @param commentPredicates
+     *            The predicates to use for comments, in order of preference.
+     * @return An index of the terms in the model.
+     */
+    public static SchemaTermIndex build(Model model, String prefix, IRI[] labelPredicates,
+            IRI[] commentPredicates) {
+        final Builder builder = new Builder(prefix, labelPredicates, commentPredicates);
+        for (final Statement nextStatement : model) {
+            final Resource nextSubject = nextStatement.getSubject();
+            if (nextSubject instanceof IRI && nextSubject.stringValue().startsWith(prefix)) {
+                builder.add(nextStatement);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build an index for each of the given prefixes using a single pass over
+     * the model. Each term is only added to the index for the longest of the
+     * prefixes that its IRI starts with, so a prefix that is nested inside
+     * another prefix takes its terms away from the outer prefix.
+     *
+     * @param model
+     *            The model to index.
+     * @param prefixes
+     *            The prefixes to build indexes for.
+     * @param labelPredicates
+     *            The predicates to use for labels, in order of preference.
+     * @param commentPredicates
+     *            The predicates to use for comments, in order of preference.
+     * @return An index for each prefix, in the order of the given prefixes.
+     */
+    public static Map<String, SchemaTermIndex> buildAll(Model model,
+            Collection<String> prefixes, IRI[] labelPredicates, IRI[] commentPredicates) {
+        final PrefixTrie<Builder> trie = new PrefixTrie<>();
+        final Map<String, Builder> builders = new LinkedHashMap<>();
+        for (final String nextPrefix : prefixes) {
+            final Builder builder = new Builder(nextPrefix, labelPredicates, commentPredicates);
+            builders.put(nextPrefix, builder);
+            trie.put(nextPrefix, builder);
+        }
+
+        for (final Statement nextStatement : model) {
+            final Resource nextSubject = nextStatement.getSubject();
+            if (nextSubject instanceof IRI) {
+                final Builder builder = trie.getLongestPrefixValue(nextSubject.stringValue());
+                if (builder != null) {
+                    builder.add(nextStatement);
+                }
+            }
+        }
+
+        final Map<String, SchemaTermIndex> result = new LinkedHashMap<>();
+        for (final Entry<String, Builder> nextBuilder : builders.entrySet()) {
+            result.put(nextBuilder.getKey(), nextBuilder.getValue().build());
+        }
+        return result;
+    }
+
+    /**
+     * Collects the terms for a single prefix, from statements with subjects
+     * that are known to start with the prefix.
+     */
+    private static final class Builder {
+
+        private final String prefix;
+        private final IRI[] labelPredicates;
+        private final IRI[] commentPredicates;
+        private final Map<IRI, SchemaTerm> termsByIRI = new HashMap<>();
+        private final Set<Value> seeAlso = new LinkedHashSet<>();
+        private SchemaTerm prefixTerm;
+
+        Builder(String prefix, IRI[] labelPredicates, IRI[] commentPredicates) {
+            this.prefix = Objects.requireNonNull(prefix, "Prefix cannot be null");
+            this.labelPredicates = labelPredicates;
+            this.commentPredicates = commentPredicates;
+        }
+
+        void add(Statement nextStatement) {
+            final IRI nextSubject = (IRI) nextStatement.getSubject();
+            final String nextSubjectString = nextSubject.stringValue();
+
+            final SchemaTerm term;
+            if (nextSubjectString.length() == prefix.length()) {
+                if (prefixTerm == null) {
+                    prefixTerm = new SchemaTerm(nextSubject, "", labelPredicates.length,
+                            commentPredicates.length);
+                }
+                term = prefixTerm;
+                if (RDFS.SEEALSO.equals(nextStatement.getPredicate())) {
+                    seeAlso.add(nextStatement.getObject());
+                }
+            } else {
+                SchemaTerm existing = termsByIRI.get(nextSubject);
+                if (existing == null) {
+                    existing = new SchemaTerm(nextSubject,
+                            nextSubjectString.substring(prefix.length()), labelPredicates.length,
+                            commentPredicates.length);
+                    termsByIRI.put(nextSubject, existing);
+                }
+                term = existing;
+            }
+
+            final Value nextObject = nextStatement.getObject();
+            if (nextObject instanceof Literal) {
+                final IRI nextPredicate = nextStatement.getPredicate();
+                final int labelIndex = indexOf(labelPredicates, nextPredicate);
+                if (labelIndex >= 0) {
+                    term.addLabel(labelIndex, (Literal) nextObject);
+                }
+                final int commentIndex = indexOf(commentPredicates, nextPredicate);
+                if (commentIndex >= 0) {
+                    term.addComment(commentIndex, (Literal) nextObject);
+                }
+            }
+        }
+
+        SchemaTermIndex build() {
+            final List<SchemaTerm> terms = new ArrayList<>(termsByIRI.values());
+            terms.sort(KEY_ORDER);
+            return new SchemaTermIndex(prefix, prefixTerm, seeAlso, terms);
+        }
+    }
+
+    private static int indexOf(IRI[] predicates, IRI predicate) {
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i].equals(predicate)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * @return The prefix that was used to build this index.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     *
+     * @return The term for the prefix IRI itself, or null if the prefix was
+     *         not used as a subject in the model.
+     */
+    public SchemaTerm getPrefixTerm() {
+        return prefixTerm;
+    }
+
+    /**
+     *
+     * @return The objects of {@link RDFS#SEEALSO} statements about the prefix
+     *         IRI.
+     */
+    public Set<Value> getSeeAlso() {
+        return seeAlso;
+    }
+
+    /**
+     *
+     * @return The terms under the prefix, sorted case-insensitively by key.
+     */
+    public List<SchemaTerm> getTerms() {
+        return terms;
+    }
+}
@@ -0,0 +1,354 @@
+package com.github.ansell.rdf4j.schemagenerator.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Stores the statements that are needed to generate schemas from an input
+ * file in a compact binary snapshot, so that later runs can skip parsing the
+ * input.
+ * <p>
+ * Unlike {@link SchemaStatementFilter}, the statements that are kept do not
+ * depend on the prefix, so a snapshot can be used to generate a schema for any
+ * prefix in the input. The snapshot is named using a hash of the path of the
+ * input followed by a hash of its content, so a changed input never uses an
+ * old snapshot, and the snapshots for earlier versions of an input are deleted
+ * when a new snapshot is written for it.
+ * <p>
+ * Each string in a snapshot is written once, the first time that it is used,
+ * and then referred to by its position, so the IRIs and language tags that are
+ * repeated in most statements only take a few bytes each.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public final class TermSnapshot {
+
+    private static final int MAGIC = 0x52534753;
+
+    /**
+     * Changed whenever the layout, or the statements that are kept, change.
+     */
+    private static final int VERSION = 1;
+
+    private static final byte IRI_VALUE = 0;
+    private static final byte BNODE_VALUE = 1;
+    private static final byte LITERAL_VALUE = 2;
+    private static final byte LANGUAGE_LITERAL_VALUE = 3;
+
+    private static final int NEW_STRING = -1;
+
+    private static final String SUFFIX = ".snapshot";
+
+    /**
+     * The number of characters from the hash of the path of the input at the
+     * start of the name of each snapshot.
+     */
+    private static final int INPUT_KEY_LENGTH = 16;
+
+    private TermSnapshot() {
+    }
+
+    /**
+     * Create a handler that keeps the statements which are needed to generate
+     * a schema for any prefix.
+     *
+     * @param labelPredicates
+     *            The predicates that are used for labels.
+     * @param commentPredicates
+     *            The predicates that are used for comments.
+     * @param target
+     *            The model to add the statements to.
+     * @return A handler that adds the statements that are needed to the target.
+     */
+    public static RDFHandler filter(IRI[] labelPredicates, IRI[] commentPredicates,
+            Model target) {
+        return new SchemaStatementFilter("", labelPredicates, commentPredicates, target) {
+            @Override
+            protected boolean isRelevant(Statement st) {
+                // The prefix is not known yet, so rdfs:seeAlso is kept for
+                // every subject, not only for the prefix
+                return super.isRelevant(st) || (st.getSubject() instanceof IRI
+                        && RDFS.SEEALSO.equals(st.getPredicate()));
+            }
+        };
+    }
+
+    /**
+     * Find the name of the snapshot for an input.
+     *
+     * @param file
+     *            The input file.
+     * @param format
+     *            The format that the input file is parsed using.
+     * @param labelPredicates
+     *            The predicates that are used for labels.
+     * @param commentPredicates
+     *            The predicates that are used for comments.
+     * @return A file name for the snapshot, based on a hash of the input.
+     * @throws IOException
+     *             If the input could not be read.
+     */
+    public static String getFileName(Path file, RDFFormat format, IRI[] labelPredicates,
+            IRI[] commentPredicates) throws IOException {
+        return getFileName(file, hashContent(file), format, labelPredicates,
+                commentPredicates);
+    }
+
+    /**
+     * Find the name of the snapshot for an input, using a hash of its content
+     * that is already known.
+     *
+     * @param file
+     *            The input file.
+     * @param contentHash
+     *            The hash of the content of the input file, from
+     *            {@link #hashContent(Path)}.
+     * @param format
+     *            The format that the input file is parsed using.
+     * @param labelPredicates
+     *            The predicates that are used for labels.
+     * @param commentPredicates
+     *            The predicates that are used for comments.
+     * @return A file name for the snapshot, starting with a hash of the path
+     *         of the input.
+     */
+    public static String getFileName(Path file, String contentHash, RDFFormat format,
+            IRI[] labelPredicates, IRI[] commentPredicates) {
+        final String inputKey = Hashing.sha256()
+                .hashString(file.toAbsolutePath().normalize().toString(),
+                        StandardCharsets.UTF_8)
+                .toString().substring(0, INPUT_KEY_LENGTH);
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(VERSION);
+        hasher.putString(String.valueOf(format), StandardCharsets.UTF_8);
+        for (final IRI nextPredicate : labelPredicates) {
+            hasher.putString(nextPredicate.stringValue(), StandardCharsets.UTF_8).putByte(
+                    (byte) 0);
+        }
+        for (final IRI nextPredicate : commentPredicates) {
+            hasher.putString(nextPredicate.stringValue(), StandardCharsets.UTF_8).putByte(
+                    (byte) 0);
+        }
+        hasher.putString(contentHash, StandardCharsets.UTF_8);
+        return inputKey + "-" + hasher.hash().toString() + SUFFIX;
+    }
+
+    /**
+     * Hash the content of an input file.
+     *
+     * @param file
+     *            The input file.
+     * @return The SHA-256 hash of the content of the file, as a hexadecimal
+     *         string.
+     * @throws IOException
+     *             If the input could not be read.
+     */
+    public static String hashContent(Path file) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        try (final InputStream input = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[65536];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                hasher.putBytes(buffer, 0, read);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Write a snapshot. The snapshot is written to a temporary file first, so
+     * a snapshot that is being written is never read. Once it has been
+     * written, the other snapshots for the same input are deleted.
+     *
+     * @param model
+     *            The statements to write.
+     * @param snapshot
+     *            The file to write the snapshot to.
+     * @throws IOException
+     *             If the snapshot could not be written.
+     */
+    public static void write(Model model, Path snapshot) throws IOException {
+        final Path directory = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(),
+                ".tmp");
+        try {
+            try (final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 65536))) {
+                final Map<String, Integer> strings = new HashMap<>();
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(model.size());
+                for (final Statement nextStatement : model) {
+                    writeValue(out, strings, nextStatement.getSubject());
+                    writeString(out, strings, nextStatement.getPredicate().stringValue());
+                    writeValue(out, strings, nextStatement.getObject());
+                }
+            }
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        prune(snapshot);
+    }
+
+    /**
+     * Delete the snapshots for earlier versions of the same input.
+     */
+    private static void prune(Path snapshot) throws IOException {
+        final String name = snapshot.getFileName().toString();
+        final int separator = name.indexOf('-');
+        if (separator <= 0 || !name.endsWith(SUFFIX)) {
+            return;
+        }
+        final String inputKey = name.substring(0, separator + 1);
+        try (final DirectoryStream<Path> others = Files.newDirectoryStream(
+                snapshot.toAbsolutePath().getParent(), inputKey + "*" + SUFFIX)) {
+            for (final Path nextSnapshot : others) {
+                if (!nextSnapshot.getFileName().toString().equals(name)) {
+                    Files.deleteIfExists(nextSnapshot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a snapshot using a single read of the file.
+     *
+     * @param snapshot
+     *            The snapshot file.
+     * @return The statements in the snapshot, in the order they were written.
+     * @throws IOException
+     *             If the snapshot could not be read, or is not a snapshot
+     *             written by this version.
+     */
+    public static Model read(Path snapshot) throws IOException {
+        final byte[] bytes = Files.readAllBytes(snapshot);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a snapshot for this version: " + snapshot);
+        }
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        final List<String> strings = new ArrayList<>();
+        final Map<String, IRI> iris = new HashMap<>();
+        final int size = in.readInt();
+        final Model result = new LinkedHashModel(size);
+        for (int i = 0; i < size; i++) {
+            final Value subject = readValue(in, strings, iris, vf);
+            final IRI predicate = iris.computeIfAbsent(readString(in, strings), vf::createIRI);
+            final Value object = readValue(in, strings, iris, vf);
+            if (!(subject instanceof Resource)) {
+                throw new IOException("Invalid subject in snapshot: " + snapshot);
+            }
+            result.add((Resource) subject, predicate, object);
+        }
+        return result;
+    }
+
+    private static void writeValue(DataOutputStream out, Map<String, Integer> strings,
+            Value value) throws IOException {
+        if (value instanceof IRI) {
+            out.writeByte(IRI_VALUE);
+            writeString(out, strings, value.stringValue());
+        } else if (value instanceof BNode) {
+            out.writeByte(BNODE_VALUE);
+            writeString(out, strings, ((BNode) value).getID());
+        } else {
+            final Literal literal = (Literal) value;
+            if (literal.getLanguage().isPresent()) {
+                out.writeByte(LANGUAGE_LITERAL_VALUE);
+                writeString(out, strings, literal.getLabel());
+                writeString(out, strings, literal.getLanguage().get());
+            } else {
+                out.writeByte(LITERAL_VALUE);
+                writeString(out, strings, literal.getLabel());
+                writeString(out, strings, literal.getDatatype().stringValue());
+            }
+        }
+    }
+
+    private static Value readValue(DataInputStream in, List<String> strings,
+            Map<String, IRI> iris, ValueFactory vf) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+        case IRI_VALUE:
+            return iris.computeIfAbsent(readString(in, strings), vf::createIRI);
+        case BNODE_VALUE:
+            return vf.createBNode(readString(in, strings));
+        case LANGUAGE_LITERAL_VALUE:
+            final String label = readString(in, strings);
+            return vf.createLiteral(label, readString(in, strings));
+        case LITERAL_VALUE:
+            final String value = readString(in, strings);
+            return vf.createLiteral(value,
+                    iris.computeIfAbsent(readString(in, strings), vf::createIRI));
+        default:
+            throw new IOException("Unknown value type in snapshot: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> strings,
+            String value) throws IOException {
+        final Integer index = strings.get(value);
+        if (index != null) {
+            out.writeInt(index);
+        } else {
+            strings.put(value, strings.size());
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(NEW_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in, List<String> strings)
+            throws IOException {
+        final int index = in.readInt();
+        if (index != NEW_STRING) {
+            if (index < 0 || index >= strings.size()) {
+                throw new IOException("Invalid string reference in snapshot: " + index);
+            }
+            return strings.get(index);
+        }
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        final String result = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(result);
+        return result;
+    }
+}
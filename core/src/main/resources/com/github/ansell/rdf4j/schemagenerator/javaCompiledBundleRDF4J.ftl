@@ -0,0 +1,175 @@
+<#macro doI level=1><#list 1..level as i>${indent}</#list></#macro>
+<#macro ordinalSwitch bucket level=2>
+<@doI level=level/>switch (iri) {
+<#list bucket as lookupCase>
+<@doI level=level/>case "${lookupCase.key?j_string}":
+<@doI level=level+1/>return ${lookupCase.constant};
+</#list>
+<@doI level=level/>default:
+<@doI level=level+1/>return -1;
+<@doI level=level/>}
+</#macro>
+<#macro textSwitch bucket level=3>
+<@doI level=level/>switch (ordinal) {
+<#list bucket as text>
+<@doI level=level/>case ${text.ordinal?c}:
+<@doI level=level+1/>return "${text.text?j_string}";
+</#list>
+<@doI level=level/>default:
+<@doI level=level+1/>return null;
+<@doI level=level/>}
+</#macro>
+<#macro textMethods name buckets>
+
+<@doI level=2/>static String ${name}(int ordinal) {
+<#if buckets?size == 1>
+<@textSwitch bucket=buckets[0]/>
+<#else>
+<@doI level=3/>switch (ordinal / ${bucketSize?c}) {
+<#list buckets as bucket>
+<#if bucket?has_content>
+<@doI level=3/>case ${bucket?index?c}:
+<@doI level=4/>return ${name?cap_first}${bucket?index?c}.${name}(ordinal);
+</#if>
+</#list>
+<@doI level=3/>default:
+<@doI level=4/>return null;
+<@doI level=3/>}
+</#if>
+<@doI level=2/>}
+<#if buckets?size gt 1>
+<#list buckets as bucket>
+<#if bucket?has_content>
+
+<@doI level=2/>private static final class ${name?cap_first}${bucket?index?c} {
+
+<@doI level=3/>static String ${name}(int ordinal) {
+<@textSwitch bucket=bucket level=4/>
+<@doI level=3/>}
+<@doI level=2/>}
+</#if>
+</#list>
+</#if>
+</#macro>
+/*
+ * Auto-generated by RDF4JSchemaGenerator
+ */
+<#if packageName??>
+package ${packageName};
+
+</#if>
+import java.util.Locale;
+
+import org.eclipse.rdf4j.model.IRI;
+
+/**
+ * The labels and comments for the terms in {@link ${schemaClassName?j_string}}, which are
+ * compiled into this class instead of being read from properties files.
+ */
+public final class ${className?j_string} {
+
+<@doI/>private ${className?j_string}() {
+<@doI/>}
+
+<@doI/>/**
+<@doI/> * Find the label for a term.
+<@doI/> *
+<@doI/> * @param iri
+<@doI/> *            The IRI of the term.
+<@doI/> * @param locale
+<@doI/> *            The locale for the label. If there is no label in the
+<@doI/> *            language of the locale, the default label is used.
+<@doI/> * @return The label, or null if there is none.
+<@doI/> */
+<@doI/>public static String label(IRI iri, Locale locale) {
+<@doI level=2/>return find(iri, locale, false);
+<@doI/>}
+
+<@doI/>/**
+<@doI/> * Find the comment for a term.
+<@doI/> *
+<@doI/> * @param iri
+<@doI/> *            The IRI of the term.
+<@doI/> * @param locale
+<@doI/> *            The locale for the comment. If there is no comment in the
+<@doI/> *            language of the locale, the default comment is used.
+<@doI/> * @return The comment, or null if there is none.
+<@doI/> */
+<@doI/>public static String comment(IRI iri, Locale locale) {
+<@doI level=2/>return find(iri, locale, true);
+<@doI/>}
+
+<@doI/>private static String find(IRI iri, Locale locale, boolean comment) {
+<@doI level=2/>final int ordinal = ordinal(iri.stringValue());
+<@doI level=2/>if (ordinal < 0) {
+<@doI level=3/>return null;
+<@doI level=2/>}
+<@doI level=2/>String result = null;
+<@doI level=2/>if (!locale.getCountry().isEmpty() || !locale.getScript().isEmpty()
+<@doI level=4/>|| !locale.getVariant().isEmpty()) {
+<@doI level=3/>result = find(locale.toLanguageTag().toLowerCase(Locale.ROOT), ordinal, comment);
+<@doI level=2/>}
+<@doI level=2/>if (result == null) {
+<@doI level=3/>result = find(locale.getLanguage(), ordinal, comment);
+<@doI level=2/>}
+<@doI level=2/>if (result == null) {
+<@doI level=3/>result = comment ? ${defaultTable.name}.comment(ordinal) : ${defaultTable.name}.label(ordinal);
+<@doI level=2/>}
+<@doI level=2/>return result;
+<@doI/>}
+
+<@doI/>private static String find(String language, int ordinal, boolean comment) {
+<@doI level=2/>switch (language) {
+<#list languageTables as table>
+<@doI level=2/>case "${table.language?j_string}":
+<@doI level=3/>return comment ? ${table.name}.comment(ordinal) : ${table.name}.label(ordinal);
+</#list>
+<@doI level=2/>default:
+<@doI level=3/>return null;
+<@doI level=2/>}
+<@doI/>}
+
+<@doI/>private static int ordinal(String iri) {
+<#if ordinalLookup.buckets?size == 1>
+<@ordinalSwitch bucket=ordinalLookup.buckets[0]/>
+<#else>
+<@doI level=2/>switch (Math.floorMod(iri.hashCode(), ${ordinalLookup.buckets?size?c})) {
+<#list ordinalLookup.buckets as bucket>
+<@doI level=2/>case ${bucket?index?c}:
+<@doI level=3/>return Ordinal${bucket?index?c}.ordinal(iri);
+</#list>
+<@doI level=2/>default:
+<@doI level=3/>return -1;
+<@doI level=2/>}
+</#if>
+<@doI/>}
+<#if ordinalLookup.buckets?size gt 1>
+<#list ordinalLookup.buckets as bucket>
+
+<@doI/>/**
+<@doI/> * The ordinals for the IRIs in one bucket of {@link #ordinal(String)}, in
+<@doI/> * their own class so that the IRIs are not all in this class.
+<@doI/> */
+<@doI/>private static final class Ordinal${bucket?index?c} {
+
+<@doI level=2/>static int ordinal(String iri) {
+<@ordinalSwitch bucket=bucket level=3/>
+<@doI level=2/>}
+<@doI/>}
+</#list>
+</#if>
+<#list [defaultTable] + languageTables as table>
+
+<@doI/>/**
+<#if table.language?has_content>
+<@doI/> * The texts in {@code ${table.language?html}}, which are only loaded when they are used.
+<#else>
+<@doI/> * The default texts, which are only loaded when they are used.
+</#if>
+<@doI/> */
+<@doI/>private static final class ${table.name} {
+<@textMethods name="label" buckets=table.labelBuckets/>
+<@textMethods name="comment" buckets=table.commentBuckets/>
+<@doI/>}
+</#list>
+}
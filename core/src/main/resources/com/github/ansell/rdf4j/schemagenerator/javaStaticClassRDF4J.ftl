@@ -1,23 +1,77 @@
-<#macro doI level=1>${StringUtils.repeat(indent, level)}</#macro>
-<#macro escapeAndWrapLine rawString><#assign escapedDescription = rawString?html>
-<#assign oneIndent><@doI/></#assign>
-${WordUtils.wrap(escapedDescription, 70, "\n ${oneIndent} * ", false)}</#macro>
-<#macro escapeAndWrapLineHTML rawString><#assign escapedDescription = rawString?html>
-<#assign oneIndent><@doI/></#assign>
-${WordUtils.wrap(escapedDescription, 70, "\n ${oneIndent} * ", false)}</#macro>
-<#macro schemaRecordJavadoc schemaRecord>
-/**
-<#if schemaRecord.getLabel().isPresent()>
-<@doI/> * <@escapeAndWrapLine rawString="${schemaRecord.getLabel().get().stringValue()}"/>
-<@doI/> * <p>
+<#macro doI level=1><#list 1..level as i>${indent}</#list></#macro>
+<#macro namespace iriConstant><#if iriConstant.namespace == prefix>NAMESPACE<#else>"${iriConstant.namespace?j_string}"</#if></#macro>
+<#macro createIri iriConstant><#if compactIris>new CompactIRI(<@namespace iriConstant=iriConstant/>, "${iriConstant.localName?j_string}")<#else>vf.createIRI("${iriConstant.iri?j_string}")</#if></#macro>
+<#macro lazyIriMethods level iriConstants>
+
+<@doI level=level/>private static final AtomicReferenceArray<IRI> LAZY_IRIS = new AtomicReferenceArray<>(${iriConstants?size?c});
+<#list iriConstants as iriConstant>
+
+<@doI level=level/>${iriConstant.javadoc}
+<@doI level=level/>public static IRI ${iriConstant.formattedRecordKey?j_string}() {
+<@doI level=level+1/>return lazyIRI(${iriConstant?index?c}, <#if compactIris><@namespace iriConstant=iriConstant/>, "${iriConstant.localName?j_string}"<#else>"${iriConstant.iri?j_string}"</#if>);
+<@doI level=level/>}
+</#list>
+
+<#if compactIris>
+<@doI level=level/>private static IRI lazyIRI(int index, String namespace, String localName) {
+<#else>
+<@doI level=level/>private static IRI lazyIRI(int index, String iri) {
 </#if>
-<@doI/> * {@code ${schemaRecord.getIRI().stringValue()?html}}
-<#if schemaRecord.getDescription().isPresent()>
-<@doI/> * <p>
-<@doI/> * <@escapeAndWrapLine rawString="${schemaRecord.getDescription().get().stringValue()}"/>
+<@doI level=level+1/>IRI result = LAZY_IRIS.get(index);
+<@doI level=level+1/>if (result == null) {
+<@doI level=level+2/>// Only the first IRI that is created is kept, so each method always
+<@doI level=level+2/>// returns the same object
+<#if compactIris>
+<@doI level=level+2/>LAZY_IRIS.compareAndSet(index, null, new CompactIRI(namespace, localName));
+<#else>
+<@doI level=level+2/>LAZY_IRIS.compareAndSet(index, null, SimpleValueFactory.getInstance().createIRI(iri));
 </#if>
-<@doI/> * @see <a href="${schemaRecord.getIRI().stringValue()?html}">${schemaRecord.getRawRecordKey()?html}</a>
+<@doI level=level+2/>result = LAZY_IRIS.get(index);
+<@doI level=level+1/>}
+<@doI level=level+1/>return result;
+<@doI level=level/>}
+</#macro>
+<#macro lookupSwitch parameter bucket missing>
+<@doI level=2/>switch (${parameter}) {
+<#list bucket as lookupCase>
+<@doI level=2/>case "${lookupCase.key?j_string}":
+<@doI level=3/>return ${lookupCase.constant};
+</#list>
+<@doI level=2/>default:
+<@doI level=3/>return ${missing};
+<@doI level=2/>}
+</#macro>
+<#macro lookupMethods name parameter summary parameterDescription lookup type="IRI" missing="null" returns="The IRI constant, or null if the term is not in this schema.">
+
+<@doI/>/**
+<@doI/> * ${summary}
+<@doI/> *
+<@doI/> * @param ${parameter}
+<@doI/> *            ${parameterDescription}
+<@doI/> * @return ${returns}
 <@doI/> */
+<@doI/>public static ${type} ${name}(String ${parameter}) {
+<#if lookup.buckets?size == 1>
+<@lookupSwitch parameter=parameter bucket=lookup.buckets[0] missing=missing/>
+<#else>
+<@doI level=2/>switch (Math.floorMod(${parameter}.hashCode(), ${lookup.buckets?size?c})) {
+<#list lookup.buckets as bucket>
+<@doI level=2/>case ${bucket?index?c}:
+<@doI level=3/>return ${name}${bucket?index?c}(${parameter});
+</#list>
+<@doI level=2/>default:
+<@doI level=3/>return ${missing};
+<@doI level=2/>}
+</#if>
+<@doI/>}
+<#if lookup.buckets?size gt 1>
+<#list lookup.buckets as bucket>
+
+<@doI/>private static ${type} ${name}${bucket?index?c}(String ${parameter}) {
+<@lookupSwitch parameter=parameter bucket=bucket missing=missing/>
+<@doI/>}
+</#list>
+</#if>
 </#macro>
 /*
  * Auto-generated by RDF4JSchemaGenerator
@@ -25,6 +79,10 @@ ${WordUtils.wrap(escapedDescription, 70, "\n ${oneIndent} * ", false)}</#macro>
 <#if packageName??>
 package ${packageName};
 
+</#if>
+<#if lazyIris>
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 </#if>
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -32,14 +90,14 @@ import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 
 /**
  * ${title!"No title found"?html}
-<#if description??>
- * ${description.stringValue()?html}
+<#if descriptionString??>
+ * ${descriptionString?html}
 </#if>
  *
  * Namespace ${name?html}
  * Prefix: {@code <${prefix?html}>}
  *
-<#list seeAlsoUrls as seeAlsoUrl>
+<#list seeAlsoUrlStrings as seeAlsoUrl>
  * @see <a href="${seeAlsoUrl?html}">${seeAlsoUrl?html}</a>
 </#list>
  */
@@ -60,39 +118,50 @@ public class ${className?j_string} <#if metaInfServicesInterface??>implements ${
 <@doI/> */
 <@doI/>public static final String PREFIX = "${name?j_string}"; 
 
+<#if ordinalLookup??>
+<@doI/>/**
+<@doI/> * The number of terms in this schema, and the number of term ordinals.
+<@doI/> */
+<@doI/>public static final int TERM_COUNT = ${termCount?c};
+
+</#if>
 <#if stringConstants??>
 <@doI/>/**********************
 <@doI/> * IRI String Constants
 <@doI/> **********************/
 <#list stringConstants as stringConstant>
 
-<@doI/><@schemaRecordJavadoc schemaRecord=stringConstant />
-<@doI/>public static final String ${stringConstant.getFormattedRecordKey()?j_string} = "${stringConstant.getRawRecordKey()?j_string}";
+<@doI/>${stringConstant.javadoc}
+<@doI/>public static final String ${stringConstant.formattedRecordKey?j_string} = "${stringConstant.rawRecordKey?j_string}";
 </#list>
-</#if>
 
+</#if>
 <#if localNameStringConstants??>
 <@doI/>/*****************************
 <@doI/> * Local Name String Constants
 <@doI/> *****************************/
 <#list localNameStringConstants as localNameStringConstant>
 
-<@doI/><@schemaRecordJavadoc schemaRecord=localNameStringConstant />
-<@doI/>public static final String ${localNameStringConstant.getFormattedRecordKey()?j_string} = "${localNameStringConstant.getRawRecordKey()?j_string}";
+<@doI/>${localNameStringConstant.javadoc}
+<@doI/>public static final String ${localNameStringConstant.formattedRecordKey?j_string} = "${localNameStringConstant.rawRecordKey?j_string}";
 </#list>
-</#if>
 
+</#if>
 <#if iriConstants??>
 <@doI/>/***************
 <@doI/> * IRI Constants
 <@doI/> ***************/
+<#if lazyIris>
+<@lazyIriMethods level=1 iriConstants=iriConstants/>
+<#else>
 <#list iriConstants as iriConstant>
 
-<@doI/><@schemaRecordJavadoc schemaRecord=iriConstant />
-<@doI/>public static final IRI ${iriConstant.getFormattedRecordKey()?j_string};
+<@doI/>${iriConstant.javadoc}
+<@doI/>public static final IRI ${iriConstant.formattedRecordKey?j_string};
 </#list>
 </#if>
 
+</#if>
 <@doI/>/**
 <@doI/> * Static initializer
 <@doI/> */
@@ -101,12 +170,12 @@ public class ${className?j_string} <#if metaInfServicesInterface??>implements ${
 
 <@doI/><@doI/>NAMESPACE_IRI = vf.createIRI(NAMESPACE);
 
-<#if iriConstants??>
+<#if iriConstants?? && !lazyIris>
 <@doI/><@doI/>/***********************
 <@doI/><@doI/> * IRI Constant creation
 <@doI/><@doI/> ***********************/
 <#list iriConstants as iriConstant>
-<@doI/><@doI/>${iriConstant.getFormattedRecordKey()?j_string} = vf.createIRI("${iriConstant.getIRI().stringValue()?j_string}");
+<@doI/><@doI/>${iriConstant.formattedRecordKey?j_string} = <@createIri iriConstant=iriConstant/>;
 </#list>
 </#if>
 <@doI/>}
@@ -120,4 +189,323 @@ public class ${className?j_string} <#if metaInfServicesInterface??>implements ${
 <@doI/>public ${className?j_string}() {
 <@doI/><@doI/>// To enable service discovery to succeed, even though this is a static class
 <@doI/>}
+<#if iriLookup??>
+
+<@doI/>/**
+<@doI/> * Find the IRI constant for an IRI.
+<@doI/> *
+<@doI/> * @param iri
+<@doI/> *            The IRI to find.
+<@doI/> * @return The IRI constant, or null if the term is not in this schema.
+<@doI/> */
+<@doI/>public static IRI fromIRI(IRI iri) {
+<@doI level=2/>return fromString(iri.stringValue());
+<@doI/>}
+<@lookupMethods name="fromString" parameter="iri" summary="Find the IRI constant for the string value of an IRI." parameterDescription="The string value of the IRI to find." lookup=iriLookup/>
+<@lookupMethods name="fromLocalName" parameter="localName" summary="Find the IRI constant for the name of a term after {@link #NAMESPACE}." parameterDescription="The name of the term to find." lookup=localNameLookup/>
+</#if>
+<#if ordinalLookup??>
+
+<@doI/>/**
+<@doI/> * Find the ordinal of a term, which is its position in the order of the IRI
+<@doI/> * constants, from 0 to {@link #TERM_COUNT} - 1.
+<@doI/> *
+<@doI/> * @param iri
+<@doI/> *            The IRI of the term.
+<@doI/> * @return The ordinal of the term, or -1 if the term is not in this schema.
+<@doI/> */
+<@doI/>public static int ordinal(IRI iri) {
+<@doI level=2/>return ordinal(iri.stringValue());
+<@doI/>}
+<@lookupMethods name="ordinal" parameter="iri" summary="Find the ordinal of a term using the string value of its IRI." parameterDescription="The string value of the IRI of the term." lookup=ordinalLookup type="int" missing="-1" returns="The ordinal of the term, or -1 if the term is not in this schema."/>
+
+<@doI/>private static int checkedOrdinal(IRI iri) {
+<@doI level=2/>final int result = ordinal(iri);
+<@doI level=2/>if (result < 0) {
+<@doI level=3/>throw new IllegalArgumentException("Not a term in " + NAMESPACE + ": " + iri);
+<@doI level=2/>}
+<@doI level=2/>return result;
+<@doI/>}
+
+<@doI/>/**
+<@doI/> * A set of the terms in this schema, using a bit for the ordinal of each
+<@doI/> * term. This class is not thread-safe.
+<@doI/> */
+<@doI/>public static final class TermSet {
+
+<@doI level=2/>private final long[] bits = new long[(TERM_COUNT + 63) >>> 6];
+
+<@doI level=2/>/**
+<@doI level=2/> * Create a set containing the given terms.
+<@doI level=2/> *
+<@doI level=2/> * @param iris
+<@doI level=2/> *            The terms, which must all be in this schema.
+<@doI level=2/> * @return A new set.
+<@doI level=2/> */
+<@doI level=2/>public static TermSet of(IRI... iris) {
+<@doI level=3/>final TermSet result = new TermSet();
+<@doI level=3/>for (final IRI iri : iris) {
+<@doI level=4/>result.add(iri);
+<@doI level=3/>}
+<@doI level=3/>return result;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            A term in this schema.
+<@doI level=2/> * @return True if the term was not already in the set.
+<@doI level=2/> * @throws IllegalArgumentException
+<@doI level=2/> *             If the IRI is not a term in this schema.
+<@doI level=2/> */
+<@doI level=2/>public boolean add(IRI iri) {
+<@doI level=3/>final int ordinal = checkedOrdinal(iri);
+<@doI level=3/>final long word = bits[ordinal >>> 6];
+<@doI level=3/>bits[ordinal >>> 6] = word | (1L << ordinal);
+<@doI level=3/>return (word & (1L << ordinal)) == 0;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            An IRI.
+<@doI level=2/> * @return True if the IRI was in the set.
+<@doI level=2/> */
+<@doI level=2/>public boolean remove(IRI iri) {
+<@doI level=3/>final int ordinal = ordinal(iri);
+<@doI level=3/>if (ordinal < 0) {
+<@doI level=4/>return false;
+<@doI level=3/>}
+<@doI level=3/>final long word = bits[ordinal >>> 6];
+<@doI level=3/>bits[ordinal >>> 6] = word & ~(1L << ordinal);
+<@doI level=3/>return (word & (1L << ordinal)) != 0;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            An IRI.
+<@doI level=2/> * @return True if the IRI is in the set.
+<@doI level=2/> */
+<@doI level=2/>public boolean contains(IRI iri) {
+<@doI level=3/>final int ordinal = ordinal(iri);
+<@doI level=3/>return ordinal >= 0 && (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @return The number of terms in the set.
+<@doI level=2/> */
+<@doI level=2/>public int size() {
+<@doI level=3/>int result = 0;
+<@doI level=3/>for (final long word : bits) {
+<@doI level=4/>result += Long.bitCount(word);
+<@doI level=3/>}
+<@doI level=3/>return result;
+<@doI level=2/>}
+<@doI/>}
+
+<@doI/>/**
+<@doI/> * A map from the terms in this schema to values, using an array indexed by
+<@doI/> * the ordinal of each term. Null values cannot be stored. This class is not
+<@doI/> * thread-safe.
+<@doI/> *
+<@doI/> * @param <V>
+<@doI/> *            The type of the values.
+<@doI/> */
+<@doI/>public static final class TermMap<V> {
+
+<@doI level=2/>private final Object[] values = new Object[TERM_COUNT];
+<@doI level=2/>private int size;
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            An IRI.
+<@doI level=2/> * @return The value for the IRI, or null if there is none.
+<@doI level=2/> */
+<@doI level=2/>@SuppressWarnings("unchecked")
+<@doI level=2/>public V get(IRI iri) {
+<@doI level=3/>final int ordinal = ordinal(iri);
+<@doI level=3/>return ordinal < 0 ? null : (V) values[ordinal];
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            A term in this schema.
+<@doI level=2/> * @param value
+<@doI level=2/> *            The value for the term, which cannot be null.
+<@doI level=2/> * @return The previous value for the term, or null if there was none.
+<@doI level=2/> * @throws IllegalArgumentException
+<@doI level=2/> *             If the IRI is not a term in this schema.
+<@doI level=2/> */
+<@doI level=2/>@SuppressWarnings("unchecked")
+<@doI level=2/>public V put(IRI iri, V value) {
+<@doI level=3/>if (value == null) {
+<@doI level=4/>throw new NullPointerException("Value cannot be null");
+<@doI level=3/>}
+<@doI level=3/>final int ordinal = checkedOrdinal(iri);
+<@doI level=3/>final V previous = (V) values[ordinal];
+<@doI level=3/>values[ordinal] = value;
+<@doI level=3/>if (previous == null) {
+<@doI level=4/>size++;
+<@doI level=3/>}
+<@doI level=3/>return previous;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            An IRI.
+<@doI level=2/> * @return The value that was removed, or null if there was none.
+<@doI level=2/> */
+<@doI level=2/>@SuppressWarnings("unchecked")
+<@doI level=2/>public V remove(IRI iri) {
+<@doI level=3/>final int ordinal = ordinal(iri);
+<@doI level=3/>if (ordinal < 0) {
+<@doI level=4/>return null;
+<@doI level=3/>}
+<@doI level=3/>final V previous = (V) values[ordinal];
+<@doI level=3/>values[ordinal] = null;
+<@doI level=3/>if (previous != null) {
+<@doI level=4/>size--;
+<@doI level=3/>}
+<@doI level=3/>return previous;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @param iri
+<@doI level=2/> *            An IRI.
+<@doI level=2/> * @return True if there is a value for the IRI.
+<@doI level=2/> */
+<@doI level=2/>public boolean containsKey(IRI iri) {
+<@doI level=3/>return get(iri) != null;
+<@doI level=2/>}
+
+<@doI level=2/>/**
+<@doI level=2/> * @return The number of terms with values.
+<@doI level=2/> */
+<@doI level=2/>public int size() {
+<@doI level=3/>return size;
+<@doI level=2/>}
+<@doI/>}
+</#if>
+<#if compactIris>
+
+<@doI/>/**
+<@doI/> * An {@link IRI} in this schema, which keeps its namespace and local name
+<@doI/> * separately and computes its hash code once.
+<@doI/> */
+<@doI/>private static final class CompactIRI implements IRI {
+
+<@doI level=2/>private static final long serialVersionUID = 1L;
+
+<@doI level=2/>private final String namespace;
+<@doI level=2/>private final String localName;
+<@doI level=2/>private final int hashCode;
+
+<@doI level=2/>private CompactIRI(String namespace, String localName) {
+<@doI level=3/>this.namespace = namespace;
+<@doI level=3/>this.localName = localName;
+<@doI level=3/>this.hashCode = stringValue().hashCode();
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public String getNamespace() {
+<@doI level=3/>return namespace;
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public String getLocalName() {
+<@doI level=3/>return localName;
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public String stringValue() {
+<@doI level=3/>return namespace.concat(localName);
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public boolean equals(Object o) {
+<@doI level=3/>if (this == o) {
+<@doI level=4/>return true;
+<@doI level=3/>}
+<@doI level=3/>if (o instanceof CompactIRI) {
+<@doI level=4/>final CompactIRI other = (CompactIRI) o;
+<@doI level=4/>return hashCode == other.hashCode && localName.equals(other.localName)
+<@doI level=6/>&& namespace.equals(other.namespace);
+<@doI level=3/>}
+<@doI level=3/>if (o instanceof IRI) {
+<@doI level=4/>// Compare with other IRI implementations without joining the strings
+<@doI level=4/>final String other = o.toString();
+<@doI level=4/>return other.length() == namespace.length() + localName.length()
+<@doI level=6/>&& other.startsWith(namespace) && other.endsWith(localName);
+<@doI level=3/>}
+<@doI level=3/>return false;
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public int hashCode() {
+<@doI level=3/>return hashCode;
+<@doI level=2/>}
+
+<@doI level=2/>@Override
+<@doI level=2/>public String toString() {
+<@doI level=3/>return stringValue();
+<@doI level=2/>}
+<@doI/>}
+</#if>
+<#if constantGroups??>
+<#list constantGroups as group>
+
+<@doI/>/**
+<@doI/> * Constants for the terms in the {@code ${group.name}} group, which are only
+<@doI/> * created when one of them is used.
+<@doI/> */
+<@doI/>public static final class ${group.name} {
+
+<#if group.stringConstants??>
+<@doI level=2/>/**********************
+<@doI level=2/> * IRI String Constants
+<@doI level=2/> **********************/
+<#list group.stringConstants as stringConstant>
+
+<@doI level=2/>${stringConstant.javadoc}
+<@doI level=2/>public static final String ${stringConstant.formattedRecordKey?j_string} = "${stringConstant.rawRecordKey?j_string}";
+</#list>
+
+</#if>
+<#if group.localNameStringConstants??>
+<@doI level=2/>/*****************************
+<@doI level=2/> * Local Name String Constants
+<@doI level=2/> *****************************/
+<#list group.localNameStringConstants as localNameStringConstant>
+
+<@doI level=2/>${localNameStringConstant.javadoc}
+<@doI level=2/>public static final String ${localNameStringConstant.formattedRecordKey?j_string} = "${localNameStringConstant.rawRecordKey?j_string}";
+</#list>
+
+</#if>
+<@doI level=2/>/***************
+<@doI level=2/> * IRI Constants
+<@doI level=2/> ***************/
+<#if lazyIris>
+<@lazyIriMethods level=2 iriConstants=group.iriConstants/>
+<#else>
+<#list group.iriConstants as iriConstant>
+
+<@doI level=2/>${iriConstant.javadoc}
+<@doI level=2/>public static final IRI ${iriConstant.formattedRecordKey?j_string};
+</#list>
+
+<@doI level=2/>static {
+<#if !compactIris>
+<@doI level=3/>ValueFactory vf = SimpleValueFactory.getInstance();
+
+</#if>
+<#list group.iriConstants as iriConstant>
+<@doI level=3/>${iriConstant.formattedRecordKey?j_string} = <@createIri iriConstant=iriConstant/>;
+</#list>
+<@doI level=2/>}
+</#if>
+
+<@doI level=2/>private ${group.name}() {
+<@doI level=2/>}
+<@doI/>}
+</#list>
+</#if>
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.impl.TreeModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.CanonicalisingValueFactory;
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for {@link CanonicalisingValueFactory}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class CanonicalisingValueFactoryTest {
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testParseWithSchemaConstants() throws Exception {
+        final Path input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        final Class<?> schema = generatedClasses.compile(generator, "LDP");
+        final IRI container = (IRI) schema.getField("Container").get(null);
+        final IRI pageOf = (IRI) schema.getField("pageOf").get(null);
+
+        final CanonicalisingValueFactory vf = new CanonicalisingValueFactory(
+                SimpleValueFactory.getInstance(), schema);
+        final RDFParser parser = Rio.createParser(RDFFormat.TURTLE, vf);
+        final Model model = new TreeModel();
+        parser.setRDFHandler(new StatementCollector(model));
+        parser.parse(new StringReader("@prefix ldp: <" + LDP + "> .\n"
+                + "<http://example.com/c> a ldp:Container ; ldp:pageOf <" + LDP
+                + "Unknown> .\n"), "http://example.com/");
+
+        assertEquals(2, model.size());
+        for (final Statement nextStatement : model) {
+            if (nextStatement.getObject().equals(container)) {
+                assertSame(container, nextStatement.getObject());
+            } else {
+                assertSame(pageOf, nextStatement.getPredicate());
+                assertNotSame(vf.createIRI(LDP + "Unknown"), nextStatement.getObject());
+            }
+        }
+        assertSame(container, vf.createIRI(LDP + "Container"));
+        assertSame(container, vf.createIRI(LDP, "Container"));
+        assertEquals(vf.createIRI(LDP, "Unknown"), vf.createIRI(LDP + "Unknown"));
+    }
+
+    @Test
+    public void testLazyIrisInConstantGroups() throws Exception {
+        final SyntheticVocabulary vocabulary = new SyntheticVocabulary().termCount(300)
+                .descriptionWords(0);
+        final Path input = vocabulary.writeTo(tempDir.newFile("synthetic.nt").toPath(),
+                RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setConstantGroupSize(50);
+        generator.setLazyIris(true);
+        generator.setCompactIris(true);
+        final Class<?> schema = generatedClasses.compile(generator, "Synthetic");
+
+        final CanonicalisingValueFactory vf = new CanonicalisingValueFactory(
+                SimpleValueFactory.getInstance(), schema);
+        // The terms and the namespace
+        assertEquals(301, vf.size());
+        for (final Class<?> nextGroup : schema.getClasses()) {
+            for (final Method nextMethod : nextGroup.getMethods()) {
+                if (nextMethod.getReturnType() == IRI.class) {
+                    final IRI term = (IRI) nextMethod.invoke(null);
+                    assertSame(term, vf.createIRI(term.stringValue()));
+                    assertSame(term, vf.createIRI(term.getNamespace(), term.getLocalName()));
+                }
+            }
+        }
+    }
+}
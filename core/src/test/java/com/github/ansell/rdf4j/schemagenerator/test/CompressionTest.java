@@ -0,0 +1,117 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorOutputStream;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.Compression;
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for {@link Compression}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class CompressionTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private Path input;
+
+    private String expected;
+
+    @Before
+    public void setUp() throws Exception {
+        input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        expected = generate(input, null);
+    }
+
+    @Test
+    public final void testGetParserFormatForFileName() {
+        assertEquals(RDFFormat.TURTLE,
+                Compression.getParserFormatForFileName("schema.ttl.gz").get());
+        assertEquals(RDFFormat.NTRIPLES,
+                Compression.getParserFormatForFileName("http://example.com/schema.nt.BZ2").get());
+        assertEquals(RDFFormat.RDFXML,
+                Compression.getParserFormatForFileName("schema.rdf.xz").get());
+        assertEquals(RDFFormat.TURTLE, Compression.getParserFormatForFileName("schema.ttl").get());
+        assertEquals("schema.gz.ttl", Compression.removeExtension("schema.gz.ttl"));
+    }
+
+    @Test
+    public final void testGzip() throws Exception {
+        final Path file = tempDir.getRoot().toPath().resolve("ldp.ttl.gz");
+        try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            Files.copy(input, out);
+        }
+        assertEquals(expected, generate(file, null));
+    }
+
+    @Test
+    public final void testBzip2() throws Exception {
+        final Path file = tempDir.getRoot().toPath().resolve("ldp.ttl.bz2");
+        try (final OutputStream out = new BZip2CompressorOutputStream(
+                Files.newOutputStream(file))) {
+            Files.copy(input, out);
+        }
+        assertEquals(expected, generate(file, null));
+    }
+
+    @Test
+    public final void testXz() throws Exception {
+        final Path file = tempDir.getRoot().toPath().resolve("ldp.ttl.xz");
+        try (final OutputStream out = new XZCompressorOutputStream(Files.newOutputStream(file))) {
+            Files.copy(input, out);
+        }
+        assertEquals(expected, generate(file, null));
+    }
+
+    @Test
+    public final void testCompressedWithoutExtension() throws Exception {
+        final Path file = tempDir.getRoot().toPath().resolve("ldp.cache");
+        try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            Files.copy(input, out);
+        }
+        assertEquals(expected, generate(file, RDFFormat.TURTLE));
+    }
+
+    @Test
+    public final void testStreaming() throws Exception {
+        final Path file = tempDir.getRoot().toPath().resolve("ldp.ttl.gz");
+        try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            Files.copy(input, out);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(file.toString(),
+                (RDFFormat) null, null);
+        final StringWriter result = new StringWriter();
+        generator.generate("LDP", new PrintWriter(result));
+        assertEquals(expected, result.toString());
+    }
+
+    private static String generate(Path file, RDFFormat format) throws Exception {
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(file.toString(),
+                format);
+        final StringWriter result = new StringWriter();
+        generator.generate("LDP", new PrintWriter(result));
+        return result.toString();
+    }
+}
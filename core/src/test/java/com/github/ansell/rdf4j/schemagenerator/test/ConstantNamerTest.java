@@ -0,0 +1,136 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.ansell.rdf4j.schemagenerator.internal.ConstantNamer;
+import com.google.common.base.CaseFormat;
+
+/**
+ * Tests for {@link ConstantNamer}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class ConstantNamerTest {
+
+    private static final List<String> KEYS = Arrays.asList("a", "A", "label", "Label",
+            "seeAlso", "SeeAlso", "subClassOf", "HTTPHeader", "httpHeader", "has_part",
+            "Has_Part", "HAS_PART", "has-part", "has-Part", "hasPart-of", "_private",
+            "__double", "trailing_", "trailing-", "-leading", "has__part", "has--part",
+            "foo.bar", "foo/bar", "foo#bar", "#foo", "v1.2-beta", "UTF8String", "x509Cert",
+            "A_b-C.d/E#f", "ÄrgerNis", "größe", "CamelCase_With-Mixed", "class", "Class",
+            "default", "prefix", "PREFIX", "namespace", "URI");
+
+    private static final List<String> AFFIXES = Arrays.asList(null, "", "_", "P_", "-",
+            "_STRING", "_LOCALNAME");
+
+    private static final List<String> RANDOM_AFFIXES = Arrays.asList(null, "-");
+
+    @Test
+    public final void testMatchesCaseFormat() {
+        for (final String key : KEYS) {
+            assertMatchesCaseFormat(key, AFFIXES);
+        }
+    }
+
+    @Test
+    public final void testMatchesCaseFormatRandom() {
+        final Random random = new Random(0x5eed);
+        final char[] alphabet = "aBcDxYz09_-./#".toCharArray();
+        for (int i = 0; i < 10000; i++) {
+            final char[] key = new char[1 + random.nextInt(12)];
+            for (int j = 0; j < key.length; j++) {
+                key[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            assertMatchesCaseFormat(new String(key), RANDOM_AFFIXES);
+        }
+    }
+
+    @Test
+    public final void testInvalidCharacters() {
+        final ConstantNamer namer = new ConstantNamer(null, null, null);
+        assertEquals("foo_bar_baz", namer.getName("foo:bar(baz"));
+        assertEquals("_1_2", namer.getName("1.2"));
+        assertEquals("_", namer.getName("#"));
+        assertEquals("_class", namer.getName("class"));
+        for (final String key : Arrays.asList("a b", "a%20b", "a+b", "a'b")) {
+            final String name = namer.getName(key);
+            assertTrue(name, Character.isJavaIdentifierStart(name.charAt(0)));
+            for (int i = 1; i < name.length(); i++) {
+                assertTrue(name, Character.isJavaIdentifierPart(name.charAt(i)));
+            }
+        }
+    }
+
+    @Test
+    public final void testMemoised() {
+        final ConstantNamer namer = new ConstantNamer("P_", CaseFormat.UPPER_UNDERSCORE,
+                "_STRING");
+        assertSame(namer.getName("seeAlso"), namer.getName("seeAlso"));
+        assertEquals("P_SEE_ALSO_STRING", namer.getName("seeAlso"));
+        assertTrue(namer.isConfiguredFor("P_", CaseFormat.UPPER_UNDERSCORE, "_STRING"));
+        assertTrue(!namer.isConfiguredFor("P_", CaseFormat.UPPER_CAMEL, "_STRING"));
+        assertTrue(new ConstantNamer(null, null, null).isConfiguredFor("", null, ""));
+    }
+
+    private static void assertMatchesCaseFormat(String key, List<String> affixes) {
+        final List<CaseFormat> formats = new ArrayList<>(Arrays.asList(CaseFormat.values()));
+        formats.add(null);
+        for (final CaseFormat nextFormat : formats) {
+            for (final String nextPrefix : affixes) {
+                for (final String nextSuffix : affixes) {
+                    final String expected = expectedName(nextPrefix, key, nextFormat,
+                            nextSuffix);
+                    final String actual = new ConstantNamer(nextPrefix, nextFormat, nextSuffix)
+                            .getName(key);
+                    assertEquals(String.format("%s %s %s %s", nextPrefix, key, nextFormat,
+                            nextSuffix), expected, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * The names that were created using {@link CaseFormat} and regular
+     * expressions before {@link ConstantNamer}, with names that are not valid
+     * identifiers fixed in the same way as {@link ConstantNamer}.
+     */
+    private static String expectedName(String prefix, String key, CaseFormat targetFormat,
+            String suffix) {
+        String formatted = key;
+        if (targetFormat != null) {
+            CaseFormat originalFormat = CaseFormat.LOWER_CAMEL;
+            if (Character.isUpperCase(key.charAt(0)) && key.contains("_")) {
+                originalFormat = CaseFormat.UPPER_UNDERSCORE;
+            } else if (Character.isUpperCase(key.charAt(0))) {
+                originalFormat = CaseFormat.UPPER_CAMEL;
+            } else if (key.contains("_")) {
+                originalFormat = CaseFormat.LOWER_UNDERSCORE;
+            } else if (key.contains("-")) {
+                originalFormat = CaseFormat.LOWER_HYPHEN;
+            }
+            formatted = originalFormat.to(targetFormat, key);
+        }
+        String s = String.format("%s%s%s", prefix == null ? "" : prefix, formatted,
+                suffix == null ? "" : suffix);
+        s = s.replaceAll("#", "");
+        s = s.replaceAll("\\.", "_");
+        s = s.replaceAll("-", "_");
+        s = s.replaceAll("/", "_");
+        if (s.isEmpty() || !Character.isJavaIdentifierStart(s.charAt(0))) {
+            s = "_" + s;
+        }
+        if (Arrays.asList("class", "default", "PREFIX", "NAMESPACE").contains(s)) {
+            s = "_" + s;
+        }
+        return s;
+    }
+}
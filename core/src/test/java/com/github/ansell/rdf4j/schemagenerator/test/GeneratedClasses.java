@@ -0,0 +1,114 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Compiles generated classes and loads them, for tests that use the generated
+ * classes rather than only their source.
+ * <p>
+ * The sources and classes are written to a temporary folder, and the class
+ * loaders are left open until the test has finished, so that the classes can
+ * be used anywhere in the test. The loaders are then closed and the folder is
+ * deleted.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class GeneratedClasses extends ExternalResource {
+
+    private final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private final List<URLClassLoader> loaders = new ArrayList<>();
+
+    @Override
+    protected void before() throws Throwable {
+        tempDir.create();
+    }
+
+    @Override
+    protected void after() {
+        try {
+            for (final URLClassLoader nextLoader : loaders) {
+                nextLoader.close();
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Could not close the class loaders", e);
+        } finally {
+            loaders.clear();
+            tempDir.delete();
+        }
+    }
+
+    /**
+     * @return A new empty folder to generate sources in.
+     * @throws IOException
+     *             If the folder could not be created.
+     */
+    public Path newSourceFolder() throws IOException {
+        return tempDir.newFolder().toPath();
+    }
+
+    /**
+     * Generate a schema class, compile it and load it.
+     *
+     * @param generator
+     *            The generator for the schema.
+     * @param className
+     *            The simple name of the schema class.
+     * @return The schema class.
+     * @throws Exception
+     *             If the class could not be generated or loaded.
+     */
+    public Class<?> compile(RDF4JSchemaGeneratorCore generator, String className)
+            throws Exception {
+        final Path source = newSourceFolder().resolve(className + ".java");
+        generator.generate(source);
+        final String packageName = generator.getPackageName();
+        return compile(source)
+                .loadClass(packageName != null ? packageName + "." + className : className);
+    }
+
+    /**
+     * Compile sources together and create a class loader for the classes.
+     *
+     * @param sources
+     *            The sources to compile.
+     * @return A loader for the compiled classes, which is closed after the
+     *         test.
+     * @throws IOException
+     *             If the classes folder could not be created.
+     */
+    public ClassLoader compile(Path... sources) throws IOException {
+        final Path classesDir = tempDir.newFolder().toPath();
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(classesDir.toString());
+        for (final Path nextSource : sources) {
+            arguments.add(nextSource.toString());
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals("Compiling " + Arrays.toString(sources) + " failed", 0,
+                compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])));
+
+        final URLClassLoader loader = new URLClassLoader(
+                new URL[] { classesDir.toUri().toURL() }, getClass().getClassLoader());
+        loaders.add(loader);
+        return loader;
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.internal.ParallelLineParser;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaStatementFilter;
+
+/**
+ * Tests for {@link ParallelLineParser}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class ParallelLineParserTest {
+
+    private static final IRI[] LABELS = new IRI[] { RDFS.LABEL };
+
+    private static final IRI[] COMMENTS = new IRI[] { RDFS.COMMENT };
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public final void testSameStatementsInSameOrder() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(500).languages("en", "fr")
+                .writeTo(tempDir.newFile("synthetic.nt").toPath(), RDFFormat.NTRIPLES);
+        final List<Statement> expected = parseSerial(input, RDFFormat.NTRIPLES);
+
+        // Small chunks so that most lines are split across several chunks
+        for (final long chunkSize : new long[] { 1, 100, 4096, Long.MAX_VALUE }) {
+            final List<Statement> actual = new ArrayList<>();
+            ParallelLineParser.parse(input, RDFFormat.NTRIPLES, 4, chunkSize,
+                    StatementCollector::new, new StatementCollector(actual));
+            assertEquals("Chunk size " + chunkSize, expected, actual);
+        }
+    }
+
+    @Test
+    public final void testSameFilteredStatements() throws Exception {
+        final SyntheticVocabulary vocabulary = new SyntheticVocabulary().termCount(500)
+                .collisionRate(0.2);
+        final Path input = vocabulary.writeTo(tempDir.newFile("synthetic.nt").toPath(),
+                RDFFormat.NTRIPLES);
+
+        final Model expected = new LinkedHashModel();
+        final RDFParser parser = Rio.createParser(RDFFormat.NTRIPLES);
+        parser.setRDFHandler(new SchemaStatementFilter(vocabulary.getPrefix(), LABELS,
+                COMMENTS, expected));
+        try (final InputStream in = Files.newInputStream(input)) {
+            parser.parse(in, "");
+        }
+
+        final Model actual = new LinkedHashModel();
+        ParallelLineParser.parse(input, RDFFormat.NTRIPLES, 4, 2048,
+                chunk -> new SchemaStatementFilter(vocabulary.getPrefix(), LABELS, COMMENTS,
+                        chunk),
+                new SchemaStatementFilter(vocabulary.getPrefix(), LABELS, COMMENTS, actual));
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+    }
+
+    @Test
+    public final void testBlankNodesAcrossChunks() throws Exception {
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        final Path input = tempDir.newFile("bnodes.nq").toPath();
+        final BNode node = vf.createBNode("shared");
+        final IRI context = vf.createIRI("http://example.com/graph");
+        try (final OutputStream out = Files.newOutputStream(input)) {
+            final RDFWriter writer = Rio.createWriter(RDFFormat.NQUADS, out);
+            writer.startRDF();
+            for (int i = 0; i < 100; i++) {
+                writer.handleStatement(vf.createStatement(node, RDFS.LABEL,
+                        vf.createLiteral("label " + i), context));
+            }
+            writer.endRDF();
+        }
+
+        final List<Statement> actual = new ArrayList<>();
+        ParallelLineParser.parse(input, RDFFormat.NQUADS, 4, 256, StatementCollector::new,
+                new StatementCollector(actual));
+        assertEquals(100, actual.size());
+        for (final Statement nextStatement : actual) {
+            assertEquals(actual.get(0).getSubject(), nextStatement.getSubject());
+            assertEquals(context, nextStatement.getContext());
+        }
+        assertTrue(ParallelLineParser.isSupported(RDFFormat.NTRIPLES));
+        assertTrue(!ParallelLineParser.isSupported(RDFFormat.TURTLE));
+    }
+
+    @Test
+    public final void testBlankNodesMatchSerialParse() throws Exception {
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        final Path input = tempDir.newFile("bnodes.nt").toPath();
+        final BNode first = vf.createBNode("first");
+        final BNode second = vf.createBNode("second");
+        try (final OutputStream out = Files.newOutputStream(input)) {
+            final RDFWriter writer = Rio.createWriter(RDFFormat.NTRIPLES, out);
+            writer.startRDF();
+            for (int i = 0; i < 50; i++) {
+                writer.handleStatement(vf.createStatement(first, RDFS.SEEALSO, second));
+                writer.handleStatement(vf.createStatement(i % 2 == 0 ? first : second,
+                        RDFS.LABEL, vf.createLiteral("label " + i)));
+            }
+            writer.endRDF();
+        }
+
+        final Model actual = new LinkedHashModel();
+        ParallelLineParser.parse(input, RDFFormat.NTRIPLES, 4, 128, StatementCollector::new,
+                new StatementCollector(actual));
+        // The labels from the file are kept, but the blank nodes are the
+        // same as those from a single parser apart from their labels
+        assertTrue(Models.isomorphic(new LinkedHashModel(parseSerial(input,
+                RDFFormat.NTRIPLES)), actual));
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), actual.subjects());
+    }
+
+    @Test
+    public final void testBoundedChunksInFlight() throws Exception {
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        final Path input = tempDir.newFile("lines.nt").toPath();
+        final int lines = 200;
+        try (final OutputStream out = Files.newOutputStream(input)) {
+            final RDFWriter writer = Rio.createWriter(RDFFormat.NTRIPLES, out);
+            writer.startRDF();
+            for (int i = 0; i < lines; i++) {
+                writer.handleStatement(vf.createStatement(vf.createIRI("http://example.com/" + i),
+                        RDFS.LABEL, vf.createLiteral("label " + i)));
+            }
+            writer.endRDF();
+        }
+
+        // Each line is a chunk, and each chunk that is parsed creates a
+        // handler before any of its statements are sent on
+        final int threads = 2;
+        final AtomicInteger parsed = new AtomicInteger();
+        final AtomicInteger maxAhead = new AtomicInteger();
+        final List<Statement> actual = new ArrayList<>();
+        ParallelLineParser.parse(input, RDFFormat.NTRIPLES, threads, 1, chunk -> {
+            parsed.incrementAndGet();
+            return new StatementCollector(chunk);
+        }, new StatementCollector(actual) {
+            @Override
+            public void handleStatement(Statement st) {
+                maxAhead.accumulateAndGet(parsed.get() - actual.size(), Math::max);
+                super.handleStatement(st);
+            }
+        });
+        assertEquals(lines, actual.size());
+        assertEquals(lines, parsed.get());
+        assertTrue("Chunks parsed ahead: " + maxAhead.get(), maxAhead.get() <= threads * 2);
+    }
+
+    private static List<Statement> parseSerial(Path input, RDFFormat format) throws Exception {
+        final List<Statement> result = new ArrayList<>();
+        final RDFParser parser = Rio.createParser(format);
+        parser.setRDFHandler(new StatementCollector(result));
+        try (final InputStream in = Files.newInputStream(input)) {
+            parser.parse(in, "");
+        }
+        return result;
+    }
+}
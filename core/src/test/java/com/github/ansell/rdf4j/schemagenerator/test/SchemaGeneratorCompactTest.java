@@ -0,0 +1,116 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#setCompactIris(boolean)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorCompactTest {
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testCompactIris() throws Exception {
+        final Path input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setCompactIris(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "LDP");
+        int iris = 0;
+        for (final Field nextField : schema.getFields()) {
+            if (nextField.getType() == IRI.class && !nextField.getName().equals("NAMESPACE_IRI")) {
+                assertCompatible((IRI) nextField.get(null));
+                iris++;
+            }
+        }
+        assertTrue(iris > 0);
+        final IRI container = (IRI) schema.getField("Container").get(null);
+        assertEquals("http://www.w3.org/ns/ldp#", container.getNamespace());
+        assertEquals("Container", container.getLocalName());
+        assertNotEquals(container, schema.getField("Resource").get(null));
+    }
+
+    @Test
+    public void testNamespaceDifferentFromPrefix() throws Exception {
+        final Path input = tempDir.newFile("nested.ttl").toPath();
+        Files.write(input, ("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+                + "<http://example.com/vocab/> a owl:Ontology .\n"
+                + "<http://example.com/vocab/alpha> a owl:Class .\n"
+                + "<http://example.com/vocab/nested/beta> a owl:Class .\n"
+                + "<http://example.com/vocab/gamma#delta> a owl:Class .\n")
+                        .getBytes(StandardCharsets.UTF_8));
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), RDFFormat.TURTLE);
+        generator.setPackageName("com.example");
+        generator.setPrefix("http://example.com/vocab/");
+        generator.setCompactIris(true);
+        generator.setLazyIris(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "Vocab");
+        final Set<String> iris = new HashSet<>();
+        for (final Method nextMethod : schema.getMethods()) {
+            if (nextMethod.getReturnType() == IRI.class) {
+                final IRI iri = (IRI) nextMethod.invoke(null);
+                assertCompatible(iri);
+                iris.add(iri.getNamespace() + " " + iri.getLocalName());
+            }
+        }
+        assertEquals(3, iris.size());
+        assertTrue(iris.contains("http://example.com/vocab/ alpha"));
+        assertTrue(iris.contains("http://example.com/vocab/nested/ beta"));
+        assertTrue(iris.contains("http://example.com/vocab/gamma# delta"));
+    }
+
+    /**
+     * Check that a generated IRI behaves in the same way as an IRI from the
+     * default value factory.
+     */
+    private void assertCompatible(IRI iri) {
+        final IRI expected = vf.createIRI(iri.stringValue());
+        assertNotSame(expected.getClass(), iri.getClass());
+        assertEquals(expected, iri);
+        assertEquals(iri, expected);
+        assertEquals(expected.hashCode(), iri.hashCode());
+        assertEquals(expected.toString(), iri.toString());
+        assertEquals(expected.getNamespace(), iri.getNamespace());
+        assertEquals(expected.getLocalName(), iri.getLocalName());
+        assertNotEquals(iri, vf.createIRI(iri.stringValue() + "x"));
+        assertNotEquals(iri, vf.createLiteral(iri.stringValue()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#generateCompiledBundle(String, Path)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorCompiledBundleTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testCompiledBundle() throws Exception {
+        final Path input = tempDir.newFile("oa.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/oa.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+
+        assertSameTexts(generator, "OA", Locale.ENGLISH);
+    }
+
+    @Test
+    public void testCompiledBundleLanguages() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(2500).descriptionWords(3)
+                .languages("en", "de", "de-AT")
+                .writeTo(tempDir.newFile("synthetic.nt").toPath(), RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setPreferredLanguage("en");
+
+        final Method label = assertSameTexts(generator, "Synthetic", Locale.ENGLISH,
+                Locale.GERMAN, new Locale("de", "AT"));
+        final IRI first = SimpleValueFactory.getInstance()
+                .createIRI("http://example.com/synthetic#sourcePart0");
+        // Languages without texts use the default texts
+        assertEquals("sourcePart0 (en)", label.invoke(null, first, Locale.FRENCH));
+        assertEquals("sourcePart0 (de)", label.invoke(null, first, new Locale("de", "CH")));
+        assertEquals("sourcePart0 (de-AT)", label.invoke(null, first, new Locale("de", "AT")));
+    }
+
+    @Test
+    public void testLargeCompiledBundle() throws Exception {
+        // More IRIs, and labels and comments, than fit in the constant pool of a
+        // single class
+        final int termCount = 33000;
+        final Path input = new SyntheticVocabulary().termCount(termCount)
+                .writeTo(tempDir.newFile("large.nt").toPath(), RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setConstantGroupSize(1000);
+        generator.setConstantGroupKeyLength(2);
+
+        assertEquals(termCount, countTexts(generator, "Large", Locale.ENGLISH));
+    }
+
+    /**
+     * Check that the compiled bundle finds the same texts as the resource
+     * bundles for each term in each of the given locales.
+     *
+     * @return The label method of the compiled bundle.
+     */
+    private Method assertSameTexts(RDF4JSchemaGeneratorCore generator, String className,
+            Locale... locales) throws Exception {
+        final Class<?> labels = compile(generator, className);
+        assertTrue(countTexts(labels, generator, className, locales) > 0);
+        return labels.getMethod("label", IRI.class, Locale.class);
+    }
+
+    private int countTexts(RDF4JSchemaGeneratorCore generator, String className,
+            Locale... locales) throws Exception {
+        return countTexts(compile(generator, className), generator, className, locales);
+    }
+
+    /**
+     * @return The number of terms that were checked in each locale.
+     */
+    private int countTexts(Class<?> labels, RDF4JSchemaGeneratorCore generator,
+            String className, Locale... locales) throws Exception {
+        final Class<?> schema = labels.getClassLoader().loadClass("com.example." + className);
+        final Method label = labels.getMethod("label", IRI.class, Locale.class);
+        final Method comment = labels.getMethod("comment", IRI.class, Locale.class);
+        final Map<String, Properties> bundles = generator.generateResourceBundle(className);
+
+        int texts = 0;
+        for (final Locale nextLocale : locales) {
+            final Properties bundle = bundles.getOrDefault(
+                    className + "_" + nextLocale.toLanguageTag(), new Properties());
+            final Properties defaultBundle = bundles.get(className);
+            for (final Field nextField : getFields(schema)) {
+                if (nextField.getType() != IRI.class
+                        || nextField.getName().equals("NAMESPACE_IRI")) {
+                    continue;
+                }
+                final IRI iri = (IRI) nextField.get(null);
+                final String labelKey = nextField.getName() + ".label";
+                final String commentKey = nextField.getName() + ".comment";
+                assertEquals(bundle.getProperty(labelKey, defaultBundle.getProperty(labelKey)),
+                        label.invoke(null, iri, nextLocale));
+                assertEquals(
+                        bundle.getProperty(commentKey, defaultBundle.getProperty(commentKey)),
+                        comment.invoke(null, iri, nextLocale));
+                texts++;
+            }
+        }
+        final IRI unknown = SimpleValueFactory.getInstance()
+                .createIRI("http://example.com/unknown");
+        assertNull(label.invoke(null, unknown, Locale.ENGLISH));
+        assertNull(comment.invoke(null, unknown, Locale.ENGLISH));
+        return texts / locales.length;
+    }
+
+    /**
+     * @return The fields of the schema class, including those in its constant
+     *         groups.
+     */
+    private static List<Field> getFields(Class<?> schema) {
+        final List<Field> result = new ArrayList<>(Arrays.asList(schema.getFields()));
+        for (final Class<?> nextGroup : schema.getClasses()) {
+            result.addAll(Arrays.asList(nextGroup.getFields()));
+        }
+        return result;
+    }
+
+    private Class<?> compile(RDF4JSchemaGeneratorCore generator, String className)
+            throws Exception {
+        final Path sourceDir = generatedClasses.newSourceFolder();
+        final Path source = sourceDir.resolve(className + ".java");
+        generator.generate(source);
+        generator.generateCompiledBundle(className, sourceDir);
+        final Path bundleSource = sourceDir
+                .resolve(className + RDF4JSchemaGeneratorCore.COMPILED_BUNDLE_SUFFIX + ".java");
+        return generatedClasses.compile(source, bundleSource).loadClass(
+                "com.example." + className + RDF4JSchemaGeneratorCore.COMPILED_BUNDLE_SUFFIX);
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.google.common.base.CaseFormat;
+
+/**
+ * Tests that {@link RDF4JSchemaGeneratorCore#setDirectEmitter(boolean)} writes
+ * the same classes as the default template.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorEmitterTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public final void testLDP() throws Exception {
+        assertSameOutput("ldp.ttl", generator -> {
+        });
+    }
+
+    @Test
+    public final void testOAWithSettings() throws Exception {
+        assertSameOutput("oa.ttl", generator -> {
+            generator.setPackageName("com.example");
+            generator.setIndent("    ");
+            generator.setPreferredLanguage("en");
+            generator.setStringPropertySuffix("_STRING");
+            generator.setLocalNameStringPropertyPrefix("LOCAL_");
+            generator.setConstantCase(CaseFormat.UPPER_UNDERSCORE);
+        });
+    }
+
+    @Test
+    public final void testGNA() throws Exception {
+        assertSameOutput("gna.rdf", generator -> {
+            generator.setPrefix("http://rs.gbif.org/terms/1.0/");
+            generator.setStringPropertyPrefix("_");
+        });
+    }
+
+    @Test
+    public final void testSchemaOrg() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setName("schema & <org>");
+        });
+    }
+
+    @Test
+    public final void testRDFS() throws Exception {
+        assertSameOutput("rdfs.ttl", generator -> {
+            generator.setPrefix(RDFS.NAMESPACE);
+            generator.setPreferredLanguage("fr");
+        });
+    }
+
+    @Test
+    public final void testSyntheticVocabulary() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(500).languages("en", "de")
+                .descriptionWords(40).writeTo(tempDir.newFile("synthetic.nt").toPath(),
+                        RDFFormat.NTRIPLES);
+        assertSameOutput(input, generator -> {
+            generator.setPrefix(new SyntheticVocabulary().getPrefix());
+            generator.setPreferredLanguage("de");
+            generator.setStringPropertySuffix("_STRING");
+        });
+    }
+
+    @Test
+    public final void testConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setIndent("  ");
+            generator.setStringPropertySuffix("_STRING");
+            generator.setLocalNameStringPropertySuffix("_LOCALNAME");
+            generator.setConstantGroupSize(200);
+        });
+    }
+
+    @Test
+    public final void testLazyIris() throws Exception {
+        assertSameOutput("oa.ttl", generator -> {
+            generator.setStringPropertySuffix("_STRING");
+            generator.setLazyIris(true);
+        });
+    }
+
+    @Test
+    public final void testLazyIrisInConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setLocalNameStringPropertySuffix("_LOCALNAME");
+            generator.setConstantGroupSize(200);
+            generator.setLazyIris(true);
+        });
+    }
+
+    @Test
+    public final void testCompactIris() throws Exception {
+        assertSameOutput("gna.rdf", generator -> {
+            generator.setPrefix("http://rs.gbif.org/terms/1.0/");
+            generator.setIndent("  ");
+            generator.setCompactIris(true);
+        });
+    }
+
+    @Test
+    public final void testLazyCompactIrisInConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setConstantGroupSize(200);
+            generator.setLazyIris(true);
+            generator.setCompactIris(true);
+        });
+    }
+
+    @Test
+    public final void testCompactIrisInConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setConstantGroupSize(200);
+            generator.setCompactIris(true);
+        });
+    }
+
+    @Test
+    public final void testLookupMethods() throws Exception {
+        assertSameOutput("ldp.ttl", generator -> {
+            generator.setLookupMethods(true);
+        });
+    }
+
+    @Test
+    public final void testLookupMethodsInConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setConstantGroupSize(200);
+            generator.setLazyIris(true);
+            generator.setLookupMethods(true);
+        });
+    }
+
+    @Test
+    public final void testTermOrdinals() throws Exception {
+        assertSameOutput("ldp.ttl", generator -> {
+            generator.setIndent("  ");
+            generator.setTermOrdinals(true);
+        });
+    }
+
+    @Test
+    public final void testMetaInfServicesInterface() throws Exception {
+        assertSameOutput("ldp.ttl", generator -> {
+            generator.setMetaInfServicesInterface("com.github.ansell.rdf4j.schemagenerator.Schema");
+        });
+    }
+
+    @Test
+    public final void testTermOrdinalsInConstantGroups() throws Exception {
+        assertSameOutput("schema.rdf", generator -> {
+            generator.setPrefix("http://schema.org/");
+            generator.setConstantGroupSize(200);
+            generator.setLazyIris(true);
+            generator.setCompactIris(true);
+            generator.setLookupMethods(true);
+            generator.setTermOrdinals(true);
+        });
+    }
+
+    private void assertSameOutput(String resource, Consumer<RDF4JSchemaGeneratorCore> settings)
+            throws Exception {
+        final Path input = tempDir.newFile(resource).toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/" + resource)) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        assertSameOutput(input, settings);
+    }
+
+    private void assertSameOutput(Path input, Consumer<RDF4JSchemaGeneratorCore> settings)
+            throws Exception {
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        settings.accept(generator);
+
+        final String expected = generate(generator);
+        generator.setDirectEmitter(true);
+        assertEquals(expected, generate(generator));
+    }
+
+    private static String generate(RDF4JSchemaGeneratorCore generator) throws Exception {
+        final StringWriter result = new StringWriter();
+        generator.generate("Test", new PrintWriter(result));
+        return result.toString();
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.ConstantGroup;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTerm;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTermIndex;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#setConstantGroupSize(int)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorGroupingTest {
+
+    private static final String NS = "http://example.com/";
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testGroupTerms() throws Exception {
+        final List<SchemaTerm> terms = createTerms("apple", "avocado", "banana", "blueberry",
+                "blackberry", "Cherry", "_private", "1st");
+
+        final Map<String, List<SchemaTerm>> groups = ConstantGroup.groupTerms(terms, 1,
+                Collections.singletonList("C"));
+        assertEquals(Arrays.asList("A", "B", "C_", "_1", "__"),
+                new ArrayList<>(groups.keySet()));
+        assertEquals(3, groups.get("B").size());
+        assertEquals("Cherry", groups.get("C_").get(0).getKey());
+
+        final Map<String, List<SchemaTerm>> longerGroups = ConstantGroup.groupTerms(terms, 2,
+                Collections.singletonList("C"));
+        assertEquals(Arrays.asList("AP", "AV", "BA", "BL", "CH", "_1S", "__P"),
+                new ArrayList<>(longerGroups.keySet()));
+        assertEquals(2, longerGroups.get("BL").size());
+
+        // The group for a term does not depend on the other terms
+        assertEquals(Collections.singleton("A"), ConstantGroup
+                .groupTerms(createTerms("avocado"), 1, Collections.emptyList()).keySet());
+    }
+
+    @Test
+    public void testNotGroupedByDefault() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(100)
+                .writeTo(tempDir.newFile("small.nt").toPath(), RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        assertFalse(generate(generator).contains("public static final class"));
+    }
+
+    @Test
+    public void testGroupsDoNotDependOnSchemaSize() throws Exception {
+        final Map<String, String> smallGroups = getGroups(100);
+        final Map<String, String> largeGroups = getGroups(2000);
+        assertEquals(100, smallGroups.size());
+        for (final Map.Entry<String, String> nextConstant : smallGroups.entrySet()) {
+            assertEquals(nextConstant.getKey(), nextConstant.getValue(),
+                    largeGroups.get(nextConstant.getKey()));
+        }
+    }
+
+    @Test
+    public void testLargeSchemaCompiles() throws Exception {
+        final SyntheticVocabulary vocabulary = new SyntheticVocabulary().termCount(6000)
+                .descriptionWords(0);
+        final Path input = vocabulary.writeTo(tempDir.newFile("large.nt").toPath(),
+                RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setStringPropertySuffix("_STRING");
+        generator.setLocalNameStringPropertySuffix("_LOCALNAME");
+        generator.setConstantGroupSize(250);
+        generator.setConstantGroupKeyLength(3);
+
+        final Path source = generatedClasses.newSourceFolder().resolve("Large.java");
+        generator.generate(source);
+        final String code = new String(Files.readAllBytes(source), "UTF-8");
+        final Matcher groupMatcher = Pattern.compile("public static final class (HAS\\w*) \\{")
+                .matcher(code);
+        assertTrue(groupMatcher.find());
+        final String groupName = groupMatcher.group(1);
+
+        final ClassLoader loader = generatedClasses.compile(source);
+        final Class<?> schema = loader.loadClass("com.example.Large");
+        assertEquals(vocabulary.getPrefix(), schema.getField("NAMESPACE").get(null));
+        // Only the namespace constants are left in the class itself
+        final List<String> fields = new ArrayList<>();
+        for (final Field nextField : schema.getDeclaredFields()) {
+            fields.add(nextField.getName());
+        }
+        Collections.sort(fields);
+        assertEquals(Arrays.asList("NAMESPACE", "NAMESPACE_IRI", "PREFIX"), fields);
+
+        final Class<?> group = loader.loadClass("com.example.Large$" + groupName);
+        int iris = 0;
+        for (final Field nextField : group.getDeclaredFields()) {
+            if (nextField.getType() == IRI.class) {
+                final IRI iri = (IRI) nextField.get(null);
+                assertTrue(iri.getLocalName().toUpperCase().startsWith(groupName));
+                assertEquals(iri.getLocalName(),
+                        group.getField(nextField.getName() + "_LOCALNAME").get(null));
+                iris++;
+            }
+        }
+        assertTrue(iris > 0 && iris < 6000);
+    }
+
+    /**
+     * @return The name of the holder class for each IRI constant in a
+     *         synthetic schema with the given number of terms.
+     */
+    private Map<String, String> getGroups(int termCount) throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(termCount).descriptionWords(0)
+                .writeTo(tempDir.newFile("synthetic" + termCount + ".nt").toPath(),
+                        RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setConstantGroupSize(1000);
+        final Matcher matcher = Pattern
+                .compile("public static final class (\\w+) \\{|public static final IRI (\\w+)")
+                .matcher(generate(generator));
+        final Map<String, String> result = new HashMap<>();
+        String group = null;
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                group = matcher.group(1);
+            } else if (group != null) {
+                result.put(matcher.group(2), group);
+            }
+        }
+        return result;
+    }
+
+    private List<SchemaTerm> createTerms(String... keys) {
+        final Model model = new LinkedHashModel();
+        for (final String nextKey : keys) {
+            model.add(vf.createIRI(NS, nextKey), RDF.TYPE, OWL.CLASS);
+        }
+        return SchemaTermIndex.build(model, NS, new IRI[0], new IRI[0]).getTerms();
+    }
+
+    private static String generate(RDF4JSchemaGeneratorCore generator) throws Exception {
+        final StringWriter result = new StringWriter();
+        generator.generate("Test", new PrintWriter(result));
+        return result.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#setLazyIris(boolean)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorLazyTest {
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testLazyIris() throws Exception {
+        final Path input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setStringPropertySuffix("_STRING");
+        generator.setLazyIris(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "LDP");
+        // Only the namespace IRI is created when the class is loaded
+        assertEquals(Collections.singletonList("NAMESPACE_IRI"), iriFieldNames(schema));
+        assertEquals("Container", schema.getField("Container_STRING").get(null));
+
+        int iris = 0;
+        for (final Method nextMethod : schema.getMethods()) {
+            if (nextMethod.getReturnType() == IRI.class && nextMethod.getParameterCount() == 0
+                    && Modifier.isStatic(nextMethod.getModifiers())) {
+                final IRI iri = (IRI) nextMethod.invoke(null);
+                assertEquals(LDP + schema.getField(nextMethod.getName() + "_STRING").get(null),
+                        iri.stringValue());
+                assertSame(iri, nextMethod.invoke(null));
+                iris++;
+            }
+        }
+        assertTrue(iris > 0);
+        assertEquals(LDP + "Container", ((IRI) schema.getMethod("Container").invoke(null))
+                .stringValue());
+    }
+
+    @Test
+    public void testLazyIrisInConstantGroups() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(300).descriptionWords(0)
+                .writeTo(tempDir.newFile("synthetic.nt").toPath(), RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setConstantGroupSize(50);
+        generator.setLazyIris(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "Synthetic");
+        final Class<?>[] groups = schema.getClasses();
+        assertTrue(groups.length > 1);
+        int iris = 0;
+        for (final Class<?> nextGroup : groups) {
+            for (final Field nextField : nextGroup.getFields()) {
+                assertEquals(String.class, nextField.getType());
+            }
+            for (final Method nextMethod : nextGroup.getMethods()) {
+                if (nextMethod.getReturnType() == IRI.class) {
+                    assertSame(nextMethod.invoke(null), nextMethod.invoke(null));
+                    iris++;
+                }
+            }
+        }
+        assertEquals(300, iris);
+        assertEquals(Collections.singletonList("NAMESPACE_IRI"), iriFieldNames(schema));
+    }
+
+    private static List<String> iriFieldNames(Class<?> schema) {
+        final List<String> result = new ArrayList<>();
+        for (final Field nextField : schema.getFields()) {
+            if (nextField.getType() == IRI.class) {
+                result.add(nextField.getName());
+            }
+        }
+        return result;
+    }
+}
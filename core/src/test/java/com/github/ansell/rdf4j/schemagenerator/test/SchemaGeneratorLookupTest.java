@@ -0,0 +1,104 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.LookupSwitch;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#setLookupMethods(boolean)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorLookupTest {
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testLookupMethods() throws Exception {
+        final Path input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setLookupMethods(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "LDP");
+        final Method fromIRI = schema.getMethod("fromIRI", IRI.class);
+        final Method fromString = schema.getMethod("fromString", String.class);
+        final Method fromLocalName = schema.getMethod("fromLocalName", String.class);
+        int iris = 0;
+        for (final Field nextField : schema.getFields()) {
+            if (nextField.getType() == IRI.class && !nextField.getName().equals("NAMESPACE_IRI")) {
+                final IRI iri = (IRI) nextField.get(null);
+                assertSame(iri, fromIRI.invoke(null, vf.createIRI(iri.stringValue())));
+                assertSame(iri, fromString.invoke(null, iri.stringValue()));
+                assertSame(iri, fromLocalName.invoke(null, iri.getLocalName()));
+                iris++;
+            }
+        }
+        assertTrue(iris > 0);
+        assertNull(fromIRI.invoke(null, schema.getField("NAMESPACE_IRI").get(null)));
+        assertNull(fromString.invoke(null, "http://www.w3.org/ns/ldp#NotATerm"));
+        assertNull(fromLocalName.invoke(null, "container"));
+    }
+
+    @Test
+    public void testLargeSchemaLookup() throws Exception {
+        final int termCount = LookupSwitch.MAX_BUCKET_SIZE * 3;
+        final SyntheticVocabulary vocabulary = new SyntheticVocabulary().termCount(termCount)
+                .descriptionWords(0);
+        final Path input = vocabulary.writeTo(tempDir.newFile("large.nt").toPath(),
+                RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setConstantGroupSize(500);
+        generator.setLazyIris(true);
+        generator.setLookupMethods(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "Large");
+        final Method fromString = schema.getMethod("fromString", String.class);
+        final Method fromLocalName = schema.getMethod("fromLocalName", String.class);
+        int iris = 0;
+        for (final Class<?> nextGroup : schema.getClasses()) {
+            for (final Method nextMethod : nextGroup.getMethods()) {
+                if (nextMethod.getReturnType() == IRI.class) {
+                    final IRI iri = (IRI) nextMethod.invoke(null);
+                    assertSame(iri, fromString.invoke(null, iri.stringValue()));
+                    assertSame(iri, fromLocalName.invoke(null,
+                            iri.stringValue().substring(vocabulary.getPrefix().length())));
+                    iris++;
+                }
+            }
+        }
+        assertEquals(termCount, iris);
+        assertNull(fromString.invoke(null, vocabulary.getPrefix()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+
+/**
+ * Tests for
+ * {@link RDF4JSchemaGeneratorCore#setPrefixes(java.util.Collection)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorMultiNamespaceTest {
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    private static final String OA = "http://www.w3.org/ns/oa#";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    private Path input;
+
+    @Before
+    public void setUp() throws Exception {
+        final Model model = new LinkedHashModel();
+        for (final String nextResource : new String[] { "/ldp.ttl", "/oa.ttl" }) {
+            try (final InputStream in = getClass().getResourceAsStream(nextResource)) {
+                model.addAll(Rio.parse(in, "", RDFFormat.TURTLE));
+            }
+        }
+        input = tempDir.newFile("combined.ttl").toPath();
+        try (final OutputStream out = Files.newOutputStream(input)) {
+            Rio.write(model, out, RDFFormat.TURTLE);
+        }
+    }
+
+    @Test
+    public void testSameAsSinglePrefix() throws Exception {
+        final RDF4JSchemaGeneratorCore multiple = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        multiple.setPrefixes(Arrays.asList(LDP, OA));
+
+        for (final String nextPrefix : new String[] { LDP, OA }) {
+            final RDF4JSchemaGeneratorCore single = new RDF4JSchemaGeneratorCore(
+                    input.toString(), (RDFFormat) null);
+            single.setPrefix(nextPrefix);
+            multiple.setPrefix(nextPrefix);
+            assertEquals(generate(single), generate(multiple));
+            assertEquals(single.generateResourceBundle("Test"),
+                    multiple.generateResourceBundle("Test"));
+        }
+    }
+
+    @Test
+    public void testNestedPrefix() throws Exception {
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPrefixes(Arrays.asList("http://www.w3.org/ns/", OA));
+
+        // The oa terms are only generated for the longest prefix
+        generator.setPrefix("http://www.w3.org/ns/");
+        final String outer = generate(generator);
+        assertFalse(outer.contains(OA + "Annotation"));
+        assertTrue(outer.contains(LDP + "Container"));
+
+        generator.setPrefix(OA);
+        assertTrue(generate(generator).contains(OA + "Annotation"));
+    }
+
+    private static String generate(RDF4JSchemaGeneratorCore generator) throws Exception {
+        final StringWriter result = new StringWriter();
+        generator.generate("Test", new PrintWriter(result));
+        return result.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.LookupSwitch;
+
+/**
+ * Tests for {@link RDF4JSchemaGeneratorCore#setTermOrdinals(boolean)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorOrdinalTest {
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Rule
+    public GeneratedClasses generatedClasses = new GeneratedClasses();
+
+    @Test
+    public void testTermOrdinals() throws Exception {
+        final Path input = tempDir.newFile("ldp.ttl").toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/ldp.ttl")) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setTermOrdinals(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "LDP");
+        final Method ordinal = schema.getMethod("ordinal", IRI.class);
+        final List<IRI> iris = new ArrayList<>();
+        for (final Field nextField : schema.getFields()) {
+            if (nextField.getType() == IRI.class && !nextField.getName().equals("NAMESPACE_IRI")) {
+                iris.add((IRI) nextField.get(null));
+            }
+        }
+        final int termCount = schema.getField("TERM_COUNT").getInt(null);
+        assertEquals(iris.size(), termCount);
+        // Fields are declared in the same order as the ordinals
+        for (int i = 0; i < iris.size(); i++) {
+            assertEquals(i, ordinal.invoke(null, vf.createIRI(iris.get(i).stringValue())));
+        }
+        assertEquals(-1, ordinal.invoke(null, RDF.TYPE));
+
+        final Class<?> termSetClass = loadNested(schema, "TermSet");
+        final Object termSet = termSetClass.getMethod("of", IRI[].class).invoke(null,
+                (Object) new IRI[] { iris.get(0), iris.get(termCount - 1) });
+        final Method contains = termSetClass.getMethod("contains", IRI.class);
+        final Method add = termSetClass.getMethod("add", IRI.class);
+        final Method remove = termSetClass.getMethod("remove", IRI.class);
+        final Method size = termSetClass.getMethod("size");
+        assertEquals(2, size.invoke(termSet));
+        assertTrue((Boolean) contains.invoke(termSet, iris.get(0)));
+        assertFalse((Boolean) contains.invoke(termSet, iris.get(1)));
+        assertFalse((Boolean) contains.invoke(termSet, RDF.TYPE));
+        assertTrue((Boolean) add.invoke(termSet, iris.get(1)));
+        assertFalse((Boolean) add.invoke(termSet, iris.get(1)));
+        assertEquals(3, size.invoke(termSet));
+        assertTrue((Boolean) remove.invoke(termSet, iris.get(0)));
+        assertFalse((Boolean) remove.invoke(termSet, iris.get(0)));
+        assertFalse((Boolean) remove.invoke(termSet, RDF.TYPE));
+        assertEquals(2, size.invoke(termSet));
+        try {
+            add.invoke(termSet, RDF.TYPE);
+            fail("Did not find expected exception");
+        } catch (final InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+
+        final Class<?> termMapClass = loadNested(schema, "TermMap");
+        final Object termMap = termMapClass.getConstructor().newInstance();
+        final Method get = termMapClass.getMethod("get", IRI.class);
+        final Method put = termMapClass.getMethod("put", IRI.class, Object.class);
+        final Method removeValue = termMapClass.getMethod("remove", IRI.class);
+        final Method mapSize = termMapClass.getMethod("size");
+        assertNull(put.invoke(termMap, iris.get(1), "one"));
+        assertEquals("one", put.invoke(termMap, iris.get(1), "uno"));
+        assertNull(put.invoke(termMap, iris.get(2), "two"));
+        assertEquals(2, mapSize.invoke(termMap));
+        assertEquals("uno", get.invoke(termMap, vf.createIRI(iris.get(1).stringValue())));
+        assertNull(get.invoke(termMap, iris.get(0)));
+        assertNull(get.invoke(termMap, RDF.TYPE));
+        assertEquals("two", removeValue.invoke(termMap, iris.get(2)));
+        assertNull(removeValue.invoke(termMap, iris.get(2)));
+        assertEquals(1, mapSize.invoke(termMap));
+        assertTrue((Boolean) termMapClass.getMethod("containsKey", IRI.class).invoke(termMap,
+                iris.get(1)));
+    }
+
+    @Test
+    public void testLargeSchemaOrdinals() throws Exception {
+        final int termCount = LookupSwitch.MAX_BUCKET_SIZE * 3;
+        final SyntheticVocabulary vocabulary = new SyntheticVocabulary().termCount(termCount)
+                .descriptionWords(0);
+        final Path input = vocabulary.writeTo(tempDir.newFile("large.nt").toPath(),
+                RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setConstantGroupSize(500);
+        generator.setTermOrdinals(true);
+
+        final Class<?> schema = generatedClasses.compile(generator, "Large");
+        assertEquals(termCount, schema.getField("TERM_COUNT").getInt(null));
+        final Method ordinal = schema.getMethod("ordinal", IRI.class);
+        final boolean[] found = new boolean[termCount];
+        for (final Class<?> nextGroup : schema.getClasses()) {
+            for (final Field nextField : nextGroup.getFields()) {
+                if (nextField.getType() == IRI.class) {
+                    final int nextOrdinal = (Integer) ordinal.invoke(null, nextField.get(null));
+                    assertFalse(found[nextOrdinal]);
+                    found[nextOrdinal] = true;
+                }
+            }
+        }
+        for (final boolean nextFound : found) {
+            assertTrue(nextFound);
+        }
+    }
+
+    private static Class<?> loadNested(Class<?> schema, String name) {
+        for (final Class<?> nextClass : schema.getClasses()) {
+            if (nextClass.getSimpleName().equals(name)) {
+                return nextClass;
+            }
+        }
+        throw new AssertionError("Could not find class " + name);
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.io.output.NullWriter;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.GenerationException;
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTermIndex;
+import com.google.common.base.CaseFormat;
+
+/**
+ * Checks that the generator scales with the number of terms, using
+ * {@link SyntheticVocabulary}.
+ * <p>
+ * The checks on time and memory depend on the machine they run on, so they
+ * only run when the {@code schemagenerator.scaling} system property is
+ * {@code true}, for example using
+ * {@code mvn test -Dschemagenerator.scaling=true}. The number of terms for the
+ * larger vocabulary can be changed using the
+ * {@code schemagenerator.scaling.terms} system property, for example to check
+ * vocabularies with a million terms before a release. The JMH benchmarks in
+ * the benchmarks module measure the same phases more reliably.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorScalingTest {
+
+    private static final boolean MEASURE = Boolean.getBoolean("schemagenerator.scaling");
+
+    private static final int LARGE_TERMS = Integer.getInteger("schemagenerator.scaling.terms",
+            20000);
+
+    private static final int SMALL_TERMS = LARGE_TERMS / 8;
+
+    /**
+     * The allowed factor over linear growth, which is large enough to allow for
+     * noise in timings and heap measurements while still failing on quadratic
+     * growth.
+     */
+    private static final double SLACK = 3.0;
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public final void testSinglePassOverModel() throws Exception {
+        final Path input = writeVocabulary(SMALL_TERMS);
+        final CountingModel model = new CountingModel();
+        try (final InputStream in = Files.newInputStream(input)) {
+            model.addAll(Rio.parse(in, "", RDFFormat.NTRIPLES));
+        }
+
+        final SchemaTermIndex index = SchemaTermIndex.build(model,
+                new SyntheticVocabulary().getPrefix(),
+                RDF4JSchemaGeneratorCore.getLabelProperties(),
+                RDF4JSchemaGeneratorCore.getCommentProperties());
+        assertEquals(SMALL_TERMS, index.getTerms().size());
+        assertEquals(1, model.iterations);
+        assertEquals(0, model.filters);
+    }
+
+    @Test
+    public final void testNearLinearTime() throws Exception {
+        assumeTrue("Set -Dschemagenerator.scaling=true to measure time", MEASURE);
+        final Path small = writeVocabulary(SMALL_TERMS);
+        final Path large = writeVocabulary(LARGE_TERMS);
+
+        // Warm up before measuring
+        generate(small);
+        generate(small);
+
+        final long smallTime = bestTime(small);
+        final long largeTime = bestTime(large);
+        final double ratio = (double) largeTime / smallTime;
+        final double limit = (double) LARGE_TERMS / SMALL_TERMS * SLACK;
+        assertTrue(String.format("%d terms took %dms, %d terms took %dms, ratio %.1f > %.1f",
+                SMALL_TERMS, smallTime / 1000000, LARGE_TERMS, largeTime / 1000000, ratio,
+                limit), ratio < limit);
+    }
+
+    @Test
+    public final void testBoundedHeap() throws Exception {
+        assumeTrue("Set -Dschemagenerator.scaling=true to measure the heap", MEASURE);
+        final Path small = writeVocabulary(SMALL_TERMS);
+        final Path large = writeVocabulary(LARGE_TERMS);
+
+        final long smallHeap = retainedHeap(small);
+        final long largeHeap = retainedHeap(large);
+        // A collection during the measurement can hide the small heap, which
+        // would make any ratio meaningless
+        assumeTrue(String.format("%d terms retained %d bytes", SMALL_TERMS, smallHeap),
+                smallHeap > 0);
+        final double ratio = (double) largeHeap / smallHeap;
+        final double limit = (double) LARGE_TERMS / SMALL_TERMS * SLACK;
+        assertTrue(String.format("%d terms retained %dKB, %d terms retained %dKB, ratio %.1f > %.1f",
+                SMALL_TERMS, smallHeap / 1024, LARGE_TERMS, largeHeap / 1024, ratio, limit),
+                ratio < limit);
+    }
+
+    @Test
+    public final void testNamingCollisions() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(200).collisionRate(0.5)
+                .writeTo(tempDir.newFile("collisions.nt").toPath(), RDFFormat.NTRIPLES);
+
+        // Without case formatting, names that only differ by case are distinct
+        final RDF4JSchemaGeneratorCore distinct = new RDF4JSchemaGeneratorCore(input.toString(),
+                RDFFormat.NTRIPLES);
+        distinct.generate("Collisions", new PrintWriter(new NullWriter()));
+
+        final RDF4JSchemaGeneratorCore colliding = new RDF4JSchemaGeneratorCore(input.toString(),
+                RDFFormat.NTRIPLES);
+        colliding.setConstantCase(CaseFormat.UPPER_UNDERSCORE);
+        try {
+            colliding.generate("Collisions", new PrintWriter(new NullWriter()));
+            fail("Did not find expected naming collision");
+        } catch (final GenerationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("is defined twice"));
+        }
+    }
+
+    @Test
+    public final void testMultilingualBundles() throws Exception {
+        final Path input = new SyntheticVocabulary().termCount(100)
+                .languages("en", "fr", "de", "es", "ja").descriptionWords(50)
+                .writeTo(tempDir.newFile("multilingual.nt").toPath(), RDFFormat.NTRIPLES);
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), RDFFormat.NTRIPLES);
+        final Map<String, Properties> bundles = generator.generateResourceBundle("Test");
+        // The default bundle and one for each language
+        assertEquals(6, bundles.size());
+        assertEquals(200, bundles.get("Test_ja").size());
+    }
+
+    /**
+     * Counts the passes over the statements in the model, and the filters
+     * that would need another pass or an index.
+     */
+    private static final class CountingModel extends LinkedHashModel {
+
+        private static final long serialVersionUID = 1L;
+
+        private int iterations;
+
+        private int filters;
+
+        @Override
+        public Iterator<Statement> iterator() {
+            iterations++;
+            return super.iterator();
+        }
+
+        @Override
+        public Model filter(Resource subj, IRI pred, Value obj, Resource... contexts) {
+            filters++;
+            return super.filter(subj, pred, obj, contexts);
+        }
+    }
+
+    private Path writeVocabulary(int terms) throws Exception {
+        return new SyntheticVocabulary().termCount(terms).languages("en", "fr")
+                .descriptionWords(20)
+                .writeTo(tempDir.newFile("synthetic-" + terms + ".nt").toPath(),
+                        RDFFormat.NTRIPLES);
+    }
+
+    private static RDF4JSchemaGeneratorCore generate(Path input) throws Exception {
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), RDFFormat.NTRIPLES);
+        generator.setStringPropertySuffix("_STRING");
+        generator.setLocalNameStringPropertySuffix("_LOCALNAME");
+        generator.generate("Synthetic", new PrintWriter(new NullWriter()));
+        generator.generateResourceBundle("Synthetic");
+        return generator;
+    }
+
+    private static long bestTime(Path input) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            final long start = System.nanoTime();
+            generate(input);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long retainedHeap(Path input) throws Exception {
+        final long before = usedHeap();
+        final RDF4JSchemaGeneratorCore generator = generate(input);
+        final long after = usedHeap();
+        // Keep the generator reachable until the heap has been measured
+        assertTrue(generator.getPrefix() != null);
+        return after - before;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTemplates;
+
+/**
+ * Tests for the templates used by {@link RDF4JSchemaGeneratorCore}.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaGeneratorTemplateTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private Path input;
+
+    @Before
+    public void setUp() throws Exception {
+        input = temp.newFile("rdfs.ttl").toPath();
+        Files.copy(getClass().getResourceAsStream("/rdfs.ttl"), input,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Test
+    public void testTemplateCached() throws Exception {
+        final RDF4JSchemaGeneratorCore vb = new RDF4JSchemaGeneratorCore(
+                input.toAbsolutePath().toString(), (String) null);
+        assertSame(SchemaTemplates.getTemplate(vb.getTemplatePath()),
+                SchemaTemplates.getTemplate(vb.getTemplatePath()));
+    }
+
+    @Test
+    public void testLegacyTemplateMethodCalls() throws Exception {
+        final RDF4JSchemaGeneratorCore vb = new RDF4JSchemaGeneratorCore(
+                input.toAbsolutePath().toString(), (String) null);
+        vb.setTemplatePath("/templates/legacyMethodCalls.ftl");
+        vb.setPreferredLanguage("fr");
+
+        final StringWriter result = new StringWriter();
+        vb.generate("RDFS", new PrintWriter(result));
+
+        assertTrue(result.toString(),
+                result.toString().contains("Class=http://www.w3.org/2000/01/rdf-schema#Class Classe"));
+        assertTrue(result.toString(), result.toString()
+                .contains("seeAlso=http://www.w3.org/2000/01/rdf-schema-more\n"));
+    }
+
+    @Test
+    public void testLegacyTemplateDescription() throws Exception {
+        final Path vocab = temp.newFile("vocab.ttl").toPath();
+        Files.write(vocab, ("@prefix dcterms: <http://purl.org/dc/terms/> .\n"
+                + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+                + "<http://example.com/vocab#> a owl:Ontology ;\n"
+                + "    dcterms:description \"An example vocabulary\"@en .\n"
+                + "<http://example.com/vocab#Thing> a owl:Class .\n")
+                        .getBytes(StandardCharsets.UTF_8));
+        final RDF4JSchemaGeneratorCore vb = new RDF4JSchemaGeneratorCore(
+                vocab.toAbsolutePath().toString(), (String) null);
+        vb.setTemplatePath("/templates/legacyMethodCalls.ftl");
+
+        final StringWriter result = new StringWriter();
+        vb.generate("Vocab", new PrintWriter(result));
+
+        assertTrue(result.toString(),
+                result.toString().contains("description=An example vocabulary en\n"));
+    }
+}
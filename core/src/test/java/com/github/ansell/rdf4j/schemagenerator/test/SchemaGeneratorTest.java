@@ -3,11 +3,14 @@
  */
 package com.github.ansell.rdf4j.schemagenerator.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -134,6 +137,8 @@ public class SchemaGeneratorTest {
         testOntology.add(testProperty3, SKOS.DEFINITION, testProperty3Description);
         testOntology.add(testProperty4, SKOS.PREF_LABEL, testProperty4DescriptionEn);
         testOntology.add(testProperty4, SKOS.PREF_LABEL, testProperty4DescriptionFr);
+        testOntology.add(vf.createIRI("http://example.com/ns/data#instance1"), RDFS.LABEL,
+                vf.createLiteral("instance 1"));
         final String fileName = "test." + format.getDefaultFileExtension();
         inputPath = testDir.resolve(fileName);
         try (final OutputStream outputStream = Files.newOutputStream(inputPath)) {
@@ -331,4 +336,49 @@ public class SchemaGeneratorTest {
                 result.contains("\"http://example.com/ns/ontology#propertyLocalised4\""));
     }
 
+    /**
+     * Test method for
+     * {@link com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore#RDF4JSchemaGeneratorCore(String, RDFFormat, String)}.
+     */
+    @Test
+    public final void testStreamingMatchesFullModel() throws Exception {
+        final RDF4JSchemaGeneratorCore fullBuilder = new RDF4JSchemaGeneratorCore(
+                inputPath.toAbsolutePath().toString(), format);
+        fullBuilder.setPreferredLanguage("fr");
+        final StringWriter fullOutput = new StringWriter();
+        fullBuilder.generate("Test", new PrintWriter(fullOutput));
+
+        final RDF4JSchemaGeneratorCore streamingBuilder = new RDF4JSchemaGeneratorCore(
+                inputPath.toAbsolutePath().toString(), format, null);
+        streamingBuilder.setPreferredLanguage("fr");
+        final StringWriter streamingOutput = new StringWriter();
+        streamingBuilder.generate("Test", new PrintWriter(streamingOutput));
+
+        final RDF4JSchemaGeneratorCore prefixBuilder = new RDF4JSchemaGeneratorCore(
+                inputPath.toAbsolutePath().toString(), format, testOntologyUri.stringValue());
+        prefixBuilder.setPreferredLanguage("fr");
+        final StringWriter prefixOutput = new StringWriter();
+        prefixBuilder.generate("Test", new PrintWriter(prefixOutput));
+
+        final String expected = fullOutput.toString();
+        assertTrue(expected, expected.contains("property_2 = "));
+        assertFalse(expected, expected.contains("instance1"));
+        assertEquals(expected, streamingOutput.toString());
+        assertEquals(expected, prefixOutput.toString());
+    }
+
+    @Test
+    public final void testGenerateTwice() throws Exception {
+        final RDF4JSchemaGeneratorCore testBuilder = new RDF4JSchemaGeneratorCore(
+                inputPath.toAbsolutePath().toString(), format);
+        testBuilder.setStringPropertySuffix("_STRING");
+
+        final StringWriter firstOutput = new StringWriter();
+        testBuilder.generate("Test", new PrintWriter(firstOutput));
+        final StringWriter secondOutput = new StringWriter();
+        testBuilder.generate("Test", new PrintWriter(secondOutput));
+
+        assertEquals(firstOutput.toString(), secondOutput.toString());
+    }
+
 }
@@ -0,0 +1,126 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.Schema;
+import com.github.ansell.rdf4j.schemagenerator.SchemaIndex;
+
+/**
+ * Tests for {@link SchemaIndex}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaIndexTest {
+
+    private static final String LDP = "http://www.w3.org/ns/ldp#";
+
+    private static final String OA = "http://www.w3.org/ns/oa#";
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testReadWrite() throws Exception {
+        final List<SchemaIndex.Entry> entries = Arrays.asList(
+                new SchemaIndex.Entry(LDP, "ldp", "com.example.LDP"),
+                new SchemaIndex.Entry(OA, "oa", "com.example.OA"));
+        final StringWriter writer = new StringWriter();
+        SchemaIndex.write(entries, writer);
+        assertEquals(entries, SchemaIndex.read(new StringReader(
+                "# Comments and empty lines are ignored\n\n" + writer.toString())));
+    }
+
+    @Test
+    public void testLoadOnFirstUse() throws Exception {
+        final Path sourceDir = tempDir.newFolder("src").toPath();
+        final Path classesDir = tempDir.newFolder("classes").toPath();
+        final List<SchemaIndex.Entry> entries = new ArrayList<>();
+        entries.add(generate("ldp.ttl", "LDP", sourceDir));
+        entries.add(generate("oa.ttl", "OA", sourceDir));
+        assertEquals(new SchemaIndex.Entry(LDP, "LDP", "com.example.LDP"), entries.get(0));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals("Compiling the schemas failed", 0, compiler.run(null, null, null, "-d",
+                classesDir.toString(), sourceDir.resolve("LDP.java").toString(),
+                sourceDir.resolve("OA.java").toString()));
+        final Path index = classesDir
+                .resolve(SchemaIndex.RESOURCE_FOLDER + Schema.class.getName());
+        Files.createDirectories(index.getParent());
+        try (final Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            SchemaIndex.write(entries, writer);
+        }
+
+        final Set<String> loaded = ConcurrentHashMap.newKeySet();
+        // The loader is left open so that the classes can still be used
+        final URLClassLoader loader = new URLClassLoader(
+                new URL[] { classesDir.toUri().toURL() }, getClass().getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                loaded.add(name);
+                return super.findClass(name);
+            }
+        };
+        final SchemaIndex<Schema> schemas = SchemaIndex.load(Schema.class, loader);
+        assertEquals(entries, schemas.getEntries());
+        assertEquals(Collections.emptySet(), loaded);
+
+        final Schema ldp = schemas.resolve(LDP + "Container").get();
+        assertEquals("com.example.LDP", ldp.getClass().getName());
+        assertEquals(LDP, ldp.getIRI().stringValue());
+        assertEquals(Collections.singleton("com.example.LDP"), loaded);
+        assertSame(ldp, schemas.get(SimpleValueFactory.getInstance().createIRI(LDP)).get());
+        assertSame(ldp, schemas.getByPrefix("LDP").get());
+
+        assertFalse(schemas.resolve("http://example.com/unknown").isPresent());
+        assertFalse(schemas.getByPrefix("unknown").isPresent());
+        assertEquals(Collections.singleton("com.example.LDP"), loaded);
+
+        assertEquals(OA, schemas.getByPrefix("OA").get().getIRI().stringValue());
+        assertTrue(loaded.contains("com.example.OA"));
+    }
+
+    private SchemaIndex.Entry generate(String resource, String className, Path sourceDir)
+            throws Exception {
+        final Path input = tempDir.newFile(resource).toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/" + resource)) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final RDF4JSchemaGeneratorCore generator = new RDF4JSchemaGeneratorCore(
+                input.toString(), (RDFFormat) null);
+        generator.setPackageName("com.example");
+        generator.setMetaInfServicesInterface(Schema.class.getName());
+        generator.generate(sourceDir.resolve(className + ".java"));
+        return new SchemaIndex.Entry(generator.getPrefix(), generator.getName(),
+                "com.example." + className);
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.ansell.rdf4j.schemagenerator.Schema;
+import com.github.ansell.rdf4j.schemagenerator.SchemaRegistry;
+
+/**
+ * Tests for {@link SchemaRegistry#resolve(IRI)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaRegistryTest {
+
+    private static final class TestSchema implements Schema {
+
+        private final IRI iri;
+
+        TestSchema(IRI iri) {
+            this.iri = iri;
+        }
+
+        @Override
+        public IRI getIRI() {
+            return iri;
+        }
+    }
+
+    private static final class TestRegistry extends SchemaRegistry<Schema> {
+
+        private static final long serialVersionUID = 1L;
+
+        TestRegistry() {
+            super(Schema.class, Schema::getIRI);
+        }
+    }
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    private TestRegistry registry;
+
+    private Schema vocab;
+
+    private Schema nested;
+
+    @Before
+    public void setUp() {
+        registry = new TestRegistry();
+        vocab = new TestSchema(vf.createIRI("http://example.com/vocab/"));
+        nested = new TestSchema(vf.createIRI("http://example.com/vocab/nested#"));
+        registry.add(vocab);
+        registry.add(nested);
+    }
+
+    @Test
+    public void testResolveLongestPrefix() {
+        assertEquals(Collections.singletonList(vocab),
+                registry.resolve(vf.createIRI("http://example.com/vocab/alpha")));
+        assertEquals(Collections.singletonList(vocab),
+                registry.resolve(vf.createIRI("http://example.com/vocab/nested")));
+        assertEquals(Collections.singletonList(nested),
+                registry.resolve(vf.createIRI("http://example.com/vocab/nested#beta")));
+        assertEquals(Collections.singletonList(vocab),
+                registry.resolve("http://example.com/vocab/"));
+        assertTrue(registry.resolve(vf.createIRI("http://example.com/other#alpha")).isEmpty());
+        assertTrue(registry.resolve("http://example.com/vo").isEmpty());
+    }
+
+    @Test
+    public void testResolveAfterChanges() {
+        assertEquals(Collections.singletonList(nested),
+                registry.resolve("http://example.com/vocab/nested#beta"));
+        registry.remove(nested);
+        assertEquals(Collections.singletonList(vocab),
+                registry.resolve("http://example.com/vocab/nested#beta"));
+
+        final Schema other = new TestSchema(vf.createIRI("http://example.com/other#"));
+        registry.add(other);
+        assertEquals(Collections.singletonList(other),
+                registry.resolve("http://example.com/other#alpha"));
+
+        registry.clear();
+        assertTrue(registry.resolve("http://example.com/vocab/alpha").isEmpty());
+    }
+
+    @Test
+    public void testResolveWhileAdding() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?> adding = executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    registry.add(new TestSchema(vf.createIRI("http://example.com/" + i + "#")));
+                }
+            });
+            final Future<?> resolving = executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    assertEquals(Collections.singletonList(nested),
+                            registry.resolve("http://example.com/vocab/nested#" + i));
+                }
+            });
+            adding.get(1, TimeUnit.MINUTES);
+            resolving.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, registry.resolve("http://example.com/" + i + "#term").size());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTerm;
+import com.github.ansell.rdf4j.schemagenerator.internal.SchemaTermIndex;
+
+/**
+ * Tests for {@link SchemaTermIndex}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SchemaTermIndexTest {
+
+    private static final IRI[] LABEL_PROPERTIES = new IRI[] { RDFS.LABEL, SKOS.PREF_LABEL };
+
+    private static final IRI[] COMMENT_PROPERTIES = new IRI[] { RDFS.COMMENT,
+            DCTERMS.DESCRIPTION };
+
+    private static final String NS = "http://example.com/ns/ontology#";
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    private Model model;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new LinkedHashModel();
+        model.add(vf.createIRI(NS), RDF.TYPE, OWL.ONTOLOGY);
+        model.add(vf.createIRI(NS), RDFS.LABEL, vf.createLiteral("Ontology"));
+        model.add(vf.createIRI(NS), RDFS.SEEALSO, vf.createIRI("http://example.com/seeAlso"));
+        model.add(vf.createIRI(NS, "term"), RDF.TYPE, OWL.CLASS);
+        model.add(vf.createIRI(NS, "term"), SKOS.PREF_LABEL, vf.createLiteral("skos", "en"));
+        model.add(vf.createIRI(NS, "term"), RDFS.LABEL, vf.createLiteral("english", "en"));
+        model.add(vf.createIRI(NS, "term"), RDFS.LABEL, vf.createLiteral("anglais", "en"));
+        model.add(vf.createIRI(NS, "term"), RDFS.LABEL, vf.createLiteral("français", "fr"));
+        model.add(vf.createIRI(NS, "term"), DCTERMS.DESCRIPTION,
+                vf.createLiteral("description"));
+        model.add(vf.createIRI(NS, "Term"), RDF.TYPE, OWL.CLASS);
+        model.add(vf.createIRI(NS, "another"), RDF.TYPE, OWL.CLASS);
+        model.add(vf.createIRI("http://example.com/other#term"), RDFS.LABEL,
+                vf.createLiteral("other"));
+    }
+
+    @Test
+    public void testTermsSortedAndFiltered() throws Exception {
+        final SchemaTermIndex index = SchemaTermIndex.build(model, NS, LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+
+        final List<String> keys = new ArrayList<>();
+        for (final SchemaTerm term : index.getTerms()) {
+            keys.add(term.getKey());
+        }
+        assertEquals(3, keys.size());
+        assertEquals("another", keys.get(0));
+        assertEquals("Term", keys.get(1));
+        assertEquals("term", keys.get(2));
+    }
+
+    @Test
+    public void testPrefixTerm() throws Exception {
+        final SchemaTermIndex index = SchemaTermIndex.build(model, NS, LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+
+        assertNotNull(index.getPrefixTerm());
+        assertEquals("Ontology", index.getPrefixTerm().getLabel(null).getLabel());
+        assertNull(index.getPrefixTerm().getComment(null));
+        assertEquals(1, index.getSeeAlso().size());
+        assertTrue(index.getSeeAlso().contains(vf.createIRI("http://example.com/seeAlso")));
+    }
+
+    @Test
+    public void testLabelsGroupedByPredicateAndLanguage() throws Exception {
+        final SchemaTermIndex index = SchemaTermIndex.build(model, NS, LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+        final SchemaTerm term = index.getTerms().get(2);
+
+        assertEquals("english", term.getLabel(null).getLabel());
+        assertEquals("english", term.getLabel("en").getLabel());
+        assertEquals("français", term.getLabel("fr").getLabel());
+        assertEquals("english", term.getLabel("es").getLabel());
+        assertEquals("description", term.getComment("en").getLabel());
+
+        final List<Literal> labels = new ArrayList<>();
+        term.forEachLabel(labels::add);
+        assertEquals(3, labels.size());
+        assertEquals("english", labels.get(0).getLabel());
+        assertEquals("français", labels.get(1).getLabel());
+        assertEquals("skos", labels.get(2).getLabel());
+    }
+
+    @Test
+    public void testBuildAllLongestPrefix() throws Exception {
+        model.add(vf.createIRI("http://example.com/ns/other"), RDFS.LABEL,
+                vf.createLiteral("outer"));
+        final Map<String, SchemaTermIndex> indexes = SchemaTermIndex.buildAll(model,
+                Arrays.asList("http://example.com/ns/", NS, "http://example.org/"),
+                LABEL_PROPERTIES, COMMENT_PROPERTIES);
+
+        assertEquals(Arrays.asList("http://example.com/ns/", NS, "http://example.org/"),
+                new ArrayList<>(indexes.keySet()));
+
+        // The terms under the nested prefix are not repeated for the outer one
+        final SchemaTermIndex outer = indexes.get("http://example.com/ns/");
+        assertNull(outer.getPrefixTerm());
+        assertEquals(1, outer.getTerms().size());
+        assertEquals("other", outer.getTerms().get(0).getKey());
+
+        final SchemaTermIndex single = SchemaTermIndex.build(model, NS, LABEL_PROPERTIES,
+                COMMENT_PROPERTIES);
+        final SchemaTermIndex nested = indexes.get(NS);
+        assertEquals(single.getSeeAlso(), nested.getSeeAlso());
+        assertEquals(single.getPrefixTerm().getLabel(null),
+                nested.getPrefixTerm().getLabel(null));
+        assertEquals(single.getTerms().size(), nested.getTerms().size());
+        for (int i = 0; i < single.getTerms().size(); i++) {
+            assertEquals(single.getTerms().get(i).getKey(), nested.getTerms().get(i).getKey());
+            assertEquals(single.getTerms().get(i).getLabel("fr"),
+                    nested.getTerms().get(i).getLabel("fr"));
+        }
+
+        assertTrue(indexes.get("http://example.org/").getTerms().isEmpty());
+    }
+
+}
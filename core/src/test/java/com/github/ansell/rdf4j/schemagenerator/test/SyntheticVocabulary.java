@@ -0,0 +1,190 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * Writes synthetic vocabularies for testing how the generator scales, with a
+ * configurable number of terms, label languages and description lengths.
+ * <p>
+ * Statements are written as they are created, so large vocabularies can be
+ * written without holding them in memory. The same settings always create the
+ * same vocabulary.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class SyntheticVocabulary {
+
+    private static final String[] WORDS = { "has", "quick", "brown", "fox", "jumps", "over",
+            "lazy", "dog", "part", "member", "source", "target", "value", "status", "agent",
+            "event", "place", "time", "name", "type" };
+
+    private static final ValueFactory VF = SimpleValueFactory.getInstance();
+
+    private String prefix = "http://example.com/synthetic#";
+    private int termCount = 1000;
+    private List<String> languages = Collections.singletonList("en");
+    private int descriptionWords = 10;
+    private double collisionRate = 0.0;
+    private long seed = 42L;
+
+    /**
+     * @param prefix
+     *            The prefix for the vocabulary, which is also its
+     *            {@code owl:Ontology}.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary prefix(String prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * @param termCount
+     *            The number of terms to create, not including the terms added
+     *            to create naming collisions.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary termCount(int termCount) {
+        this.termCount = termCount;
+        return this;
+    }
+
+    /**
+     * @param languages
+     *            The language tags for the labels and descriptions of each
+     *            term.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary languages(String... languages) {
+        this.languages = Arrays.asList(languages);
+        return this;
+    }
+
+    /**
+     * @param descriptionWords
+     *            The number of words in each description, or 0 to not add
+     *            descriptions.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary descriptionWords(int descriptionWords) {
+        this.descriptionWords = descriptionWords;
+        return this;
+    }
+
+    /**
+     * @param collisionRate
+     *            The fraction of terms that also have a term whose local name
+     *            only differs in the case of its first letter, such as a
+     *            property and a class with the same name, which collide when
+     *            their names are converted to a single case format.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary collisionRate(double collisionRate) {
+        this.collisionRate = collisionRate;
+        return this;
+    }
+
+    /**
+     * @param seed
+     *            The seed for choosing the words in names and descriptions.
+     * @return This object, for chaining.
+     */
+    public SyntheticVocabulary seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return The prefix for the vocabulary.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Write the vocabulary to the given file.
+     *
+     * @param file
+     *            The file to write to.
+     * @param format
+     *            The format to write.
+     * @return The file that was written to.
+     * @throws IOException
+     *             If the file could not be written.
+     */
+    public Path writeTo(Path file, RDFFormat format) throws IOException {
+        final Random random = new Random(seed);
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            final RDFWriter writer = Rio.createWriter(format, out);
+            writer.startRDF();
+            writer.handleNamespace("syn", prefix);
+            final IRI ontology = VF.createIRI(prefix);
+            writer.handleStatement(VF.createStatement(ontology, RDF.TYPE, OWL.ONTOLOGY));
+            writer.handleStatement(VF.createStatement(ontology, RDFS.LABEL,
+                    VF.createLiteral("Synthetic vocabulary", "en")));
+            final StringBuilder name = new StringBuilder();
+            for (int i = 0; i < termCount; i++) {
+                name.setLength(0);
+                name.append(WORDS[random.nextInt(WORDS.length)]);
+                final int extraWords = 1 + random.nextInt(3);
+                for (int j = 0; j < extraWords; j++) {
+                    final String word = WORDS[random.nextInt(WORDS.length)];
+                    name.append(Character.toUpperCase(word.charAt(0))).append(word, 1,
+                            word.length());
+                }
+                // The index keeps each name unique
+                name.append(i);
+                final String localName = name.toString();
+                writeTerm(writer, random, localName, OWL.OBJECTPROPERTY);
+                if (random.nextDouble() < collisionRate) {
+                    writeTerm(writer, random,
+                            Character.toUpperCase(localName.charAt(0)) + localName.substring(1),
+                            OWL.CLASS);
+                }
+            }
+            writer.endRDF();
+        }
+        return file;
+    }
+
+    private void writeTerm(RDFWriter writer, Random random, String localName, IRI type) {
+        final IRI term = VF.createIRI(prefix, localName);
+        writer.handleStatement(VF.createStatement(term, RDF.TYPE, type));
+        for (final String nextLanguage : languages) {
+            writer.handleStatement(VF.createStatement(term, RDFS.LABEL,
+                    VF.createLiteral(localName + " (" + nextLanguage + ")", nextLanguage)));
+            if (descriptionWords > 0) {
+                writer.handleStatement(VF.createStatement(term, RDFS.COMMENT,
+                        VF.createLiteral(createDescription(random), nextLanguage)));
+            }
+        }
+    }
+
+    private String createDescription(Random random) {
+        final StringBuilder result = new StringBuilder(descriptionWords * 6);
+        for (int i = 0; i < descriptionWords; i++) {
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return result.append('.').toString();
+    }
+}
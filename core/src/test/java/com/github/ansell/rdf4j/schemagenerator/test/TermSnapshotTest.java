@@ -0,0 +1,143 @@
+package com.github.ansell.rdf4j.schemagenerator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.internal.TermSnapshot;
+
+/**
+ * Tests for {@link TermSnapshot} and
+ * {@link RDF4JSchemaGeneratorCore#fromSnapshot(String, RDFFormat, Path)}
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+public class TermSnapshotTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public final void testLDP() throws Exception {
+        assertSameOutput("ldp.ttl", null);
+    }
+
+    @Test
+    public final void testOA() throws Exception {
+        assertSameOutput("oa.ttl", null);
+    }
+
+    @Test
+    public final void testGNA() throws Exception {
+        assertSameOutput("gna.rdf", "http://rs.gbif.org/terms/1.0/");
+    }
+
+    @Test
+    public final void testSchemaOrg() throws Exception {
+        assertSameOutput("schema.rdf", "http://schema.org/");
+    }
+
+    @Test
+    public final void testChangedInput() throws Exception {
+        final Path snapshots = tempDir.newFolder("snapshots").toPath();
+        final Path input = copy("ldp.ttl");
+        RDF4JSchemaGeneratorCore.fromSnapshot(input.toString(), null, snapshots);
+        assertEquals(1, countSnapshots(snapshots));
+
+        final Path other = copy("oa.ttl");
+        RDF4JSchemaGeneratorCore.fromSnapshot(other.toString(), null, snapshots);
+        assertEquals(2, countSnapshots(snapshots));
+
+        // The snapshot for the old content is replaced, and the snapshot for
+        // the other input is kept
+        Files.write(input, "\n".getBytes(), StandardOpenOption.APPEND);
+        RDF4JSchemaGeneratorCore.fromSnapshot(input.toString(), null, snapshots);
+        assertEquals(2, countSnapshots(snapshots));
+        assertTrue(Files.exists(snapshots.resolve(TermSnapshot.getFileName(input,
+                RDFFormat.TURTLE, RDF4JSchemaGeneratorCore.getLabelProperties(),
+                RDF4JSchemaGeneratorCore.getCommentProperties()))));
+        assertTrue(Files.exists(snapshots.resolve(TermSnapshot.getFileName(other,
+                RDFFormat.TURTLE, RDF4JSchemaGeneratorCore.getLabelProperties(),
+                RDF4JSchemaGeneratorCore.getCommentProperties()))));
+    }
+
+    @Test
+    public final void testInvalidSnapshot() throws Exception {
+        final Path snapshots = tempDir.newFolder("snapshots").toPath();
+        final Path input = copy("ldp.ttl");
+        final String expected = generate(new RDF4JSchemaGeneratorCore(input.toString(),
+                (RDFFormat) null));
+        RDF4JSchemaGeneratorCore.fromSnapshot(input.toString(), null, snapshots);
+        try (final Stream<Path> files = Files.list(snapshots)) {
+            for (final Path nextFile : files.collect(Collectors.toList())) {
+                Files.write(nextFile, "not a snapshot".getBytes());
+            }
+        }
+        // A snapshot that cannot be read is replaced by parsing the input
+        assertEquals(expected,
+                generate(RDF4JSchemaGeneratorCore.fromSnapshot(input.toString(), null,
+                        snapshots)));
+    }
+
+    private void assertSameOutput(String resource, String prefix) throws Exception {
+        final Path input = copy(resource);
+        final Path snapshots = tempDir.newFolder("snapshots").toPath();
+
+        final RDF4JSchemaGeneratorCore parsed = new RDF4JSchemaGeneratorCore(input.toString(),
+                (RDFFormat) null);
+        final RDF4JSchemaGeneratorCore written = RDF4JSchemaGeneratorCore
+                .fromSnapshot(input.toString(), null, snapshots);
+        assertEquals(1, countSnapshots(snapshots));
+        final RDF4JSchemaGeneratorCore read = RDF4JSchemaGeneratorCore
+                .fromSnapshot(input.toString(), null, snapshots);
+        assertEquals(1, countSnapshots(snapshots));
+
+        for (final RDF4JSchemaGeneratorCore nextGenerator : new RDF4JSchemaGeneratorCore[] {
+                parsed, written, read }) {
+            if (prefix != null) {
+                nextGenerator.setPrefix(prefix);
+            }
+            nextGenerator.setStringPropertySuffix("_STRING");
+        }
+        assertEquals(parsed.getPrefix(), read.getPrefix());
+        final String expected = generate(parsed);
+        assertEquals(expected, generate(written));
+        assertEquals(expected, generate(read));
+        assertEquals(parsed.generateResourceBundle("Test"), read.generateResourceBundle("Test"));
+    }
+
+    private Path copy(String resource) throws Exception {
+        final Path result = tempDir.newFile(resource).toPath();
+        try (final InputStream in = getClass().getResourceAsStream("/" + resource)) {
+            Files.copy(in, result, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return result;
+    }
+
+    private static String generate(RDF4JSchemaGeneratorCore generator) throws Exception {
+        final StringWriter result = new StringWriter();
+        generator.generate("Test", new PrintWriter(result));
+        return result.toString();
+    }
+
+    private static long countSnapshots(Path snapshots) throws Exception {
+        try (final Stream<Path> files = Files.list(snapshots)) {
+            return files.filter(file -> file.toString().endsWith(".snapshot")).count();
+        }
+    }
+}
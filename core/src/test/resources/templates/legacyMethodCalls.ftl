@@ -0,0 +1,9 @@
+<#if description??>
+description=${description.stringValue()} ${description.getLanguage().orElse("none")}
+</#if>
+<#list seeAlsoUrls as seeAlsoUrl>
+seeAlso=${seeAlsoUrl.stringValue()}
+</#list>
+<#list iriConstants as iriConstant>
+${iriConstant.getFormattedRecordKey()}=${iriConstant.getIRI().stringValue()}<#if iriConstant.getLabel().isPresent()> ${iriConstant.getLabel().get().stringValue()}</#if>
+</#list>
@@ -0,0 +1,211 @@
+package com.github.ansell.rdf4j.schemagenerator.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Remembers a fingerprint of the inputs and settings that each generated file
+ * was created from, so that later builds can skip parsing and generating
+ * schemas that have not changed.
+ * <p>
+ * The fingerprints are stored as a properties file, keyed by the path of the
+ * generated file, along with the paths of the other files that were generated
+ * with it, such as resource bundles. Methods are synchronized so that schemas
+ * can be checked and updated from more than one thread.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+final class FingerprintStore {
+
+    /**
+     * The prefix for the keys of the other files generated with each file.
+     */
+    private static final String OUTPUTS_PREFIX = "outputs:";
+
+    private final Path file;
+    private final Properties fingerprints = new Properties();
+    private boolean changed;
+
+    private FingerprintStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the fingerprints from the given file, which does not need to exist.
+     */
+    static FingerprintStore load(Path file) throws IOException {
+        final FingerprintStore result = new FingerprintStore(file);
+        if (Files.exists(file)) {
+            try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                result.fingerprints.load(reader);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return A new builder for a fingerprint.
+     */
+    static Fingerprint fingerprint() {
+        return new Fingerprint();
+    }
+
+    /**
+     * Hash the contents of a file, in the same way as
+     * {@link Fingerprint#addContent(Path)}.
+     *
+     * @return The SHA-256 hash of the contents as a hexadecimal string.
+     */
+    static String hashContent(Path path) throws IOException {
+        try (final InputStream input = Files.newInputStream(path)) {
+            return hashContent(input).toString();
+        }
+    }
+
+    private static HashCode hashContent(InputStream input) throws IOException {
+        final Hasher contentHasher = Hashing.sha256().newHasher();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            contentHasher.putBytes(buffer, 0, read);
+        }
+        return contentHasher.hash();
+    }
+
+    /**
+     * Check whether the given generated file, and the other files generated
+     * with it, all exist and were created from the inputs and settings with
+     * the given fingerprint.
+     */
+    synchronized boolean isUnchanged(Path generatedFile, String fingerprint) {
+        if (!fingerprint.equals(fingerprints.getProperty(generatedFile.toString()))
+                || !Files.exists(generatedFile)) {
+            return false;
+        }
+        final String outputs = fingerprints.getProperty(OUTPUTS_PREFIX + generatedFile);
+        if (outputs != null && !outputs.isEmpty()) {
+            for (final String nextOutput : outputs.split(File.pathSeparator)) {
+                if (!Files.exists(Paths.get(nextOutput))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forget the fingerprint for a generated file, before generating it again,
+     * so that a failure part way through is not mistaken for a complete file.
+     */
+    synchronized void remove(Path generatedFile) {
+        if (fingerprints.remove(generatedFile.toString()) != null) {
+            changed = true;
+        }
+        if (fingerprints.remove(OUTPUTS_PREFIX + generatedFile) != null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Remember the fingerprint for a generated file, and the other files that
+     * were generated with it, after they have been generated.
+     */
+    synchronized void update(Path generatedFile, String fingerprint,
+            Collection<Path> otherOutputs) {
+        final Object previous = fingerprints.setProperty(generatedFile.toString(), fingerprint);
+        if (!fingerprint.equals(previous)) {
+            changed = true;
+        }
+        final String outputs = otherOutputs.stream().map(Path::toString)
+                .collect(Collectors.joining(File.pathSeparator));
+        final Object previousOutputs = fingerprints.setProperty(OUTPUTS_PREFIX + generatedFile,
+                outputs);
+        if (!outputs.equals(previousOutputs)) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Write the fingerprints back to the file, if any of them changed.
+     */
+    synchronized void save() throws IOException {
+        if (!changed) {
+            return;
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            fingerprints.store(writer, "Generated by schema-generator-maven-plugin");
+        }
+        changed = false;
+    }
+
+    /**
+     * Builds a SHA-256 fingerprint from file contents and settings.
+     */
+    static final class Fingerprint {
+
+        private final Hasher hasher = Hashing.sha256().newHasher();
+
+        private Fingerprint() {
+        }
+
+        /**
+         * Add a setting, which may be null.
+         */
+        Fingerprint add(Object value) {
+            if (value == null) {
+                hasher.putBoolean(false);
+            } else {
+                hasher.putBoolean(true);
+                final String string = value.toString();
+                hasher.putInt(string.length());
+                hasher.putString(string, StandardCharsets.UTF_8);
+            }
+            return this;
+        }
+
+        /**
+         * Add the contents of a file.
+         */
+        Fingerprint addContent(Path path) throws IOException {
+            try (final InputStream input = Files.newInputStream(path)) {
+                return addContent(input);
+            }
+        }
+
+        /**
+         * Add the contents of a stream, which may be null if it was not found.
+         */
+        Fingerprint addContent(InputStream input) throws IOException {
+            if (input == null) {
+                return add(null);
+            }
+            // Contents are hashed separately so that they cannot run into the
+            // next value that is added
+            return add(hashContent(input));
+        }
+
+        /**
+         * @return The fingerprint as a hexadecimal string.
+         */
+        String build() {
+            return hasher.hash().toString();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.ansell.rdf4j.schemagenerator.plugin;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import com.github.ansell.rdf4j.schemagenerator.Compression;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Downloads remote schemas into a cache directory, using a single pooled HTTP
+ * client for all of the schemas in a build.
+ * <p>
+ * Schemas can be prefetched on a bounded pool of threads, so that downloads
+ * overlap with each other and with the generation of schemas that are already
+ * available. The number of connections to each host is limited separately, so
+ * that a build with many schemas from one host does not overload it.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} headers for each download are
+ * stored next to the cached file, and are sent back as {@code If-None-Match}
+ * and {@code If-Modified-Since} on the next build, so that schemas which did
+ * not change are not downloaded again.
+ *
+ * @author Peter Ansell p_ansell@yahoo.com
+ */
+final class RemoteSchemaCache implements Closeable {
+
+    private static final String URL_KEY = "url";
+    private static final String FILE_KEY = "file";
+    private static final String ETAG_KEY = "etag";
+    private static final String LAST_MODIFIED_KEY = "lastModified";
+
+    private final Path cacheDir;
+    private final String acceptHeader;
+    private final Log log;
+    private final CloseableHttpClient client;
+    private final ExecutorService executor;
+
+    /**
+     * @param cacheDir
+     *            The directory to store downloaded schemas in.
+     * @param userAgent
+     *            The User-Agent to send with each request.
+     * @param acceptHeader
+     *            The Accept header to send with each request, or null to not
+     *            send one.
+     * @param fetchThreads
+     *            The maximum number of schemas to download at the same time.
+     * @param maxConnectionsPerHost
+     *            The maximum number of schemas to download from the same host
+     *            at the same time.
+     * @param timeout
+     *            The timeout in milliseconds for connecting and for each read,
+     *            or 0 for no timeout.
+     * @param log
+     *            The log for messages.
+     * @throws IOException
+     *             If the cache directory could not be created.
+     */
+    RemoteSchemaCache(Path cacheDir, String userAgent, String acceptHeader, int fetchThreads,
+            int maxConnectionsPerHost, int timeout, Log log) throws IOException {
+        this.cacheDir = cacheDir;
+        this.acceptHeader = acceptHeader;
+        this.log = log;
+        Files.createDirectories(cacheDir);
+        // Waiting for a connection from the pool has no timeout, as downloads
+        // from the same host queue behind each other for as long as the
+        // earlier downloads take
+        final RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(timeout)
+                .setSocketTimeout(timeout).build();
+        this.client = HttpClientBuilder.create().setUserAgent(userAgent)
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnPerRoute(Math.max(1, maxConnectionsPerHost))
+                .setMaxConnTotal(Math.max(1, fetchThreads)).build();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, fetchThreads),
+                new ThreadFactoryBuilder().setNameFormat("schema-generator-fetch-%d")
+                        .setDaemon(true).build());
+    }
+
+    /**
+     * Start fetching a schema in the background.
+     *
+     * @param url
+     *            The URL of the schema.
+     * @param displayName
+     *            The name of the schema, which is used to name the cached file.
+     * @param mimeType
+     *            The configured MIME type of the schema, or null to use the
+     *            Content-Type of the response.
+     * @return The cached file containing the schema, when it is available.
+     * @see #fetch(URL, String, String)
+     */
+    Future<File> prefetch(URL url, String displayName, String mimeType) {
+        return executor.submit(() -> fetch(url, displayName, mimeType));
+    }
+
+    /**
+     * Fetch a schema, or find it in the cache if the server reports that it
+     * has not changed since it was cached.
+     *
+     * @param url
+     *            The URL of the schema.
+     * @param displayName
+     *            The name of the schema, which is used to name the cached file.
+     * @param mimeType
+     *            The configured MIME type of the schema, or null to use the
+     *            Content-Type of the response.
+     * @return The cached file containing the schema.
+     * @throws URISyntaxException
+     *             If the URL is not a valid URI.
+     * @throws IOException
+     *             If the schema could not be fetched or cached.
+     */
+    File fetch(URL url, String displayName, String mimeType)
+            throws URISyntaxException, IOException {
+        final Path metadataFile = cacheDir.resolve(displayName + ".properties");
+        final Properties metadata = readMetadata(metadataFile);
+
+        // Only send a conditional request if the file it refers to still exists
+        Path cacheFile = null;
+        if (url.toString().equals(metadata.getProperty(URL_KEY))
+                && metadata.getProperty(FILE_KEY) != null) {
+            cacheFile = cacheDir.resolve(metadata.getProperty(FILE_KEY));
+            if (!Files.exists(cacheFile)) {
+                log.debug(String.format("No Cache-File %s, need to fetch", cacheFile));
+                cacheFile = null;
+            }
+        }
+
+        final RequestBuilder request = RequestBuilder.get().setUri(url.toURI());
+        if (acceptHeader != null) {
+            request.setHeader(HttpHeaders.ACCEPT, acceptHeader);
+        }
+        if (cacheFile != null) {
+            log.debug(String.format("Cache-File %s found, checking if up-to-date", cacheFile));
+            if (metadata.getProperty(ETAG_KEY) != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, metadata.getProperty(ETAG_KEY));
+            }
+            if (metadata.getProperty(LAST_MODIFIED_KEY) != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                        metadata.getProperty(LAST_MODIFIED_KEY));
+            }
+        }
+
+        final Path existingCacheFile = cacheFile;
+        return client.execute(request.build(), response -> {
+            final int status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED && existingCacheFile != null) {
+                log.info(String.format("Schema definition for %s from %s did not change",
+                        displayName, url));
+                return existingCacheFile.toFile();
+            }
+            final HttpEntity entity = response.getEntity();
+            if (status < 200 || status >= 300 || entity == null) {
+                throw new HttpResponseException(status, String.format("%s returned %s", url,
+                        response.getStatusLine()));
+            }
+
+            String mime = mimeType;
+            if (mime == null) {
+                mime = getHeaderValue(response, HttpHeaders.CONTENT_TYPE);
+                log.debug("Using mime-type from response-header: " + mime);
+            }
+
+            // Compressed schemas are usually served with a generic type, so
+            // fall back to the extension of the URL. They are kept compressed
+            // in the cache and decompressed as they are parsed.
+            Optional<RDFFormat> format = mime != null ? Rio.getParserFormatForMIMEType(mime)
+                    : Optional.empty();
+            if (!format.isPresent()) {
+                format = Compression.getParserFormatForFileName(url.getPath());
+            }
+            final String fName;
+            if (!format.isPresent()) {
+                fName = displayName + ".cache";
+                log.debug(String.format("Unknown format, cache will be %s", fName));
+            } else {
+                fName = displayName + "." + format.get().getDefaultFileExtension();
+                log.debug(String.format("%s format, cache will be %s", format.get().getName(),
+                        fName));
+            }
+
+            // Remove the old metadata first, so that a failed download is not
+            // mistaken for a complete one by the next build
+            Files.deleteIfExists(metadataFile);
+            final File cf = cacheDir.resolve(fName).toFile();
+            FileUtils.copyInputStreamToFile(entity.getContent(), cf);
+
+            final Properties newMetadata = new Properties();
+            newMetadata.setProperty(URL_KEY, url.toString());
+            newMetadata.setProperty(FILE_KEY, fName);
+            final String etag = getHeaderValue(response, HttpHeaders.ETAG);
+            if (etag != null) {
+                newMetadata.setProperty(ETAG_KEY, etag);
+            }
+            final String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                newMetadata.setProperty(LAST_MODIFIED_KEY, lastModified);
+            }
+            try (final Writer writer = Files.newBufferedWriter(metadataFile,
+                    StandardCharsets.UTF_8)) {
+                newMetadata.store(writer, "Generated by schema-generator-maven-plugin");
+            }
+
+            log.info(String.format("Fetched schema definition for %s from %s", displayName,
+                    url));
+            return cf;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        client.close();
+    }
+
+    private static Properties readMetadata(Path metadataFile) throws IOException {
+        final Properties result = new Properties();
+        if (Files.exists(metadataFile)) {
+            try (final Reader reader = Files.newBufferedReader(metadataFile,
+                    StandardCharsets.UTF_8)) {
+                result.load(reader);
+            }
+        }
+        return result;
+    }
+
+    private static String getHeaderValue(HttpResponse response, String header) {
+        final Header h = response.getFirstHeader(header);
+        if (h != null) {
+            return h.getValue();
+        } else {
+            return null;
+        }
+    }
+}
@@ -2,35 +2,36 @@ package com.github.ansell.rdf4j.schemagenerator.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.Header;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.ResponseHandler;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.client.utils.DateUtils;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.AbstractMojo;
@@ -51,8 +52,10 @@ import org.eclipse.rdf4j.rio.Rio;
 import org.slf4j.impl.StaticLoggerBinder;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
+import com.github.ansell.rdf4j.schemagenerator.Compression;
 import com.github.ansell.rdf4j.schemagenerator.GenerationException;
 import com.github.ansell.rdf4j.schemagenerator.RDF4JSchemaGeneratorCore;
+import com.github.ansell.rdf4j.schemagenerator.SchemaIndex;
 import com.google.common.base.CaseFormat;
 
 /**
@@ -97,9 +100,133 @@ public class SchemaGeneratorMojo extends AbstractMojo {
     @Parameter(property = "templateClassPathLocation", defaultValue = "/com/github/ansell/rdf4j/schemagenerator/javaStaticClassRDF4J.ftl")
     private final String templatePath = "/com/github/ansell/rdf4j/schemagenerator/javaStaticClassRDF4J.ftl";
 
+    /**
+     * Write the classes directly instead of using the FreeMarker template. The
+     * classes have the same layout as the default template, and are written
+     * much faster for very large schemas.
+     */
+    @Parameter(property = "directEmitter", defaultValue = "false")
+    private boolean directEmitter;
+
+    /**
+     * Generate the constants into nested holder classes named after the start
+     * of the term names, for example {@code SCHEMA.P.PERSON}, and warn about
+     * holder classes with more than this many terms. Zero keeps every constant
+     * in the schema class.
+     */
+    @Parameter(property = "constantGroupSize", defaultValue = "0")
+    private int constantGroupSize;
+
+    /**
+     * The number of characters from the start of the term names that name the
+     * nested holder classes when {@code constantGroupSize} is set.
+     */
+    @Parameter(property = "constantGroupKeyLength", defaultValue = "1")
+    private int constantGroupKeyLength;
+
+    /**
+     * Generate a static method for each IRI constant, which creates the IRI
+     * when it is first used, instead of creating every IRI when the class is
+     * initialised.
+     */
+    @Parameter(property = "lazyIris", defaultValue = "false")
+    private boolean lazyIris;
+
+    /**
+     * Create the IRI constants using an IRI implementation that is generated
+     * inside each class, which keeps the namespace and local name separately
+     * and computes its hash code once.
+     */
+    @Parameter(property = "compactIris", defaultValue = "false")
+    private boolean compactIris;
+
+    /**
+     * Generate fromIRI, fromString and fromLocalName methods in each class,
+     * which find the IRI constant for a term using switch statements.
+     */
+    @Parameter(property = "lookupMethods", defaultValue = "false")
+    private boolean lookupMethods;
+
+    /**
+     * Generate an ordinal for each term in each class, with TermSet and
+     * TermMap classes that store terms and values in arrays indexed by the
+     * ordinals.
+     */
+    @Parameter(property = "termOrdinals", defaultValue = "false")
+    private boolean termOrdinals;
+
+    /**
+     * Generate the resource bundles as a Labels class next to each schema
+     * class, which finds the labels and comments without parsing properties
+     * files, instead of writing the properties files.
+     */
+    @Parameter(property = "compiledBundles", defaultValue = "false")
+    private boolean compiledBundles;
+
+    /**
+     * Stream the input and only keep the statements that are needed to
+     * generate each schema, instead of loading the whole input into memory.
+     */
+    @Parameter(property = "streamingIngestion", defaultValue = "false")
+    private boolean streamingIngestion;
+
+    /**
+     * A directory for snapshots of the statements that are needed from each
+     * input, so that inputs which did not change are not parsed again when
+     * other settings change. Older snapshots for an input are deleted when a
+     * new snapshot is written for it. Snapshots are not used unless this is
+     * set, and are not used with {@code streamingIngestion}.
+     */
+    @Parameter(property = "snapshotDirectory")
+    private File snapshotDirectory;
+
+    /**
+     * The number of schemas to generate at the same time. Each schema is
+     * fetched, parsed and written independently, so builds with many schemas
+     * can use more than one thread.
+     */
+    @Parameter(property = "threads", defaultValue = "1")
+    private int threads = 1;
+
+    /**
+     * The maximum number of remote schemas to download at the same time. All
+     * remote schemas are requested before generation starts, so downloads
+     * overlap with each other and with generating the schemas that are
+     * already available.
+     */
+    @Parameter(property = "fetchThreads", defaultValue = "4")
+    private int fetchThreads = 4;
+
+    /**
+     * The maximum number of remote schemas to download from the same host at
+     * the same time.
+     */
+    @Parameter(property = "maxConnectionsPerHost", defaultValue = "2")
+    private int maxConnectionsPerHost = 2;
+
+    /**
+     * The timeout in milliseconds for connecting to a host and for each read
+     * when downloading a remote schema, or 0 for no timeout.
+     */
+    @Parameter(property = "fetchTimeout", defaultValue = "60000")
+    private int fetchTimeout = 60000;
+
+    /**
+     * Fingerprints of the inputs and settings for each generated schema, used
+     * to skip schemas that have not changed since the previous build.
+     */
+    @Parameter(property = "fingerprintFile", defaultValue = "${project.build.directory}/schema-generator-maven-plugin.fingerprints")
+    private File fingerprintFile;
+
     @Parameter(property = "createResourceBundles", defaultValue = "true")
     private final boolean createResourceBundles = true;
 
+    /**
+     * Make each class implement the metaInfServicesInterface, and list the
+     * classes in META-INF/services. The namespace and prefix of each class are
+     * also written to META-INF/schema-index, for
+     * {@link com.github.ansell.rdf4j.schemagenerator.SchemaIndex}.
+     */
     @Parameter(property = "createMetaInfServices", defaultValue = "false")
     private final boolean createMetaInfServices = false;
     @Parameter(property = "metaInfServicesInterface", defaultValue = "com.github.ansell.rdf4j.schemagenerator.Schema")
@@ -140,13 +267,24 @@ public class SchemaGeneratorMojo extends AbstractMojo {
     @Parameter(defaultValue = "${plugin}", readonly = true)
     private PluginDescriptor pluginDescriptor;
 
+    private FingerprintStore fingerprints;
+
+    private String templateFingerprint;
+
+    private RemoteSchemaCache remoteCache;
+
+    /**
+     * The index entry for each schema class generated by this build, which
+     * are written to the index after all of the schemas.
+     */
+    private final Map<String, SchemaIndex.Entry> indexEntries = new ConcurrentHashMap<>();
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         StaticLoggerBinder.getSingleton().setLog(getLog());
 
         try {
             final Log log = getLog();
-            log.info(String.format("Generating %d schemas", schemas.size()));
 
             if (schemas == null) {
                 schemas = new ArrayList<>();
@@ -158,355 +296,634 @@ public class SchemaGeneratorMojo extends AbstractMojo {
                 schemas.add(0, SchemaConfig.create(file, name, className));
             }
 
+            log.info(String.format("Generating %d schemas", schemas.size()));
+
             final Path output = outputDirectory.toPath();
             final Path resourceOutput = resourceOutputDirectory.toPath();
             Files.createDirectories(output);
             Files.createDirectories(resourceOutput);
 
-            final Path metaInfServicesFolderTarget = resourceOutput.resolve("META-INF")
-                    .resolve("services");
-            Files.createDirectories(metaInfServicesFolderTarget);
-            final Path metaInfServicesTarget = metaInfServicesFolderTarget
-                    .resolve(metaInfServicesInterface);
-            try (final Writer metaInfServicesOut = new OutputStreamWriter(
-                    buildContext.newFileOutputStream(metaInfServicesTarget.toFile()),
-                    StandardCharsets.UTF_8)) {
+            // Check the configurations before starting any of them, so that a
+            // bad configuration fails fast even when generating in parallel
+            final List<String> displayNames = new ArrayList<>(schemas.size());
+            for (final SchemaConfig nextSchema : schemas) {
+                final String displayName = nextSchema.getName() != null ? nextSchema.getName()
+                        : nextSchema.getClassName();
+                if (displayName == null) {
+                    log.error("Incomplete Configuration: Schema without className or name");
+                    throw new MojoExecutionException(
+                            "Incomplete Configuration: Schema without className or name");
+                }
+                displayNames.add(displayName);
+            }
 
-                for (final SchemaConfig nextSchema : schemas) {
-                    final String displayName = nextSchema.getName() != null ? nextSchema.getName()
-                            : nextSchema.getClassName();
-                    if (displayName == null) {
-                        log.error("Incomplete Configuration: Schema without className or name");
-                        throw new MojoExecutionException(
-                                "Incomplete Configuration: Schema without className or name");
+            fingerprints = FingerprintStore.load(fingerprintFile.toPath());
+            try (final InputStream template = RDF4JSchemaGeneratorCore.class
+                    .getResourceAsStream(templatePath);
+                    final InputStream bundleTemplate = RDF4JSchemaGeneratorCore.class
+                            .getResourceAsStream(
+                                    RDF4JSchemaGeneratorCore.COMPILED_BUNDLE_TEMPLATE)) {
+                templateFingerprint = FingerprintStore.fingerprint().addContent(template)
+                        .addContent(bundleTemplate).build();
+            }
+
+            final int poolSize = Math.min(threads, schemas.size());
+            final List<Future<File>> remoteFiles = new ArrayList<>(schemas.size());
+            if (!mavenSession.isOffline()
+                    && schemas.stream().anyMatch(nextSchema -> nextSchema.getUrl() != null)) {
+                remoteCache = new RemoteSchemaCache(remoteCacheDir.toPath(), getUserAgent(),
+                        getAcceptHeaderValue(), fetchThreads, maxConnectionsPerHost,
+                        fetchTimeout, log);
+            }
+            for (int i = 0; i < schemas.size(); i++) {
+                final SchemaConfig nextSchema = schemas.get(i);
+                if (remoteCache != null && nextSchema.getUrl() != null) {
+                    remoteFiles.add(remoteCache.prefetch(nextSchema.getUrl(), displayNames.get(i),
+                            nextSchema.getMimeType() != null ? nextSchema.getMimeType()
+                                    : mimeType));
+                } else {
+                    remoteFiles.add(null);
+                }
+            }
+            final List<SharedGenerator> sharedGenerators = getSharedGenerators();
+            try {
+                if (poolSize <= 1) {
+                    for (int i = 0; i < schemas.size(); i++) {
+                        generateSchema(schemas.get(i), displayNames.get(i), remoteFiles.get(i),
+                                sharedGenerators.get(i), output, resourceOutput);
                     }
+                } else {
+                    log.info(String.format("Generating schemas using %d threads", poolSize));
+                    final ExecutorService executor = Executors.newFixedThreadPool(poolSize);
                     try {
-                        String language = preferredLanguage;
-                        if (nextSchema.getPreferredLanguage() != null) {
-                            language = nextSchema.getPreferredLanguage();
+                        // Schemas that share a generator are generated one
+                        // after the other by the same task
+                        final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+                        for (int i = 0; i < schemas.size(); i++) {
+                            final Object group = sharedGenerators.get(i) != null
+                                    ? sharedGenerators.get(i) : Integer.valueOf(i);
+                            groups.computeIfAbsent(group, k -> new ArrayList<>()).add(i);
                         }
-
-                        String mime = nextSchema.getMimeType();
-
-                        if (mime == null) {
-                            if (nextSchema.getUrl() != null) {
-                                final Optional<RDFFormat> guess = Rio
-                                        .getParserFormatForFileName(nextSchema.getUrl().toString());
-                                if (guess.isPresent()) {
-                                    mime = guess.get().getDefaultMIMEType();
+                        final List<Future<Void>> results = new ArrayList<>(groups.size());
+                        for (final List<Integer> nextGroup : groups.values()) {
+                            results.add(executor.submit(() -> {
+                                for (final int i : nextGroup) {
+                                    generateSchema(schemas.get(i), displayNames.get(i),
+                                            remoteFiles.get(i), sharedGenerators.get(i), output,
+                                            resourceOutput);
                                 }
-                            }
+                                return null;
+                            }));
                         }
-
-                        if (mime == null) {
-                            if (nextSchema.getFile() != null) {
-                                final Optional<RDFFormat> guess = Rio.getParserFormatForFileName(
-                                        nextSchema.getFile().toString());
-                                if (guess.isPresent()) {
-                                    mime = guess.get().getDefaultMIMEType();
-                                }
-                            }
+                        // Wait in configuration order, so the first failure that is
+                        // reported is the same one as for a serial build
+                        for (final Future<Void> nextResult : results) {
+                            nextResult.get();
                         }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new MojoExecutionException("Interrupted while generating schemas", e);
+                    } catch (final ExecutionException e) {
+                        throw unwrap(e);
+                    } finally {
+                        executor.shutdownNow();
+                    }
+                }
+            } finally {
+                if (remoteCache != null) {
+                    remoteCache.close();
+                    remoteCache = null;
+                }
+            }
 
-                        if (mime == null) {
-                            mime = mimeType;
+            fingerprints.save();
+
+            // The services file is written after all of the schemas, in
+            // configuration order, so that its content does not depend on the
+            // order that the schemas were generated in
+            final StringBuilder metaInfServices = new StringBuilder();
+            final Path schemaIndexTarget = resourceOutput
+                    .resolve(SchemaIndex.RESOURCE_FOLDER + metaInfServicesInterface);
+            final List<SchemaIndex.Entry> schemaIndex = new ArrayList<>();
+            if (createMetaInfServices) {
+                // Schemas that were skipped by this build keep their entries
+                // from the index written by the previous build
+                final Map<String, SchemaIndex.Entry> previousEntries = new LinkedHashMap<>();
+                if (Files.exists(schemaIndexTarget)) {
+                    try (final Reader reader = Files.newBufferedReader(schemaIndexTarget,
+                            StandardCharsets.UTF_8)) {
+                        for (final SchemaIndex.Entry nextEntry : SchemaIndex.read(reader)) {
+                            previousEntries.put(nextEntry.getClassName(), nextEntry);
                         }
+                    }
+                }
+                for (final SchemaConfig nextSchema : schemas) {
+                    final String nextPackage = nextSchema.getPackageName() != null
+                            ? nextSchema.getPackageName() : packageName;
+                    // The same class name as the generated file
+                    final String nextClassName = nextSchema.getClassName() != null
+                            ? nextSchema.getClassName()
+                            : StringUtils.capitalize(nextSchema.getName());
+                    final String qualifiedName = nextPackage != null
+                            ? nextPackage + "." + nextClassName : nextClassName;
+                    // Schemas that were not generated, such as remote schemas
+                    // in an offline build without an earlier source, would
+                    // make the ServiceLoader fail
+                    final Path nextSource = output
+                            .resolve(qualifiedName.replace('.', '/') + ".java");
+                    if (!Files.exists(nextSource)) {
+                        log.warn(String.format(
+                                "%s was not generated, so it is not in META-INF/services",
+                                qualifiedName));
+                        continue;
+                    }
+                    log.info(String.format("    Generating META-INF/services/%s: %s",
+                            metaInfServicesInterface, nextClassName));
+                    metaInfServices.append(qualifiedName).append('\n');
+                    final SchemaIndex.Entry nextEntry = indexEntries.getOrDefault(qualifiedName,
+                            previousEntries.get(qualifiedName));
+                    if (nextEntry != null) {
+                        schemaIndex.add(nextEntry);
+                    } else {
+                        log.warn(String.format("No namespace is known for %s, so it is not in %s",
+                                qualifiedName, SchemaIndex.RESOURCE_FOLDER));
+                    }
+                }
+            }
+            writeIfChanged(resourceOutput.resolve("META-INF").resolve("services")
+                    .resolve(metaInfServicesInterface),
+                    metaInfServices.toString().getBytes(StandardCharsets.UTF_8));
+            // The index is only written for builds that list the classes as
+            // services, as the classes only implement the interface then
+            if (createMetaInfServices) {
+                final StringWriter schemaIndexContent = new StringWriter();
+                SchemaIndex.write(schemaIndex, schemaIndexContent);
+                writeIfChanged(schemaIndexTarget,
+                        schemaIndexContent.toString().getBytes(StandardCharsets.UTF_8));
+            }
 
-                        final RDF4JSchemaGeneratorCore builder;
-                        if (nextSchema.getUrl() != null) {
-                            if (mavenSession.isOffline()) {
-                                log.info(String.format(
-                                        "Offline-Mode: Skipping generation of %s from %s",
-                                        displayName, nextSchema.getUrl()));
-                                continue;
-                            } else {
-                                try {
-
-                                    final File cache = fetchSchema(nextSchema.getUrl(), displayName,
-                                            nextSchema);
-                                    if (cache != null) {
-                                        builder = new RDF4JSchemaGeneratorCore(
-                                                cache.getAbsolutePath(), mime);
-                                    } else {
-                                        log.info(String.format(
-                                                "Skipping %s, schema is did not change",
-                                                displayName));
-                                        continue;
-                                    }
-                                } catch (final IOException e) {
-                                    final String msg = String.format(
-                                            "Error fetching remote schema %s: %s", displayName,
-                                            e.getMessage());
-                                    log.error(msg);
-                                    throw new MojoFailureException(msg, e);
-                                }
-                            }
-                        } else if (nextSchema.getFile() != null) {
-                            // Incremental builds can skip this file if the
-                            // following returns true
-                            if (!buildContext.hasDelta(nextSchema.getFile())) {
-                                log.debug(String.format("Skipping %s, schema is did not change",
-                                        displayName));
-                                continue;
-                            }
-                            log.info(String.format("Generating %s schema", displayName));
-                            buildContext.removeMessages(nextSchema.getFile());
-
-                            builder = new RDF4JSchemaGeneratorCore(
-                                    nextSchema.getFile().getAbsolutePath(), mime);
-                        } else {
-                            final String msg = String.format(
-                                    "Incomplete Configuration for %s: Schema without URL or FILE param!",
-                                    displayName);
-                            log.error(msg);
-                            throw new MojoExecutionException(msg);
-                        }
+            final Resource rsc = new Resource();
+            rsc.setDirectory(resourceOutput.toAbsolutePath().toString());
+            rsc.setFiltering(false);
+            log.debug(String.format("Adding %s as additional resource folder", rsc));
+            project.addResource(rsc);
 
-                        log.debug(String.format("    Setting default preferred language: %s",
-                                language));
-                        builder.setPreferredLanguage(language);
-
-                        if (nextSchema.getPackageName() != null) {
-                            log.debug(String.format("    Setting package: %s",
-                                    nextSchema.getPackageName()));
-                            builder.setPackageName(nextSchema.getPackageName());
-                        } else if (packageName != null) {
-                            log.debug(
-                                    String.format("    Setting default package: %s", packageName));
-                            builder.setPackageName(packageName);
-                        } else {
-                            log.warn(String.format("%s is using discouraged default package",
-                                    displayName));
-                        }
+            if (project != null) {
+                log.debug(String.format("Adding %s as additional compile source",
+                        output.toString()));
+                project.addCompileSourceRoot(output.toString());
+            }
+            log.info("Schema generation complete");
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Could not write Schemas", e);
+        }
+    }
 
-                        if (nextSchema.getConstantCase() != null) {
-                            log.debug(String.format("    Setting constant case: %s",
-                                    nextSchema.getConstantCase()));
-                            builder.setConstantCase(nextSchema.getConstantCase());
-                        } else {
-                            log.debug(String.format("    Setting default constant case: %s",
-                                    constantCase));
-                            builder.setConstantCase(constantCase);
-                        }
+    private void generateSchema(final SchemaConfig nextSchema, final String displayName,
+            final Future<File> remoteFile, final SharedGenerator sharedGenerator,
+            final Path output, final Path resourceOutput)
+            throws MojoExecutionException, MojoFailureException, IOException {
+        final Log log = getLog();
+        try {
+            String language = preferredLanguage;
+            if (nextSchema.getPreferredLanguage() != null) {
+                language = nextSchema.getPreferredLanguage();
+            }
 
-                        if (nextSchema.getPrefix() != null) {
-                            builder.setPrefix(nextSchema.getPrefix());
-                        }
+            String mime = nextSchema.getMimeType();
 
-                        builder.setName(nextSchema.getName());
+            if (mime == null) {
+                if (nextSchema.getUrl() != null) {
+                    final Optional<RDFFormat> guess = Compression
+                            .getParserFormatForFileName(nextSchema.getUrl().toString());
+                    if (guess.isPresent()) {
+                        mime = guess.get().getDefaultMIMEType();
+                    }
+                }
+            }
 
-                        String fName;
-                        if (nextSchema.getClassName() != null) {
-                            fName = nextSchema.getClassName() + ".java";
-                        } else if (nextSchema.getName() != null) {
-                            fName = StringUtils.capitalize(nextSchema.getName()) + ".java";
-                        } else {
-                            throw new MojoExecutionException(
-                                    "Incomplete Configuration: Schema without className or name");
-                        }
+            if (mime == null) {
+                if (nextSchema.getFile() != null) {
+                    final Optional<RDFFormat> guess = Compression
+                            .getParserFormatForFileName(nextSchema.getFile().toString());
+                    if (guess.isPresent()) {
+                        mime = guess.get().getDefaultMIMEType();
+                    }
+                }
+            }
 
-                        Path target = output;
-                        if (builder.getPackageName() != null) {
-                            target = target
-                                    .resolve(builder.getPackageName().replaceAll("\\.", "/"));
-                            Files.createDirectories(target);
-                        }
-                        // when string constant generation set, specify prefix
-                        // and suffix
-                        if (createStringConstants) {
-                            // when prefix set, the builder will generate string
-                            // constants in addition to the URI's
-                            // when no string constant prefix set, use a single
-                            // underscore by default
-                            builder.setStringPropertyPrefix(stringConstantPrefix);
-                            builder.setStringPropertySuffix(stringConstantSuffix);
-                            builder.setStringConstantCase(stringConstantCase);
-                        } else {
-                            // be sure to not generate String constants
-                            builder.setStringPropertyPrefix(null);
-                            builder.setStringPropertySuffix(null);
-                            builder.setStringConstantCase(null);
-                        }
-                        // when string constant generation set, specify prefix
-                        // and suffix
-                        if (createLocalNameStringConstants) {
-                            // when prefix set, the builder will generate string
-                            // constants for the local names
-                            builder.setLocalNameStringPropertyPrefix(localNameStringConstantPrefix);
-                            builder.setLocalNameStringPropertySuffix(localNameStringConstantSuffix);
-                            builder.setLocalNameStringConstantCase(localNameStringConstantCase);
-                        } else {
-                            // be sure to not generate String constants
-                            builder.setLocalNameStringPropertyPrefix(null);
-                            builder.setLocalNameStringPropertySuffix(null);
-                            builder.setLocalNameStringConstantCase(null);
-                        }
-                        final Path vFile = target.resolve(fName);
-                        final String className = vFile.getFileName().toString()
-                                .replaceFirst("\\.java$", "");
-                        try (final PrintWriter out = new PrintWriter(new OutputStreamWriter(
-                                buildContext.newFileOutputStream(vFile.toFile()),
-                                StandardCharsets.UTF_8))) {
-                            if (builder.getPackageName() != null) {
-                                log.info(String.format("    Generating schema class: %s.%s",
-                                        builder.getPackageName(), className));
-                            } else {
-                                log.info(String.format("    Generating schema class: %s",
-                                        className));
-                            }
-                            builder.generate(className, out);
-                        }
-                        if (nextSchema.isCreateResourceBundlesSet()
-                                && nextSchema.isCreateResourceBundles() || createResourceBundles) {
-                            Path bundleTarget = resourceOutput;
-                            if (builder.getPackageName() != null) {
-                                bundleTarget = bundleTarget
-                                        .resolve(builder.getPackageName().replaceAll("\\.", "/"));
-                                Files.createDirectories(bundleTarget);
-                            }
-                            final Map<String, Properties> bundles = builder
-                                    .generateResourceBundle(className);
-                            for (final String bKey : bundles.keySet()) {
-                                try (final Writer out = new OutputStreamWriter(
-                                        buildContext.newFileOutputStream(bundleTarget
-                                                .resolve(bKey + ".properties").toFile()),
-                                        StandardCharsets.UTF_8)) {
-                                    log.info(String.format("    Generating ResourceBundle: %s",
-                                            bKey));
-                                    bundles.get(bKey).store(out,
-                                            String.format("Generated by %s:%s v%s (%s)",
-                                                    pluginDescriptor.getGroupId(),
-                                                    pluginDescriptor.getArtifactId(),
-                                                    pluginDescriptor.getVersion(),
-                                                    pluginDescriptor.getName()));
-                                }
-                            }
-                        }
-                        if (createMetaInfServices) {
-                            log.info(String.format("    Generating META-INF/services/%s: %s",
-                                    metaInfServicesInterface, nextSchema.getClassName()));
-                            if (builder.getPackageName() != null) {
-                                metaInfServicesOut.write(builder.getPackageName());
-                                metaInfServicesOut.write('.');
-                            }
-                            metaInfServicesOut.write(nextSchema.getClassName());
-                            metaInfServicesOut.write('\n');
-                        }
+            if (mime == null) {
+                mime = mimeType;
+            }
 
-                        final Resource rsc = new Resource();
-                        rsc.setDirectory(resourceOutput.toAbsolutePath().toString());
-                        rsc.setFiltering(false);
-                        log.debug(String.format("Adding %s as additional resource folder", rsc));
-                        project.addResource(rsc);
-
-                        log.info(String.format("Generated %s", displayName));
-
-                    } catch (final RDFParseException e) {
-                        throw new MojoFailureException(String.format(
-                                "Could not parse schema %s: %s", displayName, e.getMessage()));
-                    } catch (final GenerationException e) {
-                        throw new MojoFailureException(String.format(
-                                "Could not generate schema %s: %s", displayName, e.getMessage()));
-                    } catch (final URISyntaxException e) {
-                        throw new MojoFailureException(String.format(
-                                "Invalid URL for schema %s: %s", displayName, nextSchema.getUrl()));
+            final File input;
+            if (nextSchema.getUrl() != null) {
+                if (mavenSession.isOffline()) {
+                    log.info(String.format("Offline-Mode: Skipping generation of %s from %s",
+                            displayName, nextSchema.getUrl()));
+                    return;
+                } else {
+                    try {
+
+                        // A schema that did not change is found in the cache,
+                        // and then skipped using its fingerprint
+                        input = getRemoteFile(remoteFile);
+                    } catch (final IOException e) {
+                        final String msg = String.format("Error fetching remote schema %s: %s",
+                                displayName, e.getMessage());
+                        log.error(msg);
+                        throw new MojoFailureException(msg, e);
                     }
                 }
-                if (project != null) {
-                    log.debug(String.format("Adding %s as additional compile source",
-                            output.toString()));
-                    project.addCompileSourceRoot(output.toString());
+            } else if (nextSchema.getFile() != null) {
+                // Incremental builds can skip this file if the
+                // following returns true
+                if (!buildContext.hasDelta(nextSchema.getFile())) {
+                    log.debug(String.format("Skipping %s, schema is did not change",
+                            displayName));
+                    return;
                 }
-                log.info("Schema generation complete");
+                input = nextSchema.getFile();
+            } else {
+                final String msg = String.format(
+                        "Incomplete Configuration for %s: Schema without URL or FILE param!",
+                        displayName);
+                log.error(msg);
+                throw new MojoExecutionException(msg);
             }
-        } catch (final IOException e) {
-            throw new MojoExecutionException("Could not write Schemas", e);
+
+            final String targetPackage = nextSchema.getPackageName() != null
+                    ? nextSchema.getPackageName() : packageName;
+
+            String fName;
+            if (nextSchema.getClassName() != null) {
+                fName = nextSchema.getClassName() + ".java";
+            } else if (nextSchema.getName() != null) {
+                fName = StringUtils.capitalize(nextSchema.getName()) + ".java";
+            } else {
+                throw new MojoExecutionException(
+                        "Incomplete Configuration: Schema without className or name");
+            }
+
+            Path target = output;
+            if (targetPackage != null) {
+                target = target.resolve(targetPackage.replaceAll("\\.", "/"));
+            }
+            final Path vFile = target.resolve(fName);
+            final boolean createBundles = nextSchema.isCreateResourceBundlesSet()
+                    && nextSchema.isCreateResourceBundles() || createResourceBundles;
+
+            // Skip parsing altogether if the generated file was created from
+            // the same input, settings and template by a previous build. The
+            // input is only hashed once, for the fingerprint and the snapshot
+            final String inputHash = FingerprintStore.hashContent(input.toPath());
+            final String fingerprint = getFingerprint(inputHash, mime, language, targetPackage,
+                    nextSchema, sharedGenerator, vFile, createBundles);
+            if (fingerprints.isUnchanged(vFile, fingerprint)) {
+                log.info(String.format("Skipping %s, schema and configuration did not change",
+                        displayName));
+                return;
+            }
+            fingerprints.remove(vFile);
+
+            if (nextSchema.getFile() != null) {
+                log.info(String.format("Generating %s schema", displayName));
+                buildContext.removeMessages(nextSchema.getFile());
+            }
+
+            final RDF4JSchemaGeneratorCore builder;
+            if (sharedGenerator != null) {
+                builder = sharedGenerator.get(input, inputHash, mime, nextSchema);
+            } else {
+                builder = createGenerator(input, inputHash, mime, nextSchema);
+            }
+
+            log.debug(String.format("    Setting default preferred language: %s", language));
+            builder.setPreferredLanguage(language);
+
+            if (nextSchema.getPackageName() != null) {
+                log.debug(String.format("    Setting package: %s", nextSchema.getPackageName()));
+            } else if (packageName != null) {
+                log.debug(String.format("    Setting default package: %s", packageName));
+            } else {
+                log.warn(String.format("%s is using discouraged default package", displayName));
+            }
+            builder.setPackageName(targetPackage);
+            builder.setDirectEmitter(directEmitter);
+            builder.setConstantGroupSize(constantGroupSize);
+            builder.setConstantGroupKeyLength(constantGroupKeyLength);
+            builder.setLazyIris(lazyIris);
+            builder.setCompactIris(compactIris);
+            builder.setLookupMethods(lookupMethods);
+            builder.setTermOrdinals(termOrdinals);
+            builder.setMetaInfServicesInterface(
+                    createMetaInfServices ? metaInfServicesInterface : null);
+
+            if (nextSchema.getConstantCase() != null) {
+                log.debug(String.format("    Setting constant case: %s",
+                        nextSchema.getConstantCase()));
+                builder.setConstantCase(nextSchema.getConstantCase());
+            } else {
+                log.debug(String.format("    Setting default constant case: %s", constantCase));
+                builder.setConstantCase(constantCase);
+            }
+
+            if (nextSchema.getPrefix() != null) {
+                builder.setPrefix(nextSchema.getPrefix());
+            } else if (sharedGenerator != null) {
+                // Undo the prefix set for an earlier schema from the same
+                // input
+                builder.setPrefix(sharedGenerator.getDetectedPrefix());
+            }
+
+            builder.setName(nextSchema.getName());
+
+            if (targetPackage != null) {
+                Files.createDirectories(target);
+            }
+            // when string constant generation set, specify prefix
+            // and suffix
+            if (createStringConstants) {
+                // when prefix set, the builder will generate string
+                // constants in addition to the URI's
+                // when no string constant prefix set, use a single
+                // underscore by default
+                builder.setStringPropertyPrefix(stringConstantPrefix);
+                builder.setStringPropertySuffix(stringConstantSuffix);
+                builder.setStringConstantCase(stringConstantCase);
+            } else {
+                // be sure to not generate String constants
+                builder.setStringPropertyPrefix(null);
+                builder.setStringPropertySuffix(null);
+                builder.setStringConstantCase(null);
+            }
+            // when string constant generation set, specify prefix
+            // and suffix
+            if (createLocalNameStringConstants) {
+                // when prefix set, the builder will generate string
+                // constants for the local names
+                builder.setLocalNameStringPropertyPrefix(localNameStringConstantPrefix);
+                builder.setLocalNameStringPropertySuffix(localNameStringConstantSuffix);
+                builder.setLocalNameStringConstantCase(localNameStringConstantCase);
+            } else {
+                // be sure to not generate String constants
+                builder.setLocalNameStringPropertyPrefix(null);
+                builder.setLocalNameStringPropertySuffix(null);
+                builder.setLocalNameStringConstantCase(null);
+            }
+            final String className = vFile.getFileName().toString().replaceFirst("\\.java$", "");
+            // The files other than vFile, which must all exist for a later
+            // build to skip this schema
+            final List<Path> otherOutputs = new ArrayList<>();
+            try (final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                    buildContext.newFileOutputStream(vFile.toFile()), StandardCharsets.UTF_8))) {
+                if (builder.getPackageName() != null) {
+                    log.info(String.format("    Generating schema class: %s.%s",
+                            builder.getPackageName(), className));
+                } else {
+                    log.info(String.format("    Generating schema class: %s", className));
+                }
+                builder.generate(className, out);
+            }
+            if (createMetaInfServices) {
+                final String qualifiedName = targetPackage != null
+                        ? targetPackage + "." + className : className;
+                indexEntries.put(qualifiedName, new SchemaIndex.Entry(builder.getPrefix(),
+                        builder.getName(), qualifiedName));
+            }
+            if (createBundles && compiledBundles) {
+                final Path bundleFile = vFile.resolveSibling(
+                        className + RDF4JSchemaGeneratorCore.COMPILED_BUNDLE_SUFFIX + ".java");
+                try (final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                        buildContext.newFileOutputStream(bundleFile.toFile()),
+                        StandardCharsets.UTF_8))) {
+                    log.info(String.format("    Generating compiled ResourceBundle: %s%s",
+                            className, RDF4JSchemaGeneratorCore.COMPILED_BUNDLE_SUFFIX));
+                    builder.generateCompiledBundle(className, out);
+                }
+                otherOutputs.add(bundleFile);
+            } else if (createBundles) {
+                Path bundleTarget = resourceOutput;
+                if (builder.getPackageName() != null) {
+                    bundleTarget = bundleTarget
+                            .resolve(builder.getPackageName().replaceAll("\\.", "/"));
+                    Files.createDirectories(bundleTarget);
+                }
+                final Map<String, Properties> bundles = builder.generateResourceBundle(className);
+                for (final String bKey : bundles.keySet()) {
+                    final Path bundleFile = bundleTarget.resolve(bKey + ".properties");
+                    otherOutputs.add(bundleFile);
+                    try (final Writer out = new OutputStreamWriter(
+                            buildContext.newFileOutputStream(bundleFile.toFile()),
+                            StandardCharsets.UTF_8)) {
+                        log.info(String.format("    Generating ResourceBundle: %s", bKey));
+                        bundles.get(bKey).store(out,
+                                String.format("Generated by %s:%s v%s (%s)",
+                                        pluginDescriptor.getGroupId(),
+                                        pluginDescriptor.getArtifactId(),
+                                        pluginDescriptor.getVersion(),
+                                        pluginDescriptor.getName()));
+                    }
+                }
+            }
+
+            fingerprints.update(vFile, fingerprint, otherOutputs);
+            log.info(String.format("Generated %s", displayName));
+
+        } catch (final RDFParseException e) {
+            throw new MojoFailureException(String.format("Could not parse schema %s: %s",
+                    displayName, e.getMessage()));
+        } catch (final GenerationException e) {
+            throw new MojoFailureException(String.format("Could not generate schema %s: %s",
+                    displayName, e.getMessage()));
+        } catch (final URISyntaxException e) {
+            throw new MojoFailureException(String.format("Invalid URL for schema %s: %s",
+                    displayName, nextSchema.getUrl()));
         }
     }
 
-    private File fetchSchema(URL url, final String displayName, final SchemaConfig nextSchema)
-            throws URISyntaxException, IOException {
-        final HttpClientBuilder clientBuilder = HttpClientBuilder.create().setUserAgent(
-                String.format("%s:%s/%s (%s) %s:%s/%s (%s)", pluginDescriptor.getGroupId(),
-                        pluginDescriptor.getArtifactId(), pluginDescriptor.getVersion(),
-                        pluginDescriptor.getName(), project.getGroupId(), project.getArtifactId(),
-                        project.getVersion(), project.getName()));
-
-        final Path cache = remoteCacheDir.toPath();
-        Files.createDirectories(cache);
-
-        try (CloseableHttpClient client = clientBuilder.build()) {
-            final HttpUriRequest request = RequestBuilder.get().setUri(url.toURI())
-                    .setHeader(HttpHeaders.ACCEPT, getAcceptHeaderValue()).build();
-
-            return client.execute(request, new ResponseHandler<File>() {
-                @Override
-                public File handleResponse(HttpResponse response) throws IOException {
-                    final Log log = getLog();
-                    // Check the mime-type
-                    String mime = mimeType;
-                    if (nextSchema.getMimeType() != null) {
-                        mime = nextSchema.getMimeType();
-                    }
-                    if (mime == null) {
-                        mime = getHeaderValue(response, HttpHeaders.CONTENT_TYPE);
-                        log.debug("Using mime-type from response-header: " + mime);
-                    }
+    /**
+     * Write a file unless it already has the given content, so that an
+     * incremental build does not see a change.
+     */
+    private void writeIfChanged(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        if (Files.exists(target) && Arrays.equals(Files.readAllBytes(target), content)) {
+            getLog().debug(String.format("%s did not change", target.getFileName()));
+        } else {
+            try (final OutputStream out = buildContext.newFileOutputStream(target.toFile())) {
+                out.write(content);
+            }
+        }
+    }
 
-                    final Optional<RDFFormat> format = Rio.getParserFormatForMIMEType(mime);
-                    final String fName;
-                    if (!format.isPresent()) {
-                        fName = displayName + ".cache";
-                        log.debug(String.format("Unknown format, cache will be %s", fName));
-                    } else {
-                        fName = displayName + "." + format.get().getDefaultFileExtension();
-                        log.debug(String.format("%s format, cache will be %s",
-                                format.get().getName(), fName));
-                    }
+    /**
+     * Find the schemas that are generated from the same input, so that the
+     * input is only parsed once for all of them, and the terms for all of
+     * their prefixes are indexed using a single pass.
+     *
+     * @return The generator to share for each schema, or null for a schema
+     *         that does not share its input with another schema.
+     */
+    private List<SharedGenerator> getSharedGenerators() {
+        final Map<String, List<Integer>> inputs = new LinkedHashMap<>();
+        for (int i = 0; i < schemas.size(); i++) {
+            final SchemaConfig nextSchema = schemas.get(i);
+            final String nextInput;
+            if (nextSchema.getUrl() != null) {
+                nextInput = nextSchema.getUrl().toString();
+            } else if (nextSchema.getFile() != null) {
+                nextInput = nextSchema.getFile().getAbsolutePath();
+            } else {
+                continue;
+            }
+            inputs.computeIfAbsent(nextInput + "\n" + nextSchema.getMimeType(),
+                    k -> new ArrayList<>()).add(i);
+        }
 
-                    final Path cacheFile = cache.resolve(fName);
-                    if (Files.exists(cacheFile)) {
-                        log.debug(String.format("Cache-File %s found, checking if up-to-date",
-                                cacheFile));
-                        // Check if the cache is up-to-date
-                        final FileTime fileTime = Files.getLastModifiedTime(cache);
-                        final Date remoteDate = DateUtils
-                                .parseDate(getHeaderValue(response, HttpHeaders.LAST_MODIFIED));
-
-                        if (remoteDate != null && remoteDate.getTime() < fileTime.toMillis()) {
-                            // The remote file was changed before the cache, so
-                            // no action required
-                            log.debug(
-                                    String.format("%tF %<tT is after %tF %<tT, no action required",
-                                            new Date(fileTime.toMillis()), remoteDate));
-                            return null;
-                        } else {
-                            log.debug(
-                                    String.format("remote file is newer - need to rebuild schema"));
+        final List<SharedGenerator> result = new ArrayList<>(
+                Collections.nCopies(schemas.size(), (SharedGenerator) null));
+        // The streaming generators only keep the statements for one prefix
+        if (!streamingIngestion) {
+            for (final List<Integer> nextInput : inputs.values()) {
+                if (nextInput.size() > 1) {
+                    final Set<String> prefixes = new LinkedHashSet<>();
+                    for (final int i : nextInput) {
+                        if (schemas.get(i).getPrefix() != null) {
+                            prefixes.add(schemas.get(i).getPrefix());
                         }
-                    } else {
-                        log.debug(String.format("No Cache-File %s, need to fetch", cacheFile));
                     }
-
-                    final File cf = cacheFile.toFile();
-                    FileUtils.copyInputStreamToFile(response.getEntity().getContent(), cf);
-                    log.info(String.format("Fetched schema definition for %s from %s", displayName,
-                            request.getURI()));
-                    return cf;
+                    final SharedGenerator shared = new SharedGenerator(prefixes);
+                    for (final int i : nextInput) {
+                        result.set(i, shared);
+                    }
                 }
+            }
+        }
+        return result;
+    }
 
-                private String getHeaderValue(HttpResponse response, String header) {
-                    final Header h = response.getFirstHeader(header);
-                    if (h != null) {
-                        return h.getValue();
-                    } else {
-                        return null;
-                    }
+    /**
+     * A generator that is shared by the schemas for a single input. It is only
+     * created when the first of the schemas that did not change is generated,
+     * and it is only used by one thread at a time, as the schemas for an input
+     * are generated one after the other.
+     */
+    private final class SharedGenerator {
+
+        private final Set<String> prefixes;
+        private RDF4JSchemaGeneratorCore generator;
+        private String detectedPrefix;
+
+        SharedGenerator(Set<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        RDF4JSchemaGeneratorCore get(File input, String inputHash, String mime,
+                SchemaConfig nextSchema) throws IOException {
+            if (generator == null) {
+                generator = createGenerator(input, inputHash, mime, nextSchema);
+                detectedPrefix = generator.getPrefix();
+                if (prefixes.size() > 1) {
+                    getLog().debug(String.format("    Indexing %d namespaces in %s",
+                            prefixes.size(), input));
+                    generator.setPrefixes(prefixes);
                 }
-            });
+            }
+            return generator;
+        }
+
+        String getDetectedPrefix() {
+            return detectedPrefix;
+        }
+
+        Set<String> getPrefixes() {
+            return prefixes;
         }
     }
 
+    private static File getRemoteFile(Future<File> remoteFile)
+            throws IOException, URISyntaxException, MojoExecutionException,
+            MojoFailureException {
+        try {
+            return remoteFile.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while fetching schemas", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof URISyntaxException) {
+                throw (URISyntaxException) e.getCause();
+            }
+            throw unwrap(e);
+        }
+    }
+
+    private String getFingerprint(String inputHash, String mime, String language,
+            String targetPackage, SchemaConfig nextSchema, SharedGenerator sharedGenerator,
+            Path vFile, boolean createBundles) {
+        return FingerprintStore.fingerprint().add(pluginDescriptor.getVersion())
+                .add(templateFingerprint).add(inputHash).add(mime).add(language)
+                .add(targetPackage)
+                .add(nextSchema.getConstantCase() != null ? nextSchema.getConstantCase()
+                        : constantCase)
+                .add(nextSchema.getPrefix())
+                // Nested prefixes from the same input take terms from each other
+                .add(sharedGenerator != null ? sharedGenerator.getPrefixes() : null)
+                .add(nextSchema.getName()).add(vFile)
+                .add(createStringConstants).add(stringConstantPrefix).add(stringConstantSuffix)
+                .add(stringConstantCase).add(createLocalNameStringConstants)
+                .add(localNameStringConstantPrefix).add(localNameStringConstantSuffix)
+                .add(localNameStringConstantCase).add(createBundles)
+                .add(resourceOutputDirectory).add(streamingIngestion).add(directEmitter)
+                .add(constantGroupSize).add(constantGroupKeyLength)
+                .add(lazyIris).add(compactIris).add(lookupMethods).add(termOrdinals)
+                .add(compiledBundles)
+                .add(createMetaInfServices ? metaInfServicesInterface : null)
+                .build();
+    }
+
+    private static MojoExecutionException unwrap(ExecutionException e)
+            throws MojoFailureException, IOException {
+        final Throwable cause = e.getCause();
+        if (cause instanceof MojoExecutionException) {
+            return (MojoExecutionException) cause;
+        } else if (cause instanceof MojoFailureException) {
+            throw (MojoFailureException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new MojoExecutionException("Could not generate schemas", cause);
+    }
+
+    private RDF4JSchemaGeneratorCore createGenerator(File input, String inputHash, String mime,
+            SchemaConfig nextSchema) throws IOException {
+        if (streamingIngestion) {
+            getLog().debug(String.format("    Streaming %s", input));
+            final RDFFormat format = mime != null
+                    ? Rio.getParserFormatForMIMEType(mime).orElse(null) : null;
+            return new RDF4JSchemaGeneratorCore(input.getAbsolutePath(), format,
+                    nextSchema.getPrefix());
+        } else if (snapshotDirectory != null) {
+            final RDFFormat format = mime != null
+                    ? Rio.getParserFormatForMIMEType(mime).orElse(null) : null;
+            return RDF4JSchemaGeneratorCore.fromSnapshot(input.getAbsolutePath(), format,
+                    snapshotDirectory.toPath(), inputHash);
+        } else {
+            return new RDF4JSchemaGeneratorCore(input.getAbsolutePath(), mime);
+        }
+    }
+
+    private String getUserAgent() {
+        return String.format("%s:%s/%s (%s) %s:%s/%s (%s)", pluginDescriptor.getGroupId(),
+                pluginDescriptor.getArtifactId(), pluginDescriptor.getVersion(),
+                pluginDescriptor.getName(), project.getGroupId(), project.getArtifactId(),
+                project.getVersion(), project.getName());
+    }
+
     private String getAcceptHeaderValue() {
         final Set<RDFFormat> rdfFormats = RDFParserRegistry.getInstance().getKeys();
         final Iterator<String> acceptParams = RDFFormat